@@ -2,12 +2,14 @@ package com.charter.retail.rewards;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application for the Customer Rewards Points Calculator.
  * Manages customer transactions and calculates reward points based on purchase amounts.
  */
 @SpringBootApplication
+@EnableScheduling
 public class CustomerRewardPointsApplication {
 
     public static void main(String[] args) {
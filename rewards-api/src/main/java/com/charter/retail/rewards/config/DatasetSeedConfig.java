@@ -0,0 +1,42 @@
+package com.charter.retail.rewards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the synthetic dataset generator (seed profile).
+ * Binds application properties with 'seed' prefix to this class.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "seed")
+@Data
+public class DatasetSeedConfig {
+
+    /**Number of customers to create.*/
+    private int customers = 100_000;
+
+    /**Average number of transactions per customer.*/
+    private double transactionsPerCustomer = 20;
+
+    /**Zipf exponent of customer activity; 0 spreads transactions evenly.*/
+    private double activitySkew = 1.0;
+
+    /**Transactions are dated uniformly over this many days up to today.*/
+    private int windowDays = 120;
+
+    /**Share of amounts drawn close to the reward tier thresholds.*/
+    private double tierFocus = 0.6;
+
+    /**Standard deviation, in dollars, of amounts drawn around a tier threshold.*/
+    private double tierSpread = 5.0;
+
+    /**Median, in dollars, of amounts drawn away from the thresholds.*/
+    private double medianAmount = 75.0;
+
+    /**Rows per JDBC batch.*/
+    private int batchSize = 5_000;
+
+    /**Seed of the random generator, so runs are reproducible.*/
+    private long randomSeed = 42L;
+}
@@ -0,0 +1,69 @@
+package com.charter.retail.rewards.config;
+
+import com.charter.retail.rewards.service.QueryDiagnostics;
+import com.charter.retail.rewards.util.DiagnosticDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so that per-request database diagnostics see every statement,
+ * from Hibernate and JdbcTemplate alike.
+ * Off unless 'rewards.diagnostics.enabled' is set: the proxies sit on every JDBC call, row reads included.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rewards.diagnostics", name = "enabled")
+public class DiagnosticsConfig {
+
+    /**
+     * Wraps every data source bean in a {@link DiagnosticDataSource}.
+     * The diagnostics bean is resolved on the first measurement, because post-processors are created
+     * before ordinary beans.
+     */
+    @Bean
+    public static BeanPostProcessor diagnosticDataSourcePostProcessor(ObjectProvider<QueryDiagnostics> diagnostics) {
+        DiagnosticDataSource.Recorder recorder = new LazyRecorder(diagnostics);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !DiagnosticDataSource.isWrapped(dataSource)) {
+                    return DiagnosticDataSource.wrap(dataSource, recorder);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**Forwards measurements to the diagnostics bean, resolved once.*/
+    private static final class LazyRecorder implements DiagnosticDataSource.Recorder {
+
+        private final ObjectProvider<QueryDiagnostics> provider;
+        private volatile QueryDiagnostics diagnostics;
+
+        LazyRecorder(ObjectProvider<QueryDiagnostics> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void statementExecuted(String sql, long elapsedNanos) {
+            diagnostics().statementExecuted(sql, elapsedNanos);
+        }
+
+        @Override
+        public void rowFetched() {
+            diagnostics().rowFetched();
+        }
+
+        private QueryDiagnostics diagnostics() {
+            QueryDiagnostics resolved = diagnostics;
+            if (resolved == null) {
+                resolved = provider.getObject();
+                diagnostics = resolved;
+            }
+            return resolved;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.charter.retail.rewards.config;
+
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for reward calculation.
+ * Binds application.properties values with 'rewards' prefix to this class.
+ * Settings every read path depends on are validated at startup, so a missing one fails the context
+ * with the property's name instead of failing the first request or background job.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rewards")
+@Validated
+@Data
+public class RewardsConfig {
+    
+    /**Program of customers without an explicit assignment; scored with the top-level tier values.*/
+    public static final String DEFAULT_PROGRAM = RewardsCalculator.DEFAULT_PROGRAM;
+    
+    private int tierOneThreshold;
+    private int tierTwoThreshold;
+    private int tierOneMultiplier;
+    private int tierTwoMultiplier;
+    @Positive
+    private int calculationMonths;
+    @NotBlank
+    private String monthFormat;
+    private ResponseCache responseCache = new ResponseCache();
+    private CustomerIndex customerIndex = new CustomerIndex();
+    private RuleVersions ruleVersions = new RuleVersions();
+    private Map<String, Program> programs = new LinkedHashMap<>();
+    private ConcurrencyLimits concurrencyLimit = new ConcurrencyLimits();
+    private Statements statements = new Statements();
+    private Compaction compaction = new Compaction();
+    private Warmup warmup = new Warmup();
+    private Outbox outbox = new Outbox();
+    private Diagnostics diagnostics = new Diagnostics();
+    @Valid
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * Compiles the configured tier values into base rules (version 0) of every program.
+     *
+     * @return base rules, starting with the default program
+     */
+    public List<RewardRules> baseRules() {
+        List<RewardRules> rules = new ArrayList<>();
+        rules.add(RewardRules.of(DEFAULT_PROGRAM, 0, LocalDate.MIN, tierOneThreshold, tierTwoThreshold,
+                tierOneMultiplier, tierTwoMultiplier));
+        programs.forEach((program, tiers) -> rules.add(RewardRules.of(program, 0, LocalDate.MIN,
+                tiers.getTierOneThreshold(), tiers.getTierTwoThreshold(),
+                tiers.getTierOneMultiplier(), tiers.getTierTwoMultiplier())));
+        return rules;
+    }
+
+    /**
+     * Settings for caching serialised customer rewards responses.
+     * Bound from 'rewards.response-cache.*'.
+     */
+    @Data
+    public static class ResponseCache {
+
+        private boolean enabled;
+        private boolean gzip = true;
+        private int maxEntries = 100_000;
+    }
+
+    /**
+     * Settings for the in-memory customer existence index.
+     * Bound from 'rewards.customer-index.*'.
+     */
+    @Data
+    public static class CustomerIndex {
+
+        private boolean enabled = true;
+        private long refreshIntervalMs = 5_000;
+        private long refreshWindow = 10_000;
+    }
+
+    /**
+     * Base tier values of an additional loyalty program.
+     * Bound from 'rewards.programs.{name}.*'.
+     */
+    @Data
+    public static class Program {
+
+        private int tierOneThreshold;
+        private int tierTwoThreshold;
+        private int tierOneMultiplier;
+        private int tierTwoMultiplier;
+    }
+
+    /**
+     * Settings for runtime rule versions.
+     * Bound from 'rewards.rule-versions.*'.
+     */
+    @Data
+    public static class RuleVersions {
+
+        private long refreshIntervalMs = 60_000;
+        private int recomputeBatchSize = 1_000;
+    }
+
+    /**
+     * Settings for the month-end statement job.
+     * Bound from 'rewards.statements.*'.
+     */
+    @Data
+    public static class Statements {
+
+        private boolean enabled = true;
+        private String cron = "0 0 * * * *";
+        private int partitions = 16;
+        private int workers = 4;
+        private int chunkSize = 500;
+        private long leaseMs = 300_000;
+    }
+
+    /**
+     * Settings for compacting old transactions into monthly summaries.
+     * Bound from 'rewards.compaction.*'.
+     */
+    @Data
+    public static class Compaction {
+
+        private boolean enabled = true;
+        private long intervalMs = 3_600_000;
+        private int horizonMonths = 12;
+        private int batchSize = 500;
+        private long pauseMs = 200;
+        private int maxBatchesPerRun = 2_000;
+    }
+
+    /**
+     * Settings for the JIT warm-up that runs before readiness is reported.
+     * Bound from 'rewards.warmup.*'.
+     */
+    @Data
+    public static class Warmup {
+
+        private boolean enabled = true;
+        private long maxDurationMs = 30_000;
+        private int iterationsPerRound = 2_000;
+        private int minRounds = 5;
+        private long settleThresholdMs = 2;
+        private int settledRounds = 3;
+    }
+
+    /**
+     * Settings for relaying the rewards outbox to the event sinks.
+     * Bound from 'rewards.outbox.*'.
+     */
+    @Data
+    public static class Outbox {
+
+        private boolean enabled = true;
+        private long pollIntervalMs = 1_000;
+        private int batchSize = 500;
+        private long gapTimeoutMs = 3_600_000;
+        private long retentionHours = 24;
+        private boolean applicationEvents = true;
+        private FileSink file = new FileSink();
+        private SseSink sse = new SseSink();
+        private CustomerStreamSink customerStream = new CustomerStreamSink();
+    }
+
+    /**
+     * Settings for the JSON lines file sink of the rewards outbox.
+     * Bound from 'rewards.outbox.file.*'.
+     */
+    @Data
+    public static class FileSink {
+
+        private boolean enabled;
+        private String path = "rewards-events.jsonl";
+    }
+
+    /**
+     * Settings for the server-sent event sink of the rewards outbox.
+     * Bound from 'rewards.outbox.sse.*'.
+     */
+    @Data
+    public static class SseSink {
+
+        private boolean enabled = true;
+        private long timeoutMs = 1_800_000;
+        private int replayLimit = 10_000;
+    }
+
+    /**
+     * Settings for the per-customer rewards streams fed by the rewards outbox.
+     * Bound from 'rewards.outbox.customer-stream.*'.
+     */
+    @Data
+    public static class CustomerStreamSink {
+
+        private boolean enabled = true;
+        private long timeoutMs = 1_800_000;
+        private long heartbeatMs = 15_000;
+        private int bufferSize = 16;
+        private int senderThreads = 4;
+    }
+
+    /**
+     * Settings for per-request database diagnostics.
+     * Bound from 'rewards.diagnostics.*'.
+     */
+    @Data
+    public static class Diagnostics {
+
+        private boolean enabled;
+        private boolean responseHeaders;
+        private long slowRequestThresholdMs = 200;
+        private long slowStatementThresholdMs = 100;
+        private int topOffenders = 20;
+        private int maxTrackedStatements = 500;
+    }
+
+    /**
+     * Settings for the memory-mapped snapshot of precomputed customer rewards.
+     * Bound from 'rewards.snapshot.*'.
+     */
+    @Data
+    public static class Snapshot {
+
+        private boolean enabled;
+        /**Snapshot file; defaults to the temporary directory rather than the working directory.*/
+        @NotBlank
+        private String path = Path.of(System.getProperty("java.io.tmpdir"), "rewards-snapshot.bin").toString();
+        @Positive
+        private long intervalMs = 600_000;
+        @Positive
+        private int batchSize = 1_000;
+        @Positive
+        private long inFlightWindow = 10_000;
+    }
+
+    /**
+     * Settings for adaptive concurrency limiting of the API.
+     * Bound from 'rewards.concurrency-limit.*'.
+     */
+    @Data
+    public static class ConcurrencyLimits {
+
+        private boolean enabled = true;
+        private ConcurrencyLimit read = new ConcurrencyLimit(20, 200, 250, 503);
+        private ConcurrencyLimit write = new ConcurrencyLimit(10, 50, 500, 429);
+    }
+
+    /**
+     * Limit of one endpoint class (reads or writes).
+     * Bound from 'rewards.concurrency-limit.read.*' and 'rewards.concurrency-limit.write.*'.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class ConcurrencyLimit {
+
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private long latencyThresholdMs = 250;
+        private double backoffRatio = 0.9;
+        private int rejectStatus = 503;
+        private int retryAfterSeconds = 1;
+
+        ConcurrencyLimit(int initialLimit, int maxLimit, long latencyThresholdMs, int rejectStatus) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThresholdMs = latencyThresholdMs;
+            this.rejectStatus = rejectStatus;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.charter.retail.rewards.config;
+
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the framework-free {@link RewardsCalculator} from rewards-core as a bean,
+ * built from the tier values in {@link RewardsConfig}.
+ */
+@Configuration
+public class ScoringConfig {
+
+    /**Configures the calculator with the base rules of every program.*/
+    @Bean
+    public RewardsCalculator rewardsCalculator(RewardsConfig config) {
+        return new RewardsCalculator(config.baseRules());
+    }
+}
@@ -0,0 +1,26 @@
+package com.charter.retail.rewards.config;
+
+import com.charter.retail.rewards.controller.CustomerRewardsController;
+import com.charter.retail.rewards.controller.TransactionController;
+import com.charter.retail.rewards.service.RewardRulesService;
+import com.charter.retail.rewards.service.RewardsService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup configuration used together with lazy initialisation (see application-prod.properties).
+ * Keeps the request-serving path eager so that the first request does not pay for bean creation.
+ * Reward rule versions are installed eagerly as well, so no request is scored with outdated rules.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**Excludes the rewards request path from lazy initialisation.*/
+    @Bean
+    public static LazyInitializationExcludeFilter rewardsPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                CustomerRewardsController.class, TransactionController.class, RewardsService.class,
+                RewardRulesService.class);
+    }
+}
@@ -2,13 +2,16 @@ package com.charter.retail.rewards.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Swagger/OpenAPI configuration for API documentation.
+ * Skipped when API docs are disabled, as in the prod profile.
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     /**Configures the OpenAPI documentation bean.*/
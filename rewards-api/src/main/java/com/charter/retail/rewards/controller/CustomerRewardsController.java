@@ -0,0 +1,110 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.dto.CustomerLookupRequestDto;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerProgramDto;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.service.RewardsResponseCache;
+import com.charter.retail.rewards.service.RewardsService;
+import com.charter.retail.rewards.service.RewardsVersionTracker;
+import com.charter.retail.rewards.util.RepresentationVariant;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for managing customer reward points.
+ * Provides endpoints to retrieve reward calculations for individual and all customers.
+ */
+@RestController
+@RequestMapping("/api/rewards")
+@RequiredArgsConstructor
+public class CustomerRewardsController {
+    
+    private final RewardsService rewardsService;
+    private final RewardsVersionTracker versionTracker;
+    private final RewardsResponseCache responseCache;
+
+    /**
+     * Retrieves reward points for a specific customer over the last 3 months.
+     * Answers 304 without computing rewards when the client's ETag is still current.
+     * When the response cache is enabled, cached JSON bytes are written directly;
+     * CBOR and Smile requests go through the message converters.
+     *
+     * @param customerId the ID of the customer
+     * @param webRequest current request, used for conditional GET handling
+     * @return customer rewards with monthly breakdown and total points
+     */
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<CustomerRewardsDto> getCustomerRewards(@PathVariable Long customerId, ServletWebRequest webRequest) {
+        RepresentationVariant variant = RepresentationVariant.preferredBy(webRequest.getHeader(HttpHeaders.ACCEPT));
+        Long version = versionTracker.currentVersion(customerId);
+        String eTag = variant.tag(versionTracker.customerETagAt(version));
+        if (variant == RepresentationVariant.JSON && responseCache.isEnabled()) {
+            responseCache.writeCustomerRewards(customerId, version, eTag, webRequest);
+            return null;
+        }
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .body(rewardsService.getRewardsForCustomer(customerId, version));
+    }
+    
+    /**
+     * Retrieves reward points for all customers with pagination support.
+     *
+     * Answers 304 without computing rewards when no customer changed since the client's ETag.
+     *
+     * @param pageable pagination and sorting parameters
+     * @param webRequest current request, used for conditional GET handling
+     * @return paginated list of customer rewards
+     */
+    @GetMapping("/customers")
+    public ResponseEntity<Page<CustomerRewardsDto>> getAllCustomersRewards(Pageable pageable, WebRequest webRequest) {
+        RepresentationVariant variant = RepresentationVariant.preferredBy(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String eTag = variant.tag(versionTracker.pageETag(pageable));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .body(rewardsService.getRewardsForAllCustomers(pageable));
+    }
+    
+    /**
+     * Retrieves reward points for a list of customer IDs in one call.
+     * Unknown IDs are reported in the result instead of failing the request.
+     *
+     * @param lookupDto customer IDs, at most {@value CustomerLookupRequestDto#MAX_CUSTOMER_IDS}
+     * @return rewards in request order and the missing customer IDs
+     */
+    @PostMapping("/customers/lookup")
+    public ResponseEntity<CustomerLookupResultDto> lookupCustomersRewards(@Valid @RequestBody CustomerLookupRequestDto lookupDto) {
+        return ResponseEntity.ok(rewardsService.lookupRewards(lookupDto.getCustomerIds()));
+    }
+    
+    /**
+     * Assigns a customer to a loyalty program. Rewards are scored with the program's rules from then on.
+     *
+     * @param customerId the ID of the customer
+     * @param programDto program assignment
+     * @return the customer's program assignment
+     */
+    @PutMapping("/customer/{customerId}/program")
+    public ResponseEntity<CustomerProgramDto> assignProgram(@PathVariable Long customerId,
+                                                            @Valid @RequestBody CustomerProgramDto programDto) {
+        return ResponseEntity.ok(rewardsService.assignProgram(customerId, programDto.getProgram()));
+    }
+}
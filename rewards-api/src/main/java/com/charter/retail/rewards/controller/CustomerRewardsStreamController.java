@@ -0,0 +1,35 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.service.CustomerRewardsStreamSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the rewards of one customer as server-sent events.
+ * Clients get a snapshot followed by updates instead of polling the customer rewards endpoint.
+ */
+@RestController
+@RequestMapping("/api/rewards/customer")
+@ConditionalOnProperty(prefix = "rewards.outbox.customer-stream", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CustomerRewardsStreamController {
+    
+    private final CustomerRewardsStreamSink streamSink;
+    
+    /**
+     * Opens the rewards stream of a customer.
+     * 
+     * @param customerId the ID of the customer
+     * @return event stream of the customer's rewards
+     */
+    @GetMapping(path = "/{customerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerRewards(@PathVariable Long customerId) {
+        return streamSink.subscribe(customerId);
+    }
+}
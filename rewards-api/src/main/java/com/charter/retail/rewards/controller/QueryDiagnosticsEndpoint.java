@@ -0,0 +1,39 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.dto.QueryDiagnosticsDto;
+import com.charter.retail.rewards.service.QueryDiagnostics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the requests and statements that spent the most time in the database.
+ * Exposed at /actuator/dbdiagnostics; a DELETE clears the collected offenders.
+ */
+@Component
+@Endpoint(id = "dbdiagnostics")
+@ConditionalOnProperty(prefix = "rewards.diagnostics", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class QueryDiagnosticsEndpoint {
+    
+    private final QueryDiagnostics diagnostics;
+    
+    /**
+     * Lists the top offenders.
+     * 
+     * @return slowest requests and statements, slowest first
+     */
+    @ReadOperation
+    public QueryDiagnosticsDto topOffenders() {
+        return diagnostics.topOffenders();
+    }
+    
+    /**Clears the collected offenders.*/
+    @DeleteOperation
+    public void reset() {
+        diagnostics.reset();
+    }
+}
@@ -0,0 +1,60 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.dto.RecomputeProgressDto;
+import com.charter.retail.rewards.dto.RewardRuleVersionDto;
+import com.charter.retail.rewards.service.RewardRulesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+/**
+ * REST controller for managing reward rule versions.
+ * New versions take effect without a restart.
+ */
+@RestController
+@RequestMapping("/api/rewards/rules")
+@RequiredArgsConstructor
+public class RewardRulesController {
+    
+    private final RewardRulesService rewardRulesService;
+    
+    /**
+     * Lists all rule versions.
+     * 
+     * @return rule versions in effective date order
+     */
+    @GetMapping
+    public ResponseEntity<List<RewardRuleVersionDto>> getRuleVersions() {
+        return ResponseEntity.ok(rewardRulesService.getVersions());
+    }
+    
+    /**
+     * Adds a rule version and starts recomputing affected rewards in the background.
+     * 
+     * @param versionDto rule version data
+     * @return created rule version
+     */
+    @PostMapping
+    public ResponseEntity<RewardRuleVersionDto> addRuleVersion(@Valid @RequestBody RewardRuleVersionDto versionDto) {
+        return new ResponseEntity<>(rewardRulesService.addVersion(versionDto), HttpStatus.CREATED);
+    }
+    
+    /**
+     * Reports the recompute progress of a rule version.
+     * 
+     * @param version rule version
+     * @return recompute progress
+     */
+    @GetMapping("/{version}/recompute")
+    public ResponseEntity<RecomputeProgressDto> getRecomputeProgress(@PathVariable Long version) {
+        return ResponseEntity.ok(rewardRulesService.getRecomputeProgress(version));
+    }
+}
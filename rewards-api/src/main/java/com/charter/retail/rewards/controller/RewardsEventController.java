@@ -0,0 +1,35 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.service.SseRewardsEventSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming points changes as server-sent events.
+ * Consumers get changes pushed instead of polling the rewards endpoints.
+ */
+@RestController
+@RequestMapping("/api/rewards/events")
+@ConditionalOnProperty(prefix = "rewards.outbox.sse", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RewardsEventController {
+    
+    private final SseRewardsEventSink eventSink;
+    
+    /**
+     * Opens the event stream.
+     * 
+     * @param lastEventId ID of the last event received before a reconnect
+     * @return event stream of points changes
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventSink.subscribe(lastEventId);
+    }
+}
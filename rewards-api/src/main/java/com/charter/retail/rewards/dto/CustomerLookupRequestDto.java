@@ -0,0 +1,25 @@
+package com.charter.retail.rewards.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for a bulk rewards lookup by customer ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupRequestDto {
+    
+    /**Largest number of customer IDs accepted in one lookup.*/
+    public static final int MAX_CUSTOMER_IDS = 1_000;
+    
+    @NotEmpty(message = "Customer IDs are required")
+    @Size(max = MAX_CUSTOMER_IDS, message = "At most " + MAX_CUSTOMER_IDS + " customer IDs are allowed")
+    private List<@NotNull(message = "Customer ID must not be null") Long> customerIds;
+}
@@ -0,0 +1,19 @@
+package com.charter.retail.rewards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk rewards lookup.
+ * Rewards follow the order of the requested IDs; unknown IDs are listed separately.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupResultDto {
+    
+    private List<CustomerRewardsDto> rewards;
+    private List<Long> missingCustomerIds;
+}
@@ -0,0 +1,20 @@
+package com.charter.retail.rewards.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a customer's loyalty program assignment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerProgramDto {
+    
+    private Long customerId;
+    
+    @NotBlank(message = "Program is required")
+    private String program;
+}
@@ -0,0 +1,27 @@
+package com.charter.retail.rewards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * DTO for the database work of one request.
+ * Times are in milliseconds; the request time includes the database time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DbRequestProfileDto {
+    
+    private String method;
+    private String uri;
+    private int status;
+    private int statements;
+    private double dbTimeMs;
+    private long rows;
+    private double requestTimeMs;
+    private double slowestStatementMs;
+    private String slowestStatement;
+    private Instant recordedAt;
+}
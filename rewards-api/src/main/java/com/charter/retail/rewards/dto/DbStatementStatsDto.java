@@ -0,0 +1,20 @@
+package com.charter.retail.rewards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the accumulated executions of one SQL statement.
+ * Times are in milliseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DbStatementStatsDto {
+    
+    private String sql;
+    private long executions;
+    private double totalTimeMs;
+    private double maxTimeMs;
+}
@@ -0,0 +1,21 @@
+package com.charter.retail.rewards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO for the top database offenders since startup or the last reset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryDiagnosticsDto {
+    
+    /**Requests with the most database time, slowest first.*/
+    private List<DbRequestProfileDto> slowestRequests;
+    
+    /**Statements with the most total execution time, slowest first.*/
+    private List<DbStatementStatsDto> topStatements;
+}
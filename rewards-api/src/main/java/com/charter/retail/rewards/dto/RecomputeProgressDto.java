@@ -0,0 +1,29 @@
+package com.charter.retail.rewards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO reporting the progress of recomputing rewards after a rule version was installed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomputeProgressDto {
+    
+    /**Recompute states.*/
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED, SKIPPED
+    }
+    
+    private Long ruleVersion;
+    private State state;
+    private LocalDate recomputeFrom;
+    private long affectedCustomers;
+    private long processedCustomers;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
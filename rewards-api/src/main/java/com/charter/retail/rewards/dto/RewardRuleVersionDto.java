@@ -0,0 +1,46 @@
+package com.charter.retail.rewards.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * DTO for a reward rule version.
+ * The version is assigned by the server; a null effective date marks the base rules of a program.
+ * A missing program means the default program.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardRuleVersionDto {
+    
+    private Long version;
+    
+    private String program;
+    
+    @NotNull(message = "Effective date is required")
+    private LocalDate effectiveFrom;
+    
+    @PositiveOrZero(message = "Tier one threshold must not be negative")
+    private int tierOneThreshold;
+    
+    @PositiveOrZero(message = "Tier two threshold must not be negative")
+    private int tierTwoThreshold;
+    
+    @PositiveOrZero(message = "Tier one multiplier must not be negative")
+    private int tierOneMultiplier;
+    
+    @PositiveOrZero(message = "Tier two multiplier must not be negative")
+    private int tierTwoMultiplier;
+    
+    @JsonIgnore
+    @AssertTrue(message = "Tier two threshold must not be below tier one threshold")
+    public boolean isTierOrderValid() {
+        return tierTwoThreshold >= tierOneThreshold;
+    }
+}
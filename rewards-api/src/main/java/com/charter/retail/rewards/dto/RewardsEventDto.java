@@ -0,0 +1,37 @@
+package com.charter.retail.rewards.dto;
+
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * DTO for a change of a customer's points, as delivered to the event sinks.
+ * Delivery is at-least-once; consumers drop events whose ID they have already seen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardsEventDto {
+    
+    private Long id;
+    private Long customerId;
+    private Long transactionId;
+    private String month;
+    private Integer pointsDelta;
+    private Instant createdAt;
+    
+    /**
+     * Builds the event of an outbox row.
+     *
+     * @param event outbox row
+     * @param monthFormatter formatter of the month key, as used in monthly points
+     * @return event
+     */
+    public static RewardsEventDto from(RewardsOutboxEvent event, DateTimeFormatter monthFormatter) {
+        return new RewardsEventDto(event.getId(), event.getCustomerId(), event.getTransactionId(),
+                event.getPointsMonth().format(monthFormatter), event.getPointsDelta(), event.getCreatedAt());
+    }
+}
@@ -1,5 +1,6 @@
 package com.charter.retail.rewards.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -24,6 +25,7 @@ public class TransactionDto {
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimal places")
     private BigDecimal amount;
     
     @NotNull(message = "Transaction date is required")
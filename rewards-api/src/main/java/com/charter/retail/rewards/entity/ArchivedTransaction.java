@@ -0,0 +1,36 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding a transaction moved out of the live table by the compaction job.
+ * Keeps the original transaction ID; rows are written in batches and never read by the API.
+ */
+@Entity
+@Table(name = "transactions_archive", indexes = @Index(name = "idx_transactions_archive_customer_date",
+        columnList = "customer_id, transaction_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+    
+    @Column(nullable = false)
+    private LocalDate transactionDate;
+    
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
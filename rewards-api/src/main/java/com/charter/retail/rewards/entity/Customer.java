@@ -0,0 +1,72 @@
+package com.charter.retail.rewards.entity;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.service.CustomerIndexListener;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA entity representing a customer in the rewards system.
+ * Maintains a one-to-many relationship with transactions.
+ * Each customer belongs to one loyalty program, which selects the reward rules.
+ * Customers are held in the second-level cache; the transactions collection is not.
+ * The collection is left out of equals, hashCode and toString, so they never load it.
+ * Read paths use {@link com.charter.retail.rewards.repository.CustomerSummary} instead of this entity.
+ */
+@Entity
+@Table(name = "customers")
+@EntityListeners(CustomerIndexListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Customer {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Customer name cannot be blank")
+    @Size(min = 2, max = 100, message = "Customer name must be between 2 and 100 characters")
+    @Column(nullable = false)
+    private String name;
+    
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Transaction> transactions = new ArrayList<>();
+    
+    @Column(nullable = false, length = 50)
+    @ColumnDefault("'" + RewardsConfig.DEFAULT_PROGRAM + "'")
+    private String program = RewardsConfig.DEFAULT_PROGRAM;
+    
+    /**
+     * Advanced with plain SQL in every transaction that changes the customer's rewards; see
+     * {@link com.charter.retail.rewards.service.RewardsVersionTracker}. Never written through the entity.
+     */
+    @Column(name = "rewards_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long rewardsVersion;
+    
+    /**Creates a customer in the default program.*/
+    public Customer(Long id, String name, List<Transaction> transactions) {
+        this(id, name, transactions, RewardsConfig.DEFAULT_PROGRAM);
+    }
+    
+    /**Creates a customer in a program.*/
+    public Customer(Long id, String name, List<Transaction> transactions, String program) {
+        this(id, name, transactions, program, 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * JPA entity holding the ID of the last outbox event delivered to one event sink.
+ * Maintained by the outbox relay; the entity mainly defines the table.
+ */
+@Entity
+@Table(name = "outbox_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxCheckpoint {
+    
+    @Id
+    @Column(length = 50)
+    private String sink;
+    
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * JPA entity recording an outbox ID that one event sink's checkpoint passed while the event was missing.
+ * The transaction holding the ID may still commit, so the relay keeps looking for the event until the gap
+ * times out. Maintained by the outbox relay; the entity mainly defines the table.
+ */
+@Entity
+@Table(name = "outbox_gaps", uniqueConstraints = @UniqueConstraint(
+        name = "uk_outbox_gaps_sink_event", columnNames = {"sink", "event_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxGap {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(length = 50, nullable = false)
+    private String sink;
+    
+    @Column(name = "event_id", nullable = false)
+    private long eventId;
+    
+    @Column(name = "detected_at", nullable = false)
+    private Instant detectedAt;
+}
@@ -0,0 +1,46 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding one customer's month-end points statement.
+ * Rows are written in batches by the statement job; the entity mainly defines the table.
+ */
+@Entity
+@Table(name = "points_statements", uniqueConstraints = @UniqueConstraint(name = "uk_points_statements_customer_month",
+        columnNames = {"customer_id", "statement_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsStatement {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    /**First day of the statement month.*/
+    @Column(name = "statement_month", nullable = false)
+    private LocalDate statementMonth;
+    
+    @Column(nullable = false, length = 50)
+    private String program;
+    
+    /**Points earned in the statement month.*/
+    @Column(nullable = false)
+    private int monthPoints;
+    
+    /**Points over the calculation window ending on the last day of the statement month.*/
+    @Column(nullable = false)
+    private int windowPoints;
+    
+    @Column(nullable = false)
+    private Instant generatedAt;
+}
@@ -0,0 +1,49 @@
+package com.charter.retail.rewards.entity;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity recording a version of the reward rules.
+ * The ID is the version number; the base rules from application properties are version 0 and are not stored.
+ * Each version belongs to one loyalty program.
+ */
+@Entity
+@Table(name = "reward_rule_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardRuleVersion {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 50)
+    @ColumnDefault("'" + RewardsConfig.DEFAULT_PROGRAM + "'")
+    private String program;
+    
+    @Column(nullable = false)
+    private LocalDate effectiveFrom;
+    
+    @Column(nullable = false)
+    private int tierOneThreshold;
+    
+    @Column(nullable = false)
+    private int tierTwoThreshold;
+    
+    @Column(nullable = false)
+    private int tierOneMultiplier;
+    
+    @Column(nullable = false)
+    private int tierTwoMultiplier;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,42 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity recording a change of a customer's points in the transactional outbox.
+ * Written in the same database transaction as the change; the outbox relay delivers the rows
+ * to the event sinks in ID order.
+ */
+@Entity
+@Table(name = "rewards_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardsOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    /**Transaction that caused the change; null for a change of the customer's program.*/
+    @Column(name = "transaction_id")
+    private Long transactionId;
+    
+    /**First day of the month whose points changed.*/
+    @Column(name = "points_month", nullable = false)
+    private LocalDate pointsMonth;
+    
+    @Column(nullable = false)
+    private int pointsDelta;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+}
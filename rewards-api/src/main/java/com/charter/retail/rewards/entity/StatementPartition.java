@@ -0,0 +1,67 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity checkpointing one customer ID range of a statement run.
+ * {@code lastCustomerId} is advanced in the same transaction as the statement rows it covers,
+ * so a restarted run continues after the last committed chunk. A worker owns the partition while
+ * {@code leaseUntil} lies ahead; every chunk renews the lease.
+ */
+@Entity
+@Table(name = "statement_partitions", uniqueConstraints = @UniqueConstraint(name = "uk_statement_partitions_month_index",
+        columnNames = {"statement_month", "partition_index"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementPartition {
+    
+    /**Partition states.*/
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "statement_month", nullable = false)
+    private LocalDate statementMonth;
+    
+    @Column(name = "partition_index", nullable = false)
+    private int partitionIndex;
+    
+    /**First customer ID of the range (inclusive).*/
+    @Column(nullable = false)
+    private long rangeStart;
+    
+    /**Last customer ID of the range (inclusive).*/
+    @Column(nullable = false)
+    private long rangeEnd;
+    
+    /**Last customer ID whose statement is committed; {@code rangeStart - 1} before the first chunk.*/
+    @Column(nullable = false)
+    private long lastCustomerId;
+    
+    @Column(nullable = false)
+    private long processedCustomers;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+    
+    /**Claim token of the worker running the partition.*/
+    @Column(length = 36)
+    private String owner;
+    
+    /**Until when the owner holds the partition; a RUNNING partition past it can be taken over.*/
+    private Instant leaseUntil;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
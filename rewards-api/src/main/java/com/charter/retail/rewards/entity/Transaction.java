@@ -3,16 +3,20 @@ package com.charter.retail.rewards.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import java.math.BigDecimal;
+import lombok.ToString;
 import java.time.LocalDate;
 
 /**
  * JPA entity representing a customer transaction.
  * Maintains a many-to-one relationship with customer.
+ * Amounts are stored in whole cents.
+ * The customer is left out of equals, hashCode and toString, so they never initialise the proxy.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_customer_date",
+        columnList = "customer_id, transaction_date, amount_cents"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,11 +27,13 @@ public class Transaction {
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
     
-    @Column(nullable = false)
-    private BigDecimal amount;
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
     
     @Column(nullable = false)
     private LocalDate transactionDate;
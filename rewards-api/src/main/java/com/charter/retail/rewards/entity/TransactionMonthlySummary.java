@@ -0,0 +1,41 @@
+package com.charter.retail.rewards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * JPA entity holding the aggregate of one customer's compacted transactions in one month.
+ * Rows are maintained in batches by the compaction job; the entity mainly defines the table.
+ */
+@Entity
+@Table(name = "transaction_monthly_summaries", uniqueConstraints = @UniqueConstraint(
+        name = "uk_transaction_monthly_summaries_customer_month", columnNames = {"customer_id", "summary_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMonthlySummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    /**First day of the summarised month.*/
+    @Column(name = "summary_month", nullable = false)
+    private LocalDate summaryMonth;
+    
+    @Column(nullable = false)
+    private int transactionCount;
+    
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+    
+    /**Points of the month's transactions under the rules in effect on each transaction date.*/
+    @Column(nullable = false)
+    private long points;
+}
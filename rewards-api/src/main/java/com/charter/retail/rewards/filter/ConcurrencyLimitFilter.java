@@ -0,0 +1,138 @@
+package com.charter.retail.rewards.filter;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.util.AdaptiveConcurrencyLimit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds API load before it reaches the connection pool.
+ * Reads (GET/HEAD and POST lookups) and writes (everything else) under /api/ each have their own
+ * {@link AdaptiveConcurrencyLimit}, so an ingestion burst backs off writes without starving reward lookups.
+ * Requests over the limit are answered immediately with the configured status and a Retry-After header.
+ * Server-sent event streams are long-lived and not limited.
+ * The limits, in-flight counts and rejections are published as 'rewards.concurrency.*' meters.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**Endpoint classes with separate limits.*/
+    enum EndpointClass {
+        READ, WRITE
+    }
+
+    private static final String LOOKUP_SUFFIX = "/lookup";
+    private static final String EVENTS_PATH = "/api/rewards/events";
+    private static final String STREAM_SUFFIX = "/stream";
+
+    private final RewardsConfig.ConcurrencyLimits settings;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(RewardsConfig config, ObjectMapper objectMapper) {
+        this.settings = config.getConcurrencyLimit();
+        this.objectMapper = objectMapper;
+        limits.put(EndpointClass.READ, createLimit(settings.getRead()));
+        limits.put(EndpointClass.WRITE, createLimit(settings.getWrite()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        // Event streams stay open for minutes; holding a permit for their lifetime would starve reads
+        return !settings.isEnabled() || !uri.startsWith(contextPath + "/api/") || uri.startsWith(contextPath + EVENTS_PATH)
+                || uri.endsWith(STREAM_SUFFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            reject(response, endpointClass);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(started, System.nanoTime(), failed);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limits.forEach((endpointClass, limit) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("rewards.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("endpoint", tag).description("Current adaptive concurrency limit").register(registry);
+            Gauge.builder("rewards.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("endpoint", tag).description("Requests holding a concurrency permit").register(registry);
+            FunctionCounter.builder("rewards.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                    .tag("endpoint", tag).description("Requests shed by the concurrency limit").register(registry);
+        });
+    }
+
+    /**Returns the limit of an endpoint class.*/
+    AdaptiveConcurrencyLimit limitFor(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    private static EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return EndpointClass.READ;
+        }
+        // Bulk lookups carry their IDs in a POST body but only read
+        return "POST".equals(method) && request.getRequestURI().endsWith(LOOKUP_SUFFIX)
+                ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        RewardsConfig.ConcurrencyLimit limitSettings =
+                endpointClass == EndpointClass.READ ? settings.getRead() : settings.getWrite();
+        HttpStatus status = HttpStatus.valueOf(limitSettings.getRejectStatus());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", "Server is at capacity, retry later");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limitSettings.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static AdaptiveConcurrencyLimit createLimit(RewardsConfig.ConcurrencyLimit limit) {
+        return new AdaptiveConcurrencyLimit(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                TimeUnit.MILLISECONDS.toNanos(limit.getLatencyThresholdMs()), limit.getBackoffRatio());
+    }
+}
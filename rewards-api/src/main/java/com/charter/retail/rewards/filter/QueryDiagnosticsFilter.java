@@ -0,0 +1,115 @@
+package com.charter.retail.rewards.filter;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.service.QueryDiagnostics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Profiles the database work of every API request through {@link QueryDiagnostics}.
+ * When response headers are enabled, the statement count, database time, rows fetched and slowest statement
+ * time are added as 'X-DB-*' headers just before the response is committed, so they cover all database work
+ * done before the first body byte.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "rewards.diagnostics", name = "enabled")
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-DB-Statements";
+    static final String TIME_HEADER = "X-DB-Time-Ms";
+    static final String ROWS_HEADER = "X-DB-Rows";
+    static final String SLOWEST_HEADER = "X-DB-Slowest-Ms";
+
+    private final QueryDiagnostics diagnostics;
+    private final RewardsConfig.Diagnostics settings;
+
+    public QueryDiagnosticsFilter(QueryDiagnostics diagnostics, RewardsConfig config) {
+        this.diagnostics = diagnostics;
+        this.settings = config.getDiagnostics();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryDiagnostics.RequestProfile profile = diagnostics.begin(request.getMethod(), request.getRequestURI());
+        HeaderWritingResponse wrapped = settings.isResponseHeaders() ? new HeaderWritingResponse(response, profile) : null;
+        try {
+            filterChain.doFilter(request, wrapped != null ? wrapped : response);
+            if (wrapped != null) {
+                wrapped.writeHeaders();
+            }
+        } finally {
+            diagnostics.end(profile, response.getStatus());
+        }
+    }
+
+    /**Adds the diagnostic headers once, before anything commits the response.*/
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final QueryDiagnostics.RequestProfile profile;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryDiagnostics.RequestProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(profile.getStatementCount()));
+            setHeader(TIME_HEADER, String.valueOf(profile.getDbTimeMs()));
+            setHeader(ROWS_HEADER, String.valueOf(profile.getRows()));
+            setHeader(SLOWEST_HEADER, String.valueOf(profile.getSlowestStatementMs()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
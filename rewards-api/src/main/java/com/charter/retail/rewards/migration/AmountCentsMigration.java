@@ -0,0 +1,132 @@
+package com.charter.retail.rewards.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Moves transaction amounts from the legacy {@code amount} DECIMAL column to {@code amount_cents} BIGINT.
+ * Runs before the entity manager factory is built, so Hibernate's schema update finds the new column
+ * already in place. The backfill is done in ID ranges to keep each update statement short.
+ * Every step can be repeated: the column is added only when missing, only rows without cents are
+ * backfilled, and the migration counts as done only once {@code amount_cents} is NOT NULL. An instance
+ * that stopped half way therefore finishes on its next start. On PostgreSQL, instances starting together
+ * are serialised with an advisory lock.
+ * The legacy column is made nullable and no longer written, so rows created afterwards have no
+ * {@code amount}; it can be dropped once every instance runs this version.
+ */
+@Slf4j
+@Component
+public class AmountCentsMigration {
+
+    static final int BACKFILL_BATCH_SIZE = 50_000;
+
+    /**Advisory lock key shared by all instances running this migration.*/
+    private static final long LOCK_KEY = 0x416d6f756e7443L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Uses its own JdbcTemplate: the auto-configured one waits for SQL initialisation,
+     * which is deferred until after the entity manager factory and would form a cycle.
+     *
+     * @param dataSource application data source
+     */
+    public AmountCentsMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**Backfills {@code amount_cents} while the transactions table still has an unfinished migration.*/
+    @PostConstruct
+    public void migrate() {
+        if (!pending(jdbcTemplate)) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            boolean locked = lock(session, connection);
+            try {
+                if (pending(session)) {
+                    migrate(session);
+                }
+            } finally {
+                if (locked) {
+                    session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void migrate(JdbcTemplate session) {
+        log.info("Migrating transactions.amount to amount_cents");
+        if (!hasColumn(session, "amount_cents")) {
+            session.execute("ALTER TABLE transactions ADD COLUMN amount_cents BIGINT");
+        }
+
+        long[] range = session.queryForObject("SELECT MIN(id), MAX(id) FROM transactions WHERE amount_cents IS NULL",
+                (rs, rowNum) -> rs.getObject(1) == null ? new long[] {0, -1} : new long[] {rs.getLong(1), rs.getLong(2)});
+        long updated = 0;
+        for (long fromId = range[0]; fromId <= range[1]; fromId += BACKFILL_BATCH_SIZE) {
+            updated += session.update("UPDATE transactions SET amount_cents = ROUND(amount * 100) "
+                    + "WHERE id >= ? AND id < ? AND amount_cents IS NULL", fromId, fromId + BACKFILL_BATCH_SIZE);
+        }
+
+        session.execute("ALTER TABLE transactions ALTER COLUMN amount_cents SET NOT NULL");
+        session.execute("ALTER TABLE transactions ALTER COLUMN amount DROP NOT NULL");
+        log.info("Backfilled amount_cents for {} transactions", updated);
+    }
+
+    /**
+     * The migration is pending while the legacy column exists and {@code amount_cents} is missing or nullable.
+     */
+    private static boolean pending(JdbcTemplate template) {
+        if (!hasColumn(template, "amount")) {
+            return false;
+        }
+        return !hasColumn(template, "amount_cents") || isNullable(template, "amount_cents");
+    }
+
+    /**
+     * Takes the advisory lock on PostgreSQL, waiting for an instance that is already migrating.
+     *
+     * @return whether a lock was taken and must be released
+     */
+    private static boolean lock(JdbcTemplate session, Connection connection) throws SQLException {
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return false;
+        }
+        session.queryForObject("SELECT pg_advisory_lock(?)::text", String.class, LOCK_KEY);
+        return true;
+    }
+
+    private static boolean hasColumn(JdbcTemplate template, String column) {
+        Integer count = template.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = 'transactions' "
+                + "AND LOWER(column_name) = ?", Integer.class, column);
+        return count != null && count > 0;
+    }
+
+    private static boolean isNullable(JdbcTemplate template, String column) {
+        String nullable = template.queryForObject("SELECT MAX(is_nullable) FROM information_schema.columns "
+                + "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) AND LOWER(table_name) = 'transactions' "
+                + "AND LOWER(column_name) = ?", String.class, column);
+        return "YES".equalsIgnoreCase(nullable);
+    }
+
+    /**Makes the entity manager factory wait for the migration.*/
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(AmountCentsMigration.class);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.charter.retail.rewards.repository;
+
+import com.charter.retail.rewards.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for Customer entity.
+ * Provides CRUD operations and custom query methods.
+ */
+@Repository
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    
+    /**
+     * Finds the summary of a customer.
+     * Not cached: the name and program feed rewards bodies, which are tagged with the uncached rewards
+     * version, and a per-instance query cache misses changes made by other instances.
+     *
+     * @param id customer ID
+     * @return customer summary, empty if the customer does not exist
+     */
+    @Query("SELECT new com.charter.retail.rewards.repository.CustomerSummary(c.id, c.name, c.program) "
+            + "FROM Customer c WHERE c.id = :id")
+    Optional<CustomerSummary> findSummaryById(@Param("id") Long id);
+    
+    /**
+     * Finds a page of customer summaries. Not cached, for the same reason as {@link #findSummaryById(Long)}.
+     *
+     * @param pageable pagination and sorting parameters
+     * @return page of customer summaries
+     */
+    @Query(value = "SELECT new com.charter.retail.rewards.repository.CustomerSummary(c.id, c.name, c.program) "
+            + "FROM Customer c",
+            countQuery = "SELECT COUNT(c) FROM Customer c")
+    Page<CustomerSummary> findSummaries(Pageable pageable);
+    
+    /**
+     * Finds the summaries of a set of customers; unknown IDs are skipped.
+     *
+     * @param ids customer IDs
+     * @return customer summaries, in no particular order
+     */
+    @Query("SELECT new com.charter.retail.rewards.repository.CustomerSummary(c.id, c.name, c.program) "
+            + "FROM Customer c WHERE c.id IN :ids")
+    List<CustomerSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Finds the rewards versions of a page of customers.
+     *
+     * @param pageable pagination and sorting parameters
+     * @return page of customer versions
+     */
+    @Query(value = "SELECT new com.charter.retail.rewards.repository.CustomerVersion(c.id, c.rewardsVersion) "
+            + "FROM Customer c",
+            countQuery = "SELECT COUNT(c) FROM Customer c")
+    Page<CustomerVersion> findVersions(Pageable pageable);
+}
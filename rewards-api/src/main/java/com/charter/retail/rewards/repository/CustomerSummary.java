@@ -0,0 +1,13 @@
+package com.charter.retail.rewards.repository;
+
+/**
+ * Immutable read model of the customer columns needed for reward scoring.
+ * Built directly from query results, so no Customer entity or transactions collection is created,
+ * and equality, hashing and logging never touch the database.
+ *
+ * @param id customer ID
+ * @param name customer name
+ * @param program loyalty program
+ */
+public record CustomerSummary(Long id, String name, String program) {
+}
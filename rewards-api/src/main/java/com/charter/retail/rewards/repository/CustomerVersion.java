@@ -0,0 +1,10 @@
+package com.charter.retail.rewards.repository;
+
+/**
+ * Read model of a customer's rewards version, used to build page ETags.
+ *
+ * @param id customer ID
+ * @param rewardsVersion version advanced on every change of the customer's rewards
+ */
+public record CustomerVersion(Long id, long rewardsVersion) {
+}
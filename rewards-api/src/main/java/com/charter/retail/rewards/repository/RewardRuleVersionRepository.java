@@ -0,0 +1,21 @@
+package com.charter.retail.rewards.repository;
+
+import com.charter.retail.rewards.entity.RewardRuleVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for RewardRuleVersion entity.
+ */
+@Repository
+public interface RewardRuleVersionRepository extends JpaRepository<RewardRuleVersion, Long> {
+    
+    /**
+     * Finds rule versions created after a given version.
+     *
+     * @param id highest version already known
+     * @return newer versions in version order
+     */
+    List<RewardRuleVersion> findByIdGreaterThanOrderByIdAsc(Long id);
+}
@@ -0,0 +1,32 @@
+package com.charter.retail.rewards.repository;
+
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Repository for the transactional outbox of points changes.
+ */
+@Repository
+public interface RewardsOutboxRepository extends JpaRepository<RewardsOutboxEvent, Long> {
+    
+    /**
+     * Finds the next outbox events after an ID, in ID order.
+     *
+     * @param afterId exclusive lower bound of the event ID
+     * @param pageable maximum number of events (the sort is fixed)
+     * @return events in ID order
+     */
+    @Query("SELECT e FROM RewardsOutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<RewardsOutboxEvent> findEventsAfter(
+            @Param("afterId") long afterId,
+            Pageable pageable);
+}
@@ -0,0 +1,83 @@
+package com.charter.retail.rewards.repository;
+
+import com.charter.retail.rewards.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for Transaction entity.
+ * Provides CRUD operations and custom query methods for transaction retrieval.
+ */
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    
+    /**
+     * Finds all transactions for a specific customer within a date range.
+     *
+     * @param customerId the customer ID
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @return list of transactions matching the criteria
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.customer.id = :customerId AND t.transactionDate BETWEEN :startDate AND :endDate")
+    List<Transaction> findByCustomerIdAndTransactionDateBetween(
+            @Param("customerId") Long customerId, 
+            @Param("startDate") LocalDate startDate, 
+            @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Finds the scoring columns of a customer's transactions within a date range.
+     * Results are projections rather than managed entities, so nothing is added to the persistence context.
+     *
+     * @param customerId the customer ID
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @return transaction amounts matching the criteria
+     */
+    @Query("SELECT new com.charter.retail.rewards.repository.TransactionAmount(t.customer.id, t.amountCents, t.transactionDate) "
+            + "FROM Transaction t WHERE t.customer.id = :customerId AND t.transactionDate BETWEEN :startDate AND :endDate")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256")
+    })
+    List<TransactionAmount> findAmountsByCustomerIdAndTransactionDateBetween(
+            @Param("customerId") Long customerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Finds the scoring columns of several customers' transactions within a date range in one query.
+     *
+     * @param customerIds the customer IDs
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @return transaction amounts matching the criteria
+     */
+    @Query("SELECT new com.charter.retail.rewards.repository.TransactionAmount(t.customer.id, t.amountCents, t.transactionDate) "
+            + "FROM Transaction t WHERE t.customer.id IN :customerIds AND t.transactionDate BETWEEN :startDate AND :endDate")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256")
+    })
+    List<TransactionAmount> findAmountsByCustomerIdInAndTransactionDateBetween(
+            @Param("customerIds") Collection<Long> customerIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Finds all transactions within a date range.
+     *
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     * @return list of transactions matching the criteria
+     */
+    List<Transaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
+}
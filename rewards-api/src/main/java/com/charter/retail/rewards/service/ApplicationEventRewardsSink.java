@@ -0,0 +1,36 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Delivers rewards events to in-process listeners as application events.
+ * Listeners subscribe with {@code @EventListener} on {@link RewardsEventDto}; they run on the relay thread,
+ * and an exception thrown by a listener makes the relay deliver the batch again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rewards.outbox", name = "application-events", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ApplicationEventRewardsSink implements RewardsEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "application-events";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void publish(List<RewardsEventDto> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
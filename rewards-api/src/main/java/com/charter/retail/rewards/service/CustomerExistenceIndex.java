@@ -0,0 +1,149 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory index of existing customer IDs, used to answer reads for unknown customers without a query
+ * and to skip loading known customers on writes.
+ * IDs up to {@code MAX_BITMAP_ID} are kept in a bitmap that grows with the highest ID, larger ones in a set;
+ * reads are lock-free and writers synchronise.
+ * The index is loaded once the application is ready, refreshed on a schedule and kept in sync with customers
+ * persisted through JPA. Customers inserted by another instance, or committed after a customer with a higher ID,
+ * are missing until the next refresh, which reads the IDs above the highest loaded one and the last
+ * {@code refresh-window} IDs below it again. Reads answer ABSENT for them meanwhile; writes confirm a miss
+ * against the database instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerExistenceIndex {
+
+    /**Answer of a membership lookup.*/
+    public enum Membership {
+        PRESENT, ABSENT, UNKNOWN
+    }
+
+    /**Bitmap of at most 16 MiB; IDs above it go to the overflow set.*/
+    private static final long MAX_BITMAP_ID = 1L << 27;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RewardsConfig config;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(0);
+    private final Set<Long> overflowIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile long highestLoadedId;
+
+    /**
+     * Looks up whether a customer exists.
+     *
+     * @param customerId customer ID
+     * @return PRESENT when indexed, ABSENT when not indexed as of the last refresh,
+     *         UNKNOWN while loading or when the index is disabled
+     */
+    public Membership membership(Long customerId) {
+        if (!loaded) {
+            return Membership.UNKNOWN;
+        }
+        return contains(customerId) ? Membership.PRESENT : Membership.ABSENT;
+    }
+
+    /**
+     * Adds a customer ID to the index.
+     *
+     * @param customerId customer ID
+     */
+    public synchronized void add(long customerId) {
+        if (customerId < 0 || customerId >= MAX_BITMAP_ID) {
+            overflowIds.add(customerId);
+            return;
+        }
+        int word = (int) (customerId >>> 6);
+        AtomicLongArray current = words;
+        if (word >= current.length()) {
+            current = grow(current, word + 1);
+        }
+        current.set(word, current.get(word) | (1L << customerId));
+    }
+
+    /**
+     * Removes a customer ID from the index.
+     *
+     * @param customerId customer ID
+     */
+    public synchronized void remove(long customerId) {
+        if (customerId < 0 || customerId >= MAX_BITMAP_ID) {
+            overflowIds.remove(customerId);
+            return;
+        }
+        int word = (int) (customerId >>> 6);
+        AtomicLongArray current = words;
+        if (word < current.length()) {
+            current.set(word, current.get(word) & ~(1L << customerId));
+        }
+    }
+
+    /**Loads all customer IDs once the application is ready.*/
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!config.getCustomerIndex().isEnabled()) {
+            return;
+        }
+        long count = loadIdsAbove(0);
+        loaded = true;
+        log.info("Customer existence index loaded with {} IDs", count);
+    }
+
+    /**
+     * Picks up customers inserted outside this application instance since the last load.
+     * Lower IDs can commit after higher ones were loaded, so the last window of IDs is read again.
+     */
+    @Scheduled(fixedDelayString = "${rewards.customer-index.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (loaded) {
+            loadIdsAbove(Math.max(0, highestLoadedId - config.getCustomerIndex().getRefreshWindow()));
+        }
+    }
+
+    private long loadIdsAbove(long fromExclusive) {
+        long[] count = new long[1];
+        jdbcTemplate.query("SELECT id FROM customers WHERE id > ? ORDER BY id", rs -> {
+            long id = rs.getLong(1);
+            add(id);
+            synchronized (this) {
+                highestLoadedId = Math.max(highestLoadedId, id);
+            }
+            count[0]++;
+        }, fromExclusive);
+        return count[0];
+    }
+
+    private boolean contains(long customerId) {
+        if (customerId < 0 || customerId >= MAX_BITMAP_ID) {
+            return overflowIds.contains(customerId);
+        }
+        int word = (int) (customerId >>> 6);
+        AtomicLongArray current = words;
+        return word < current.length() && (current.get(word) & (1L << customerId)) != 0;
+    }
+
+    private AtomicLongArray grow(AtomicLongArray current, int minWords) {
+        int size = Math.max(minWords, current.length() + (current.length() >> 1));
+        AtomicLongArray grown = new AtomicLongArray(size);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,46 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.entity.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener keeping {@link CustomerExistenceIndex} in sync with customer inserts and deletes.
+ * Changes are applied after commit so that rolled back inserts never enter the index.
+ */
+public class CustomerIndexListener {
+
+    private final ObjectProvider<CustomerExistenceIndex> customerIndex;
+
+    public CustomerIndexListener(ObjectProvider<CustomerExistenceIndex> customerIndex) {
+        this.customerIndex = customerIndex;
+    }
+
+    @PostPersist
+    public void customerPersisted(Customer customer) {
+        Long id = customer.getId();
+        afterCommit(() -> customerIndex.ifAvailable(index -> index.add(id)));
+    }
+
+    @PostRemove
+    public void customerRemoved(Customer customer) {
+        Long id = customer.getId();
+        afterCommit(() -> customerIndex.ifAvailable(index -> index.remove(id)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the rewards of individual customers to their server-sent event subscribers.
+ * A subscriber is first sent a snapshot of the customer's rewards; after that, every relayed batch that changes
+ * the customer's points is answered with one update holding the current points of the changed months and the
+ * new total. Updates carry absolute values, so a repeated delivery is harmless.
+ * <p>
+ * Subscriptions use async servlet requests and hold no thread while idle. Each update is serialised once per
+ * customer and queued to every subscriber of that customer; a small shared pool writes the queues out. A subscriber
+ * whose queue is full is too slow to keep up and is disconnected. Heartbeat comments keep idle connections open
+ * through proxies and detect clients that have gone away.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rewards.outbox.customer-stream", name = "enabled", matchIfMissing = true)
+public class CustomerRewardsStreamSink implements RewardsEventSink, MeterBinder {
+
+    /**SSE event name of the initial rewards snapshot.*/
+    public static final String SNAPSHOT_EVENT = "snapshot";
+
+    /**SSE event name of a rewards update.*/
+    public static final String UPDATE_EVENT = "update";
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+    private final RewardsService rewardsService;
+    private final ObjectMapper objectMapper;
+    private final RewardsConfig.CustomerStreamSink settings;
+    private final ExecutorService sender;
+
+    private final Map<Long, Set<Subscriber>> subscribersByCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    public CustomerRewardsStreamSink(RewardsService rewardsService, ObjectMapper objectMapper, RewardsConfig config) {
+        this.rewardsService = rewardsService;
+        this.objectMapper = objectMapper;
+        this.settings = config.getOutbox().getCustomerStream();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(settings.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "rewards-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String name() {
+        return "customer-stream";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    /**
+     * Subscribes to the rewards of a customer.
+     *
+     * @param customerId customer ID
+     * @return emitter of the subscription, starting with a snapshot of the customer's rewards
+     * @throws ResourceNotFoundException if the customer does not exist
+     */
+    public SseEmitter subscribe(Long customerId) {
+        // Changes committed after this read reach the relay only after the commit grace period, by when the
+        // subscriber is registered
+        CustomerRewardsDto snapshot = rewardsService.getRewardsForCustomer(customerId);
+        SseEmitter emitter = new SseEmitter(settings.getTimeoutMs());
+        Subscriber subscriber = new Subscriber(customerId, emitter, settings.getBufferSize());
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        subscribersByCustomer.compute(customerId, (id, subscribers) -> {
+            Set<Subscriber> current = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        subscriber.offer(new StreamEvent(null, SNAPSHOT_EVENT, toJson(snapshot)));
+        return emitter;
+    }
+
+    /**
+     * Sends one update to the subscribers of every changed customer.
+     * Changes of customers without subscribers are skipped without loading their rewards.
+     */
+    @Override
+    public void publish(List<RewardsEventDto> events) {
+        Map<Long, List<RewardsEventDto>> changesByCustomer = events.stream()
+                .filter(event -> subscribersByCustomer.containsKey(event.getCustomerId()))
+                .collect(Collectors.groupingBy(RewardsEventDto::getCustomerId, LinkedHashMap::new, Collectors.toList()));
+        changesByCustomer.forEach(this::publishUpdate);
+    }
+
+    private void publishUpdate(Long customerId, List<RewardsEventDto> changes) {
+        CustomerRewardsDto rewards;
+        try {
+            rewards = rewardsService.getRewardsForCustomer(customerId);
+        } catch (ResourceNotFoundException ex) {
+            subscribersOf(customerId).forEach(subscriber -> subscriber.close(null));
+            return;
+        }
+        Set<String> changedMonths = changes.stream().map(RewardsEventDto::getMonth).collect(Collectors.toSet());
+        Map<String, Integer> monthlyPoints = new LinkedHashMap<>();
+        rewards.getMonthlyPoints().forEach((month, points) -> {
+            if (changedMonths.contains(month)) {
+                monthlyPoints.put(month, points);
+            }
+        });
+        CustomerRewardsDto update = new CustomerRewardsDto(customerId, rewards.getCustomerName(), monthlyPoints,
+                rewards.getTotalPoints());
+        String lastEventId = String.valueOf(changes.get(changes.size() - 1).getId());
+        StreamEvent event = new StreamEvent(lastEventId, UPDATE_EVENT, toJson(update));
+        subscribersOf(customerId).forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**Queues a heartbeat comment to every subscriber.*/
+    @Scheduled(fixedDelayString = "${rewards.outbox.customer-stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscribersByCustomer.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    private List<Subscriber> subscribersOf(Long customerId) {
+        Set<Subscriber> subscribers = subscribersByCustomer.get(customerId);
+        return subscribers != null ? new ArrayList<>(subscribers) : List.of();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribersByCustomer.computeIfPresent(subscriber.customerId, (id, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private String toJson(CustomerRewardsDto rewards) {
+        try {
+            return objectMapper.writeValueAsString(rewards);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rewards.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open per-customer rewards stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("rewards.stream.dropped", droppedSubscribers, AtomicLong::get)
+                .description("Per-customer rewards stream subscribers disconnected for falling behind")
+                .register(registry);
+    }
+
+    /**Event queued to a subscriber; an event without a name is a heartbeat comment.*/
+    private record StreamEvent(String id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event();
+            if (id != null) {
+                builder.id(id);
+            }
+            return builder.name(name).data(data);
+        }
+    }
+
+    /**
+     * One subscription with its bounded send queue.
+     * At most one sender thread drains the queue at a time, so events go out in queue order.
+     */
+    private final class Subscriber {
+
+        private final Long customerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long customerId, SseEmitter emitter, int bufferSize) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(StreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                droppedSubscribers.incrementAndGet();
+                log.debug("Dropping rewards stream subscriber of customer {}: send buffer full", customerId);
+                close(null);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void close(Throwable failure) {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                unsubscribe(this);
+                if (failure != null) {
+                    emitter.completeWithError(failure);
+                } else {
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping rewards stream subscriber of customer {}: {}", customerId, ex.getMessage());
+                close(ex);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before the flag was cleared still needs a drain
+            if (!queue.isEmpty() && !closed.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
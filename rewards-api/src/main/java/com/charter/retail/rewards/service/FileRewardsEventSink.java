@@ -0,0 +1,57 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends rewards events to a file as JSON lines.
+ * Each batch is forced to disk before it counts as delivered, so a crash can only repeat the
+ * lines of the last batch, never lose them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rewards.outbox.file", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FileRewardsEventSink implements RewardsEventSink {
+
+    private final RewardsConfig config;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(List<RewardsEventDto> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 128);
+        for (RewardsEventDto event : events) {
+            lines.write(objectMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+        Path path = Path.of(config.getOutbox().getFile().getPath());
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.DbRequestProfileDto;
+import com.charter.retail.rewards.dto.DbStatementStatsDto;
+import com.charter.retail.rewards.dto.QueryDiagnosticsDto;
+import com.charter.retail.rewards.util.DiagnosticDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the database work of requests from the diagnostic data source.
+ * Statements executed on a request thread between {@link #begin} and {@link #end} are added to that request's
+ * profile: statement count, database time, rows fetched and the slowest statement. Requests whose database time
+ * reaches the slow-request threshold, and single statements reaching the slow-statement threshold, are logged
+ * as key=value pairs. The requests with the most database time and the statements with the most total time are
+ * kept for the 'dbdiagnostics' actuator endpoint; statements are counted from every thread.
+ */
+@Slf4j
+@Service
+public class QueryDiagnostics implements DiagnosticDataSource.Recorder {
+
+    /**Key under which statements beyond the tracked limit are counted.*/
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final Comparator<DbRequestProfileDto> BY_DB_TIME =
+            Comparator.comparingDouble(DbRequestProfileDto::getDbTimeMs);
+
+    private final RewardsConfig.Diagnostics settings;
+    private final ThreadLocal<RequestProfile> currentRequest = new ThreadLocal<>();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final PriorityQueue<DbRequestProfileDto> slowestRequests = new PriorityQueue<>(BY_DB_TIME);
+
+    public QueryDiagnostics(RewardsConfig config) {
+        this.settings = config.getDiagnostics();
+    }
+
+    /**
+     * Starts profiling the current thread's request.
+     *
+     * @param method HTTP method
+     * @param uri request URI
+     * @return profile of the request
+     */
+    public RequestProfile begin(String method, String uri) {
+        RequestProfile profile = new RequestProfile(method, uri, System.nanoTime());
+        currentRequest.set(profile);
+        return profile;
+    }
+
+    /**
+     * Finishes profiling a request, logs it when its database time is over the threshold and ranks it
+     * among the slowest requests.
+     *
+     * @param profile profile returned by {@link #begin}
+     * @param status response status
+     * @return database work of the request
+     */
+    public DbRequestProfileDto end(RequestProfile profile, int status) {
+        currentRequest.remove();
+        DbRequestProfileDto result = profile.toDto(status);
+        if (result.getStatements() == 0) {
+            return result;
+        }
+        if (result.getDbTimeMs() >= settings.getSlowRequestThresholdMs()) {
+            log.warn("Slow request DB time: method={} uri={} status={} statements={} dbTimeMs={} rows={} "
+                            + "requestTimeMs={} slowestStatementMs={} slowestStatement=\"{}\"",
+                    result.getMethod(), result.getUri(), status, result.getStatements(), result.getDbTimeMs(),
+                    result.getRows(), result.getRequestTimeMs(), result.getSlowestStatementMs(),
+                    result.getSlowestStatement());
+        }
+        synchronized (slowestRequests) {
+            slowestRequests.add(result);
+            if (slowestRequests.size() > settings.getTopOffenders()) {
+                slowestRequests.poll();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void statementExecuted(String sql, long elapsedNanos) {
+        String key = statements.size() >= settings.getMaxTrackedStatements() && !statements.containsKey(sql)
+                ? OTHER_STATEMENTS : sql;
+        statements.computeIfAbsent(key, k -> new StatementStats()).record(elapsedNanos);
+        RequestProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.statementExecuted(sql, elapsedNanos);
+        }
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(settings.getSlowStatementThresholdMs())) {
+            log.warn("Slow statement: elapsedMs={} uri={} sql=\"{}\"", toMillis(elapsedNanos),
+                    profile != null ? profile.uri : null, sql);
+        }
+    }
+
+    @Override
+    public void rowFetched() {
+        RequestProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.rows++;
+        }
+    }
+
+    /**
+     * Lists the top offenders.
+     *
+     * @return slowest requests and statements with the most total time, slowest first
+     */
+    public QueryDiagnosticsDto topOffenders() {
+        List<DbRequestProfileDto> requests;
+        synchronized (slowestRequests) {
+            requests = new ArrayList<>(slowestRequests);
+        }
+        requests.sort(BY_DB_TIME.reversed());
+        List<DbStatementStatsDto> topStatements = statements.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(DbStatementStatsDto::getTotalTimeMs).reversed())
+                .limit(settings.getTopOffenders())
+                .toList();
+        return new QueryDiagnosticsDto(requests, topStatements);
+    }
+
+    /**Clears the collected offenders.*/
+    public void reset() {
+        synchronized (slowestRequests) {
+            slowestRequests.clear();
+        }
+        statements.clear();
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**Database work of one request; only touched by the request's thread.*/
+    public static final class RequestProfile {
+
+        private final String method;
+        private final String uri;
+        private final long startedNanos;
+        private int statementCount;
+        private long dbNanos;
+        private long rows;
+        private long slowestNanos;
+        private String slowestStatement;
+
+        private RequestProfile(String method, String uri, long startedNanos) {
+            this.method = method;
+            this.uri = uri;
+            this.startedNanos = startedNanos;
+        }
+
+        private void statementExecuted(String sql, long elapsedNanos) {
+            statementCount++;
+            dbNanos += elapsedNanos;
+            if (elapsedNanos > slowestNanos) {
+                slowestNanos = elapsedNanos;
+                slowestStatement = sql;
+            }
+        }
+
+        /**@return statements executed so far*/
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        /**@return database time so far in milliseconds*/
+        public double getDbTimeMs() {
+            return toMillis(dbNanos);
+        }
+
+        /**@return rows fetched so far*/
+        public long getRows() {
+            return rows;
+        }
+
+        /**@return time of the slowest statement so far in milliseconds*/
+        public double getSlowestStatementMs() {
+            return toMillis(slowestNanos);
+        }
+
+        private DbRequestProfileDto toDto(int status) {
+            return new DbRequestProfileDto(method, uri, status, statementCount, toMillis(dbNanos), rows,
+                    toMillis(System.nanoTime() - startedNanos), toMillis(slowestNanos), slowestStatement,
+                    Instant.now());
+        }
+    }
+
+    /**Accumulated executions of one statement.*/
+    private static final class StatementStats {
+
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long elapsedNanos) {
+            executions.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        DbStatementStatsDto toDto(String sql) {
+            return new DbStatementStatsDto(sql, executions.sum(), toMillis(totalNanos.sum()), toMillis(maxNanos.get()));
+        }
+    }
+}
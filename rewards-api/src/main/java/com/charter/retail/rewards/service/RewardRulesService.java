@@ -0,0 +1,118 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RecomputeProgressDto;
+import com.charter.retail.rewards.dto.RewardRuleVersionDto;
+import com.charter.retail.rewards.entity.RewardRuleVersion;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.repository.RewardRuleVersionRepository;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service managing runtime reward rule versions.
+ * Versions are stored, compiled and installed into {@link RewardsCalculator} without a restart;
+ * each installed version triggers an incremental recompute of the affected customers.
+ * Versions created by other instances are picked up by a periodic refresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RewardRulesService {
+
+    private final RewardRuleVersionRepository ruleVersionRepository;
+    private final RewardsCalculator rewardsCalculator;
+    private final RewardsRecomputeService recomputeService;
+
+    private volatile long highestInstalledVersion;
+
+    /**Installs all stored rule versions. Runs before the application serves requests.*/
+    @PostConstruct
+    public void load() {
+        List<RewardRuleVersion> versions = ruleVersionRepository.findByIdGreaterThanOrderByIdAsc(0L);
+        versions.forEach(version -> install(version, false));
+        log.info("Installed {} reward rule versions", versions.size());
+    }
+
+    /**Installs rule versions created by other instances since the last load.*/
+    @Scheduled(fixedDelayString = "${rewards.rule-versions.refresh-interval-ms:60000}")
+    public void refresh() {
+        ruleVersionRepository.findByIdGreaterThanOrderByIdAsc(highestInstalledVersion)
+                .forEach(version -> install(version, true));
+    }
+
+    /**
+     * Lists all rule versions, including the base version 0 of each program.
+     *
+     * @return rule versions by program, in effective date order
+     */
+    public List<RewardRuleVersionDto> getVersions() {
+        return rewardsCalculator.getRuleTables().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(
+                        (String program) -> !RewardsConfig.DEFAULT_PROGRAM.equals(program))
+                        .thenComparing(Comparator.naturalOrder())))
+                .flatMap(entry -> entry.getValue().versions().stream())
+                .map(RewardRulesService::toDto)
+                .toList();
+    }
+
+    /**
+     * Stores and installs a new rule version and starts the recompute of affected rewards.
+     *
+     * @param versionDto rule version data
+     * @return stored rule version
+     */
+    public RewardRuleVersionDto addVersion(RewardRuleVersionDto versionDto) {
+        String program = versionDto.getProgram() == null ? RewardsConfig.DEFAULT_PROGRAM : versionDto.getProgram();
+        if (!rewardsCalculator.hasProgram(program)) {
+            throw new ResourceNotFoundException("Reward program not found: " + program);
+        }
+        RewardRuleVersion version = ruleVersionRepository.save(new RewardRuleVersion(null, program,
+                versionDto.getEffectiveFrom(), versionDto.getTierOneThreshold(), versionDto.getTierTwoThreshold(),
+                versionDto.getTierOneMultiplier(), versionDto.getTierTwoMultiplier(), Instant.now()));
+        return toDto(install(version, true));
+    }
+
+    /**
+     * Reports the recompute progress of a rule version.
+     *
+     * @param ruleVersion rule version
+     * @return recompute progress
+     */
+    public RecomputeProgressDto getRecomputeProgress(Long ruleVersion) {
+        return recomputeService.getProgress(ruleVersion)
+                .orElseThrow(() -> new ResourceNotFoundException("No recompute found for rule version: " + ruleVersion));
+    }
+
+    private synchronized RewardRules install(RewardRuleVersion version, boolean recompute) {
+        RewardRules rules = RewardRules.of(version.getProgram(), version.getId(), version.getEffectiveFrom(),
+                version.getTierOneThreshold(), version.getTierTwoThreshold(),
+                version.getTierOneMultiplier(), version.getTierTwoMultiplier());
+        if (rewardsCalculator.install(rules)) {
+            log.info("Installed reward rule version {} of program '{}' effective from {}",
+                    rules.version(), rules.program(), rules.effectiveFrom());
+            if (recompute) {
+                recomputeService.submit(rules);
+            }
+        }
+        highestInstalledVersion = Math.max(highestInstalledVersion, rules.version());
+        return rules;
+    }
+
+    private static RewardRuleVersionDto toDto(RewardRules rules) {
+        LocalDate effectiveFrom = rules.version() == 0 ? null : rules.effectiveFrom();
+        return new RewardRuleVersionDto(rules.version(), rules.program(), effectiveFrom,
+                (int) (rules.tierOneCents() / 100), (int) (rules.tierTwoCents() / 100),
+                rules.tierOneMultiplier(), rules.tierTwoMultiplier());
+    }
+}
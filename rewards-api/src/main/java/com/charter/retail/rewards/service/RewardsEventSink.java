@@ -0,0 +1,41 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the rewards events relayed from the outbox.
+ * Every sink bean is picked up by {@link RewardsOutboxRelay} and keeps its own checkpoint, shared by all
+ * instances of the application unless the sink is {@link #perInstance() per instance}.
+ */
+public interface RewardsEventSink {
+
+    /**
+     * Names the sink; the name keys its checkpoint, so it must stay stable across releases.
+     *
+     * @return sink name, at most 40 characters
+     */
+    String name();
+
+    /**
+     * Tells whether every running instance must see every event, because the sink delivers to state held in
+     * the JVM such as open subscriptions or caches. Such a sink gets a checkpoint per instance, starting near
+     * the head of the outbox when the instance starts.
+     *
+     * @return true for a checkpoint per instance, false for one checkpoint shared by all instances
+     */
+    default boolean perInstance() {
+        return false;
+    }
+
+    /**
+     * Delivers a batch of events in ID order.
+     * An event whose transaction committed after a higher ID was delivered follows in a later batch.
+     * The batch counts as delivered when the method returns; on an exception it is delivered again.
+     *
+     * @param events events in ID order
+     * @throws IOException if the batch could not be delivered
+     */
+    void publish(List<RewardsEventDto> events) throws IOException;
+}
@@ -0,0 +1,276 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the rewards outbox to the event sinks.
+ * Each sink is sent the events after its checkpoint in ID order and in batches; the checkpoint advances only
+ * after the sink accepted a batch, so delivery is at-least-once. A failing sink is retried from its checkpoint
+ * on the next poll without holding back the others.
+ * <p>
+ * IDs are taken before commit, so a transaction holding a lower ID can commit after a higher ID was relayed.
+ * The IDs a checkpoint passes without an event are recorded as gaps of that sink, and their events are
+ * delivered as soon as they appear. A gap is given up after the gap timeout, when its transaction must have
+ * rolled back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RewardsOutboxRelay implements MeterBinder {
+
+    /**Separates the sink name from the instance ID in the checkpoint of a per-instance sink.*/
+    static final String INSTANCE_SEPARATOR = "@";
+
+    private final RewardsOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<RewardsEventSink> sinks;
+    private final RewardsConfig config;
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong expiredGaps = new AtomicLong();
+
+    /**Relays pending events to every sink and purges events all sinks have received.*/
+    @Scheduled(fixedDelayString = "${rewards.outbox.poll-interval-ms:1000}")
+    public void relayPending() {
+        if (config.getOutbox().isEnabled()) {
+            relay();
+            purgeDelivered();
+        }
+    }
+
+    /**
+     * Delivers the pending events to every sink.
+     * Returns immediately when a relay is already in progress.
+     *
+     * @return number of events delivered, summed over the sinks
+     */
+    public long relay() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT);
+            long total = 0;
+            for (RewardsEventSink sink : sinks) {
+                total += relay(sink, checkpointKey(sink), monthFormatter);
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Names the checkpoint of a sink; per-instance sinks are keyed by this instance as well.
+     *
+     * @param sink event sink
+     * @return checkpoint key
+     */
+    String checkpointKey(RewardsEventSink sink) {
+        return sink.perInstance() ? sink.name() + INSTANCE_SEPARATOR + instanceId : sink.name();
+    }
+
+    private long relay(RewardsEventSink sink, String key, DateTimeFormatter monthFormatter) {
+        int batchSize = config.getOutbox().getBatchSize();
+        long checkpoint = checkpoint(key, sink.perInstance());
+        long count = relayLateEvents(sink, key, monthFormatter);
+        List<RewardsOutboxEvent> batch;
+        do {
+            batch = outboxRepository.findEventsAfter(checkpoint, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (!publish(sink, batch, monthFormatter)) {
+                break;
+            }
+            recordGaps(key, checkpoint, batch);
+            checkpoint = batch.get(batch.size() - 1).getId();
+            saveCheckpoint(key, checkpoint);
+            count += batch.size();
+        } while (batch.size() == batchSize);
+        if (count == 0 && sink.perInstance()) {
+            // Keeps the checkpoint of a live instance from looking abandoned to the purge
+            saveCheckpoint(key, checkpoint);
+        }
+        delivered.addAndGet(count);
+        return count;
+    }
+
+    private boolean publish(RewardsEventSink sink, List<RewardsOutboxEvent> batch, DateTimeFormatter monthFormatter) {
+        List<RewardsEventDto> events = batch.stream().map(event -> RewardsEventDto.from(event, monthFormatter)).toList();
+        try {
+            sink.publish(events);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            failedBatches.incrementAndGet();
+            log.warn("Outbox relay: sink '{}' failed at event {}; retrying on the next poll",
+                    sink.name(), batch.get(0).getId(), ex);
+            return false;
+        }
+    }
+
+    /**
+     * Delivers the events of the sink's gaps that have committed since, and gives up timed-out gaps.
+     */
+    private long relayLateEvents(RewardsEventSink sink, String key, DateTimeFormatter monthFormatter) {
+        List<Long> gapIds = jdbcTemplate.queryForList("SELECT event_id FROM outbox_gaps WHERE sink = ?",
+                Long.class, key);
+        if (gapIds.isEmpty()) {
+            return 0;
+        }
+        List<RewardsOutboxEvent> late = outboxRepository.findAllById(gapIds).stream()
+                .sorted(Comparator.comparing(RewardsOutboxEvent::getId))
+                .toList();
+        if (!late.isEmpty()) {
+            if (!publish(sink, late, monthFormatter)) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM outbox_gaps WHERE sink = ? AND event_id = ?",
+                    late.stream().map(event -> new Object[] {key, event.getId()}).toList());
+        }
+        Instant timedOut = Instant.now().minusMillis(config.getOutbox().getGapTimeoutMs());
+        int expired = jdbcTemplate.update("DELETE FROM outbox_gaps WHERE sink = ? AND detected_at < ?",
+                key, Timestamp.from(timedOut));
+        if (expired > 0) {
+            expiredGaps.addAndGet(expired);
+            log.info("Outbox relay: sink '{}' gave up {} outbox IDs that never committed", sink.name(), expired);
+        }
+        return late.size();
+    }
+
+    /**
+     * Records the IDs between the checkpoint and the batch, and within the batch, that have no event yet.
+     * A fresh checkpoint of 0 records nothing before the first event, because those IDs were purged.
+     */
+    private void recordGaps(String key, long checkpoint, List<RewardsOutboxEvent> batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> gaps = new ArrayList<>();
+        long expected = checkpoint == 0 ? batch.get(0).getId() : checkpoint + 1;
+        for (RewardsOutboxEvent event : batch) {
+            for (long missing = expected; missing < event.getId(); missing++) {
+                gaps.add(new Object[] {key, missing, now, key, missing});
+            }
+            expected = event.getId() + 1;
+        }
+        if (!gaps.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO outbox_gaps (sink, event_id, detected_at) SELECT ?, ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM outbox_gaps WHERE sink = ? AND event_id = ?)", gaps);
+        }
+    }
+
+    private void saveCheckpoint(String key, long checkpoint) {
+        jdbcTemplate.update("UPDATE outbox_checkpoints SET last_event_id = ?, updated_at = ? WHERE sink = ?",
+                checkpoint, Timestamp.from(Instant.now()), key);
+    }
+
+    /**
+     * Reads the checkpoint of a sink, creating it for a new sink. A shared sink starts at the beginning of the
+     * outbox; a per-instance sink starts one batch behind the head, so transactions still in flight when the
+     * instance started are delivered, while the state it serves is loaded fresh from the database.
+     */
+    private long checkpoint(String key, boolean perInstance) {
+        Long checkpoint = jdbcTemplate.query("SELECT last_event_id FROM outbox_checkpoints WHERE sink = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, key);
+        if (checkpoint != null) {
+            return checkpoint;
+        }
+        long start = 0;
+        if (perInstance) {
+            Long head = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM rewards_outbox", Long.class);
+            start = Math.max(0, head - config.getOutbox().getBatchSize());
+        }
+        jdbcTemplate.update("INSERT INTO outbox_checkpoints (sink, last_event_id, updated_at) VALUES (?, ?, ?)",
+                key, start, Timestamp.from(Instant.now()));
+        return start;
+    }
+
+    /**
+     * Deletes events that every sink has received and that are older than the retention period.
+     * Retained events serve subscribers that reconnect with a Last-Event-ID. The checkpoints of per-instance
+     * sinks on other instances count while they are younger than the retention period; older ones belong to
+     * stopped instances and are deleted. Events of open gaps are kept.
+     *
+     * @return number of events deleted
+     */
+    public int purgeDelivered() {
+        if (sinks.isEmpty()) {
+            return 0;
+        }
+        Instant retainedFrom = Instant.now().minus(Duration.ofHours(config.getOutbox().getRetentionHours()));
+        Set<String> required = sinks.stream().map(this::checkpointKey).collect(Collectors.toSet());
+        Set<String> found = new HashSet<>();
+        List<String> abandoned = new ArrayList<>();
+        AtomicLong deliveredToAll = new AtomicLong(Long.MAX_VALUE);
+        jdbcTemplate.query("SELECT sink, last_event_id, updated_at FROM outbox_checkpoints", rs -> {
+            String key = rs.getString("sink");
+            long lastEventId = rs.getLong("last_event_id");
+            if (required.contains(key)) {
+                found.add(key);
+                deliveredToAll.accumulateAndGet(lastEventId, Math::min);
+            } else if (key.contains(INSTANCE_SEPARATOR)) {
+                if (rs.getTimestamp("updated_at").toInstant().isBefore(retainedFrom)) {
+                    abandoned.add(key);
+                } else {
+                    deliveredToAll.accumulateAndGet(lastEventId, Math::min);
+                }
+            }
+        });
+        for (String key : abandoned) {
+            log.info("Outbox relay: deleting checkpoint '{}' of a stopped instance", key);
+            jdbcTemplate.update("DELETE FROM outbox_gaps WHERE sink = ?", key);
+            jdbcTemplate.update("DELETE FROM outbox_checkpoints WHERE sink = ?", key);
+        }
+        if (!found.containsAll(required)) {
+            return 0;
+        }
+        int purged = jdbcTemplate.update("DELETE FROM rewards_outbox WHERE id <= ? AND created_at < ? "
+                + "AND id NOT IN (SELECT event_id FROM outbox_gaps)", deliveredToAll.get(), Timestamp.from(retainedFrom));
+        if (purged > 0) {
+            log.debug("Outbox relay: purged {} delivered events", purged);
+        }
+        return purged;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.outbox.delivered", delivered, AtomicLong::get)
+                .description("Outbox events delivered, summed over the sinks")
+                .register(registry);
+        FunctionCounter.builder("rewards.outbox.failed.batches", failedBatches, AtomicLong::get)
+                .description("Outbox batches a sink failed to accept")
+                .register(registry);
+        FunctionCounter.builder("rewards.outbox.expired.gaps", expiredGaps, AtomicLong::get)
+                .description("Outbox IDs given up after the gap timeout without an event")
+                .register(registry);
+    }
+}
@@ -0,0 +1,143 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RecomputeProgressDto;
+import com.charter.retail.rewards.util.RewardRules;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes rewards in the background after a rule version is installed.
+ * Only customers of the version's program with transactions on or after its effective date
+ * (within the calculation window) are touched: their version stamps are advanced and cached responses
+ * re-serialised, in customer ID order and in batches. Progress is kept per rule version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RewardsRecomputeService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RewardsVersionTracker versionTracker;
+    private final RewardsResponseCache responseCache;
+    private final RewardsConfig config;
+
+    private final Map<Long, Progress> progressByVersion = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rewards-recompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Schedules the recompute for a newly installed rule version.
+     *
+     * @param rules installed rules
+     */
+    public void submit(RewardRules rules) {
+        Progress progress = new Progress(rules.version());
+        progressByVersion.put(rules.version(), progress);
+        executor.execute(() -> recompute(rules, progress));
+    }
+
+    /**
+     * Reports the recompute progress of a rule version.
+     *
+     * @param ruleVersion rule version
+     * @return progress, empty if no recompute was submitted for the version
+     */
+    public Optional<RecomputeProgressDto> getProgress(long ruleVersion) {
+        return Optional.ofNullable(progressByVersion.get(ruleVersion)).map(Progress::toDto);
+    }
+
+    void recompute(RewardRules rules, Progress progress) {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusMonths(config.getCalculationMonths());
+        LocalDate from = rules.effectiveFrom().isAfter(windowStart) ? rules.effectiveFrom() : windowStart;
+        progress.recomputeFrom = from;
+        progress.startedAt = Instant.now();
+        if (from.isAfter(today)) {
+            // Not in effect yet; the daily ETag rollover picks it up on the effective date
+            progress.finish(RecomputeProgressDto.State.SKIPPED);
+            return;
+        }
+
+        progress.state = RecomputeProgressDto.State.RUNNING;
+        try {
+            Long affected = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT t.customer_id) FROM transactions t "
+                    + "JOIN customers c ON c.id = t.customer_id WHERE t.transaction_date >= ? AND c.program = ?",
+                    Long.class, from, rules.program());
+            progress.affectedCustomers = affected == null ? 0 : affected;
+
+            int batchSize = config.getRuleVersions().getRecomputeBatchSize();
+            long lastCustomerId = 0;
+            List<Long> batch;
+            do {
+                batch = jdbcTemplate.queryForList("SELECT DISTINCT t.customer_id FROM transactions t "
+                        + "JOIN customers c ON c.id = t.customer_id "
+                        + "WHERE t.transaction_date >= ? AND c.program = ? AND t.customer_id > ? "
+                        + "ORDER BY t.customer_id LIMIT ?",
+                        Long.class, from, rules.program(), lastCustomerId, batchSize);
+                for (Long customerId : batch) {
+                    versionTracker.advance(customerId);
+                    Long version = versionTracker.currentVersion(customerId);
+                    responseCache.refresh(customerId, version, versionTracker.customerETagAt(version));
+                    progress.processedCustomers.incrementAndGet();
+                    lastCustomerId = customerId;
+                }
+                log.debug("Rule version {}: recomputed {}/{} customers", rules.version(),
+                        progress.processedCustomers.get(), progress.affectedCustomers);
+            } while (batch.size() == batchSize);
+
+            progress.finish(RecomputeProgressDto.State.COMPLETED);
+            log.info("Rule version {}: recomputed rewards of {} customers from {}",
+                    rules.version(), progress.processedCustomers.get(), from);
+        } catch (RuntimeException ex) {
+            progress.finish(RecomputeProgressDto.State.FAILED);
+            log.error("Rule version {}: recompute failed", rules.version(), ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**Mutable progress of one recompute, written by the worker thread and read by status requests.*/
+    static final class Progress {
+
+        private final long ruleVersion;
+        private final AtomicLong processedCustomers = new AtomicLong();
+        private volatile RecomputeProgressDto.State state = RecomputeProgressDto.State.PENDING;
+        private volatile LocalDate recomputeFrom;
+        private volatile long affectedCustomers;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        Progress(long ruleVersion) {
+            this.ruleVersion = ruleVersion;
+        }
+
+        private void finish(RecomputeProgressDto.State finalState) {
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        RecomputeProgressDto toDto() {
+            return new RecomputeProgressDto(ruleVersion, state, recomputeFrom, affectedCustomers,
+                    processedCustomers.get(), startedAt, finishedAt);
+        }
+    }
+}
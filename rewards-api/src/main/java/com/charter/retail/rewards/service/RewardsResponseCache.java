@@ -0,0 +1,170 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of fully serialised customer rewards responses.
+ * Entries are tagged with the ETag they were built for, so they are invalidated by the
+ * same events that advance {@link RewardsVersionTracker}. At most {@code max-entries} customers
+ * are held; when full, the least recently read customer is evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RewardsResponseCache {
+
+    private final RewardsService rewardsService;
+    private final ObjectMapper objectMapper;
+    private final RewardsConfig config;
+
+    private final Map<Long, CachedResponse> responses = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CachedResponse> eldest) {
+                    return size() > config.getResponseCache().getMaxEntries();
+                }
+            });
+
+    /**Indicates whether serialised responses should be served from this cache.*/
+    public boolean isEnabled() {
+        return config.getResponseCache().isEnabled();
+    }
+
+    /**
+     * Writes the customer's rewards straight to the response, serialising and compressing
+     * only when the cached bytes are missing or stale. Answers 304 when the client's ETag matches.
+     *
+     * @param customerId customer ID
+     * @param rewardsVersion rewards version the entity tag was built from
+     * @param eTag current entity tag for the customer
+     * @param webRequest current request and response
+     */
+    public void writeCustomerRewards(Long customerId, Long rewardsVersion, String eTag, ServletWebRequest webRequest) {
+        boolean gzip = config.getResponseCache().isGzip() && acceptsGzip(webRequest.getRequest());
+        String representationETag = gzip ? gzipETag(eTag) : eTag;
+        HttpServletResponse response = webRequest.getResponse();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (webRequest.checkNotModified(representationETag)) {
+            return;
+        }
+
+        CachedResponse cached = responses.get(customerId);
+        if (cached == null || !cached.eTag().equals(eTag)) {
+            cached = serialise(customerId, rewardsVersion, eTag);
+            responses.put(customerId, cached);
+        }
+
+        byte[] body = gzip ? cached.gzipped() : cached.json();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try {
+            response.getOutputStream().write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Re-serialises a customer's cached response for a new ETag.
+     * Customers without a cached response are left alone.
+     *
+     * @param customerId customer ID
+     * @param rewardsVersion rewards version the entity tag was built from
+     * @param eTag current entity tag for the customer
+     */
+    public void refresh(Long customerId, Long rewardsVersion, String eTag) {
+        if (responses.containsKey(customerId)) {
+            responses.put(customerId, serialise(customerId, rewardsVersion, eTag));
+        }
+    }
+
+    /**Drops all cached responses.*/
+    public void clear() {
+        responses.clear();
+    }
+
+    private CachedResponse serialise(Long customerId, Long rewardsVersion, String eTag) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(rewardsService.getRewardsForCustomer(customerId, rewardsVersion));
+            byte[] gzipped = null;
+            if (config.getResponseCache().isGzip()) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length);
+                try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                    out.write(json);
+                }
+                gzipped = buffer.toByteArray();
+            }
+            return new CachedResponse(eTag, json, gzipped);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Tells whether the client accepts gzip: gzip (or x-gzip) listed with a non-zero q-value, or,
+     * when it is not listed, a non-zero {@code *}. Codings with a malformed q-value are ignored.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                Double quality = quality(parts);
+                if (quality == null) {
+                    continue;
+                }
+                if (name.equals("gzip") || name.equals("x-gzip")) {
+                    gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+                } else if (name.equals("*")) {
+                    anyQuality = quality;
+                }
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private static Double quality(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String parameter = codingParts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2));
+                    return quality >= 0 && quality <= 1 ? quality : null;
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    private record CachedResponse(String eTag, byte[] json, byte[] gzipped) {
+    }
+}
@@ -0,0 +1,385 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerProgramDto;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.dto.TransactionDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.CustomerSummary;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import com.charter.retail.rewards.repository.TransactionAmount;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.AmountConverter;
+import com.charter.retail.rewards.util.MonthlyPointsAccumulator;
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for managing customer rewards and transactions.
+ * Handles business logic for reward calculations and transaction processing.
+ * Concurrent reads of the same customer's rewards are coalesced into one computation.
+ * New transactions and program changes record their points in the rewards outbox in the same database transaction.
+ * Rewards are read through {@link CustomerSummary} projections, never through Customer entities,
+ * so the lazy transactions collection of a customer is not initialised on the read paths.
+ * A single customer's rewards are answered from the {@link RewardsSnapshotStore} when it holds them.
+ */
+@Service
+@RequiredArgsConstructor
+public class RewardsService implements MeterBinder {
+    
+    private final TransactionRepository transactionRepository;
+    private final CustomerRepository customerRepository;
+    private final RewardsCalculator rewardsCalculator;
+    private final RewardsConfig config;
+    private final RewardsVersionTracker versionTracker;
+    private final CustomerExistenceIndex customerIndex;
+    private final RewardsOutboxRepository outboxRepository;
+    private final RewardsSnapshotStore snapshotStore;
+    
+    private final Map<RewardsKey, CompletableFuture<CustomerRewardsDto>> inFlightReads = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedReads = new AtomicLong();
+
+    /**
+     *Retrieves reward points for a specific customer over the configured time period.
+     * Callers asking for the same customer, rewards version and window while a computation is in flight wait for it
+     * and receive the same result instead of querying again. The lookup runs without a surrounding
+     * transaction, so waiting callers hold no connection. Customers in the rewards snapshot are answered
+     * from it without a query.
+     * 
+     * @param customerId customer ID
+     * @return customer rewards, shared with coalesced callers and not to be modified
+     */
+    public CustomerRewardsDto getRewardsForCustomer(Long customerId) {
+        return getRewardsForCustomer(customerId, versionTracker.currentVersion(customerId));
+    }
+
+    /**
+     * Gets rewards for a specific customer for a response tagged with the given rewards version.
+     * The snapshot answers only when its entry was computed at that version.
+     *
+     * @param customerId customer ID
+     * @param rewardsVersion rewards version read for the response's entity tag, null when the customer was not found
+     * @return customer rewards, shared with coalesced callers and not to be modified
+     */
+    public CustomerRewardsDto getRewardsForCustomer(Long customerId, Long rewardsVersion) {
+        if (customerIndex.membership(customerId) == CustomerExistenceIndex.Membership.ABSENT) {
+            throw customerNotFound(customerId);
+        }
+        if (rewardsVersion != null) {
+            Optional<CustomerRewardsDto> snapshotRewards = snapshotStore.find(customerId, rewardsVersion);
+            if (snapshotRewards.isPresent()) {
+                return snapshotRewards.get();
+            }
+        }
+        
+        // Calculate date range for the last N months
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        RewardsKey key = new RewardsKey(customerId, rewardsVersion, startDate, endDate);
+        
+        CompletableFuture<CustomerRewardsDto> call = new CompletableFuture<>();
+        CompletableFuture<CustomerRewardsDto> inFlight = inFlightReads.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalescedReads.incrementAndGet();
+            return await(inFlight);
+        }
+        try {
+            CustomerRewardsDto rewards = computeRewardsForCustomer(customerId, startDate, endDate);
+            call.complete(rewards);
+            return rewards;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightReads.remove(key, call);
+        }
+    }
+    
+    private CustomerRewardsDto computeRewardsForCustomer(Long customerId, LocalDate startDate, LocalDate endDate) {
+        CustomerSummary customer = customerRepository.findSummaryById(customerId)
+                .orElseThrow(() -> customerNotFound(customerId));
+        
+        List<TransactionAmount> transactions = transactionRepository
+                .findAmountsByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate);
+        
+        return toRewards(customer, transactions, rewardsCalculator.evaluatorFor(customer.program()));
+    }
+    
+    /**
+     * Waits for an in-flight computation and rethrows its failure unwrapped.
+     */
+    private static CustomerRewardsDto await(CompletableFuture<CustomerRewardsDto> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+    
+    /**
+     * Gets reward points for all customers.
+     * Customers of a page are grouped by program; each group loads its transactions in one query
+     * and is scored with its program's evaluator.
+     * 
+     * @param pageable pagination parameters
+     * @return paginated customer rewards
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerRewardsDto> getRewardsForAllCustomers(Pageable pageable) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        
+        Page<CustomerSummary> customerPage = customerRepository.findSummaries(pageable);
+        Map<String, List<CustomerSummary>> customersByProgram = customerPage.getContent().stream()
+                .collect(Collectors.groupingBy(CustomerSummary::program, LinkedHashMap::new, Collectors.toList()));
+        
+        Map<Long, CustomerRewardsDto> rewardsById = new HashMap<>();
+        customersByProgram.forEach((program, customers) -> {
+            RewardRuleTable evaluator = rewardsCalculator.evaluatorFor(program);
+            List<Long> customerIds = customers.stream().map(CustomerSummary::id).toList();
+            Map<Long, List<TransactionAmount>> transactionsById = transactionRepository
+                    .findAmountsByCustomerIdInAndTransactionDateBetween(customerIds, startDate, endDate).stream()
+                    .collect(Collectors.groupingBy(TransactionAmount::customerId));
+            for (CustomerSummary customer : customers) {
+                rewardsById.put(customer.id(), toRewards(customer,
+                        transactionsById.getOrDefault(customer.id(), List.of()), evaluator));
+            }
+        });
+        
+        List<CustomerRewardsDto> rewardsList = customerPage.getContent().stream()
+                .map(customer -> rewardsById.get(customer.id()))
+                .collect(Collectors.toList());
+        
+        return new PageImpl<>(rewardsList, pageable, customerPage.getTotalElements());
+    }
+    
+    /**
+     * Gets reward points for a list of customers with two set-based queries.
+     * Customers are loaded with one query and the transactions of all of them with another;
+     * the transactions are then scored in a single pass. Duplicate IDs are returned once.
+     * 
+     * @param customerIds customer IDs
+     * @return rewards in request order, and the IDs of customers that do not exist
+     */
+    @Transactional(readOnly = true)
+    public CustomerLookupResultDto lookupRewards(List<Long> customerIds) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        
+        List<Long> requestedIds = customerIds.stream().distinct().toList();
+        Map<Long, CustomerSummary> customersById = requestedIds.isEmpty() ? Map.of()
+                : customerRepository.findSummariesByIdIn(requestedIds).stream()
+                        .collect(Collectors.toMap(CustomerSummary::id, Function.identity()));
+        
+        // Using Locale.ROOT for consistent internal date formatting across all locales
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT);
+        Map<Long, MonthlyPointsAccumulator> pointsById = new HashMap<>();
+        customersById.values().forEach(customer -> pointsById.put(customer.id(),
+                new MonthlyPointsAccumulator(rewardsCalculator.evaluatorFor(customer.program()), monthFormatter)));
+        if (!pointsById.isEmpty()) {
+            for (TransactionAmount transaction : transactionRepository
+                    .findAmountsByCustomerIdInAndTransactionDateBetween(pointsById.keySet(), startDate, endDate)) {
+                pointsById.get(transaction.customerId()).add(transaction.amountCents(), transaction.transactionDate());
+            }
+        }
+        
+        List<CustomerRewardsDto> rewards = new ArrayList<>(customersById.size());
+        List<Long> missingCustomerIds = new ArrayList<>();
+        for (Long customerId : requestedIds) {
+            CustomerSummary customer = customersById.get(customerId);
+            if (customer == null) {
+                missingCustomerIds.add(customerId);
+            } else {
+                MonthlyPointsAccumulator points = pointsById.get(customerId);
+                rewards.add(new CustomerRewardsDto(customerId, customer.name(),
+                        points.getMonthlyPoints(), points.getTotalPoints()));
+            }
+        }
+        return new CustomerLookupResultDto(rewards, missingCustomerIds);
+    }
+    
+    /**
+     * Assigns a customer to a loyalty program.
+     * 
+     * @param customerId customer ID
+     * @param program loyalty program
+     * @return customer program assignment
+     */
+    @Transactional
+    public CustomerProgramDto assignProgram(Long customerId, String program) {
+        if (!rewardsCalculator.hasProgram(program)) {
+            throw new ResourceNotFoundException("Reward program not found: " + program);
+        }
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> customerNotFound(customerId));
+        String previousProgram = customer.getProgram();
+        customer.setProgram(program);
+        customerRepository.save(customer);
+        recordProgramChange(customerId, previousProgram, program);
+        versionTracker.advance(customerId);
+        snapshotStore.invalidate(customerId);
+        return new CustomerProgramDto(customerId, program);
+    }
+    
+    /**
+     * Creates a new transaction.
+     * 
+     * @param transactionDto transaction data
+     * @return created transaction
+     */
+    @Transactional
+    public TransactionDto createTransaction(TransactionDto transactionDto) {
+        Customer customer = resolveCustomerForWrite(transactionDto.getCustomerId());
+        
+        Transaction transaction = new Transaction();
+        transaction.setCustomer(customer);
+        transaction.setAmountCents(AmountConverter.toCents(transactionDto.getAmount()));
+        transaction.setTransactionDate(transactionDto.getTransactionDate());
+        
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        recordPointsChange(customer, savedTransaction);
+        versionTracker.advance(customer.getId());
+        snapshotStore.invalidate(customer.getId());
+        
+        return new TransactionDto(
+                savedTransaction.getId(),
+                savedTransaction.getCustomerId(),
+                AmountConverter.fromCents(savedTransaction.getAmountCents()),
+                savedTransaction.getTransactionDate()
+        );
+    }
+    
+    /**
+     * Records the points a new transaction earns in the outbox, within the caller's transaction.
+     * Transactions that earn no points change nothing downstream and are not recorded.
+     */
+    private void recordPointsChange(Customer customer, Transaction transaction) {
+        int points = rewardsCalculator.calculatePoints(customer.getProgram(), transaction.getAmountCents(),
+                transaction.getTransactionDate());
+        if (points != 0) {
+            outboxRepository.save(new RewardsOutboxEvent(null, customer.getId(), transaction.getId(),
+                    transaction.getTransactionDate().withDayOfMonth(1), points, Instant.now()));
+        }
+    }
+    
+    /**
+     * Records the points a program change adds or removes in each month of the calculation window in the outbox,
+     * within the caller's transaction, so other instances and consumers learn of the change.
+     * Months whose points stay the same are not recorded.
+     */
+    private void recordProgramChange(Long customerId, String previousProgram, String program) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        Map<LocalDate, Integer> deltas = new TreeMap<>();
+        for (TransactionAmount transaction : transactionRepository
+                .findAmountsByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate)) {
+            LocalDate date = transaction.transactionDate();
+            int delta = rewardsCalculator.calculatePoints(program, transaction.amountCents(), date)
+                    - rewardsCalculator.calculatePoints(previousProgram, transaction.amountCents(), date);
+            deltas.merge(date.withDayOfMonth(1), delta, Integer::sum);
+        }
+        Instant now = Instant.now();
+        deltas.forEach((month, delta) -> {
+            if (delta != 0) {
+                outboxRepository.save(new RewardsOutboxEvent(null, customerId, null, month, delta, now));
+            }
+        });
+    }
+    
+    /**
+     * Resolves the customer a new transaction belongs to.
+     * When the existence index knows the customer, a reference is used instead of loading the row.
+     * Otherwise the row is loaded: a write is never rejected on the index alone, and a customer
+     * found this way is added to it.
+     *
+     * @param customerId customer ID
+     * @return managed customer or customer reference
+     */
+    private Customer resolveCustomerForWrite(Long customerId) {
+        if (customerIndex.membership(customerId) == CustomerExistenceIndex.Membership.PRESENT) {
+            return customerRepository.getReferenceById(customerId);
+        }
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> customerNotFound(customerId));
+        customerIndex.add(customerId);
+        return customer;
+    }
+    
+    /**
+     * Publishes the number of reads that were served by another caller's computation.
+     *
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("rewards.reads.coalesced", coalescedReads, AtomicLong::get)
+                .description("Customer rewards reads served by an in-flight computation")
+                .register(registry);
+    }
+    
+    private static ResourceNotFoundException customerNotFound(Long customerId) {
+        return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+    }
+    
+    /**
+     * Calculates monthly and total points from transactions.
+     * 
+     * @param customer customer summary
+     * @param transactions list of transaction amounts
+     * @param evaluator compiled rules of the customer's program
+     * @return customer rewards
+     */
+    private CustomerRewardsDto toRewards(CustomerSummary customer, List<TransactionAmount> transactions, RewardRuleTable evaluator) {
+        // Using Locale.ROOT for consistent internal date formatting across all locales
+        MonthlyPointsAccumulator points = new MonthlyPointsAccumulator(evaluator,
+                DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT));
+        for (TransactionAmount transaction : transactions) {
+            points.add(transaction.amountCents(), transaction.transactionDate());
+        }
+        return new CustomerRewardsDto(customer.id(), customer.name(), points.getMonthlyPoints(), points.getTotalPoints());
+    }
+    
+    /**
+     * Identifies a customer rewards computation: the customer, the rewards version read before it started
+     * and its calculation window. A read that sees a newer version never joins a computation started before it.
+     */
+    private record RewardsKey(Long customerId, Long rewardsVersion, LocalDate startDate, LocalDate endDate) {
+    }
+}
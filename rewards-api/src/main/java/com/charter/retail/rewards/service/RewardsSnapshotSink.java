@@ -0,0 +1,38 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Invalidates the snapshot entries of customers whose points changed, including through other instances.
+ * Every instance holds its own snapshot, so the sink keeps a checkpoint per instance.
+ * Ordered first, so the sinks relayed after it read the changed customers' rewards from the database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "rewards.snapshot", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RewardsSnapshotSink implements RewardsEventSink {
+
+    private final RewardsSnapshotStore snapshotStore;
+
+    @Override
+    public String name() {
+        return "rewards-snapshot";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void publish(List<RewardsEventDto> events) {
+        events.forEach(event -> snapshotStore.invalidate(event.getCustomerId()));
+    }
+}
@@ -0,0 +1,396 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import com.charter.retail.rewards.util.RewardsSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves customer rewards from a memory-mapped snapshot of precomputed points, so a restarted instance
+ * answers without recomputing from the transactions table.
+ * <p>
+ * A snapshot holds the points of every customer per month of the calculation window and the highest
+ * transaction ID it includes. It is rebuilt on a schedule, in customer ID batches. When the application is
+ * ready, the last snapshot file is mapped and only the transactions after its high-water mark are replayed
+ * on the heap. A snapshot is used only on the day its window was computed for and only with the reward rules
+ * it was computed with; otherwise rewards are computed as before until the next rebuild.
+ * <p>
+ * Every entry carries the customer's rewards version, and a customer is answered only when the response is tagged
+ * with that version. Customers whose rewards change are invalidated before and again after commit, and computed from
+ * the database until a rebuild that started after the commit. Changes made by other instances are learnt from the rewards outbox through
+ * {@link RewardsSnapshotSink}.
+ */
+@Slf4j
+@Service
+public class RewardsSnapshotStore implements MeterBinder {
+
+    /**Replayed version of a customer whose program changed since the snapshot; matches no tag.*/
+    private static final long UNSERVABLE_VERSION = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RewardsCalculator rewardsCalculator;
+    private final RewardsConfig config;
+    private final RewardsConfig.Snapshot settings;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rewards-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Long> invalidated = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private volatile Active active;
+
+    public RewardsSnapshotStore(JdbcTemplate jdbcTemplate, RewardsCalculator rewardsCalculator, RewardsConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rewardsCalculator = rewardsCalculator;
+        this.config = config;
+        this.settings = config.getSnapshot();
+    }
+
+    /**
+     * Looks up a customer's rewards in the snapshot.
+     *
+     * @param customerId customer ID
+     * @param rewardsVersion rewards version the response is tagged with
+     * @return rewards for today's window, empty when the snapshot cannot answer for the customer at that version
+     */
+    public Optional<CustomerRewardsDto> find(Long customerId, long rewardsVersion) {
+        Active current = active;
+        if (current == null || invalidated.containsKey(customerId)
+                || current.snapshot.windowEnd().toEpochDay() != LocalDate.now().toEpochDay()
+                || current.ruleTables != rewardsCalculator.getRuleTables()) {
+            return Optional.empty();
+        }
+        RewardsSnapshot snapshot = current.snapshot;
+        int index = snapshot.indexOf(customerId);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        Long replayedVersion = current.replayedVersions.get(customerId);
+        if ((replayedVersion != null ? replayedVersion : snapshot.rewardsVersion(index)) != rewardsVersion) {
+            return Optional.empty();
+        }
+
+        int[] replayed = current.replayed.get(customerId);
+        Map<String, Integer> monthlyPoints = new TreeMap<>();
+        int totalPoints = 0;
+        for (int month = 0; month < snapshot.monthCount(); month++) {
+            int points = snapshot.points(index, month);
+            int replayedPoints = replayed == null ? RewardsSnapshot.NO_TRANSACTIONS : replayed[month];
+            if (points == RewardsSnapshot.NO_TRANSACTIONS && replayedPoints == RewardsSnapshot.NO_TRANSACTIONS) {
+                continue;
+            }
+            points = Math.max(points, 0) + Math.max(replayedPoints, 0);
+            monthlyPoints.merge(snapshot.firstMonth().plusMonths(month).atDay(1).format(current.monthFormatter),
+                    points, Integer::sum);
+            totalPoints += points;
+        }
+        hits.incrementAndGet();
+        return Optional.of(new CustomerRewardsDto(customerId, snapshot.customerName(index),
+                Collections.unmodifiableMap(monthlyPoints), totalPoints));
+    }
+
+    /**
+     * Stops serving a customer from the snapshot until a rebuild that starts after the caller's transaction
+     * commits. The customer is marked at once as well: the new rewards version becomes visible at commit, and
+     * a response built from the old snapshot entry must not be tagged with it.
+     *
+     * @param customerId customer whose rewards changed
+     */
+    public void invalidate(Long customerId) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Runnable mark = () -> invalidated.put(customerId, invalidationSequence.incrementAndGet());
+        mark.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Marked again so that a rebuild started before the commit does not clear the mark
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mark.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Maps the last snapshot file once the application is ready and replays the transactions after it.
+     * Without a usable file, a new snapshot is built in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Path path = Path.of(settings.getPath());
+        if (Files.exists(path)) {
+            try {
+                activate(RewardsSnapshot.map(path), rewardsCalculator.getRuleTables(), invalidationSequence.get());
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Could not load rewards snapshot {}", path, ex);
+            }
+        }
+        if (active == null) {
+            builder.execute(this::snapshot);
+        }
+    }
+
+    /**Rebuilds the snapshot on schedule.*/
+    @Scheduled(fixedDelayString = "${rewards.snapshot.interval-ms:600000}",
+            initialDelayString = "${rewards.snapshot.interval-ms:600000}")
+    public void refresh() {
+        if (settings.isEnabled()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Computes the current-window points of all customers, writes them to the snapshot file and serves from it.
+     * Returns immediately when a rebuild is already in progress.
+     *
+     * @return true if a snapshot was written
+     */
+    public boolean snapshot() {
+        if (!building.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long startedSequence = invalidationSequence.get();
+            Map<String, RewardRuleTable> ruleTables = rewardsCalculator.getRuleTables();
+            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+            YearMonth firstMonth = YearMonth.from(startDate);
+            int monthCount = config.getCalculationMonths() + 1;
+            long highWater = settledHighWater();
+            Path path = Path.of(settings.getPath());
+
+            long started = System.nanoTime();
+            int customers;
+            try (RewardsSnapshot.Writer writer = RewardsSnapshot.writer(path, endDate, firstMonth, monthCount,
+                    highWater, fingerprint(ruleTables))) {
+                writeCustomers(writer, ruleTables, startDate, endDate, firstMonth, monthCount, highWater);
+                writer.commit();
+                customers = writer.customerCount();
+            }
+            activate(RewardsSnapshot.map(path), ruleTables, startedSequence);
+            log.info("Wrote rewards snapshot of {} customers up to transaction {} in {} ms",
+                    customers, highWater, (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.error("Rewards snapshot failed", ex);
+            return false;
+        } finally {
+            building.set(false);
+        }
+    }
+
+    /**
+     * Finds the highest transaction ID below which no ID is missing among the last {@code in-flight-window} IDs.
+     * IDs are taken before commit, so a missing ID may belong to a transaction that commits after the snapshot;
+     * keeping the high-water mark below it makes the replay on load pick that transaction up.
+     */
+    private long settledHighWater() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        long[] expected = {Math.max(0, maxId - settings.getInFlightWindow()) + 1};
+        long[] lowestMissing = {Long.MAX_VALUE};
+        jdbcTemplate.query("SELECT id FROM transactions WHERE id >= ? AND id <= ? ORDER BY id", rs -> {
+            long id = rs.getLong(1);
+            if (id != expected[0] && lowestMissing[0] == Long.MAX_VALUE) {
+                lowestMissing[0] = expected[0];
+            }
+            expected[0] = id + 1;
+        }, expected[0], maxId);
+        return lowestMissing[0] == Long.MAX_VALUE ? maxId : lowestMissing[0] - 1;
+    }
+
+    /**
+     * Writes customers in ID batches: one query for a batch of customers, one for their transactions.
+     */
+    private void writeCustomers(RewardsSnapshot.Writer writer, Map<String, RewardRuleTable> ruleTables,
+                                LocalDate startDate, LocalDate endDate, YearMonth firstMonth, int monthCount,
+                                long highWater) throws IOException {
+        int batchSize = settings.getBatchSize();
+        long lastCustomerId = 0;
+        List<VersionedCustomer> batch;
+        do {
+            batch = jdbcTemplate.query("SELECT id, name, program, rewards_version FROM customers "
+                            + "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, row) -> new VersionedCustomer(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)),
+                    lastCustomerId, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            Map<Long, String> programs = new HashMap<>();
+            batch.forEach(customer -> programs.put(customer.id(), customer.program()));
+            Map<Long, int[]> pointsById = new HashMap<>();
+            jdbcTemplate.query("SELECT customer_id, amount_cents, transaction_date FROM transactions "
+                            + "WHERE customer_id BETWEEN ? AND ? AND id <= ? AND transaction_date BETWEEN ? AND ?",
+                    rs -> {
+                        long customerId = rs.getLong(1);
+                        if (programs.containsKey(customerId)) {
+                            addPoints(pointsById, customerId, evaluator(ruleTables, programs.get(customerId)),
+                                    rs.getLong(2),
+                                    rs.getDate(3).toLocalDate(), firstMonth, monthCount);
+                        }
+                    },
+                    batch.get(0).id(), batch.get(batch.size() - 1).id(), highWater, startDate, endDate);
+            for (VersionedCustomer customer : batch) {
+                writer.add(customer.id(), customer.name(), customer.program(), customer.rewardsVersion(),
+                        pointsById.getOrDefault(customer.id(), noTransactions(monthCount)));
+            }
+            lastCustomerId = batch.get(batch.size() - 1).id();
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Replays the transactions after the snapshot's high-water mark and starts serving from it,
+     * provided it was computed for today's window and the current rules.
+     */
+    private void activate(RewardsSnapshot snapshot, Map<String, RewardRuleTable> ruleTables, long startedSequence) {
+        LocalDate today = LocalDate.now();
+        if (!snapshot.windowEnd().equals(today) || snapshot.monthCount() != config.getCalculationMonths() + 1
+                || snapshot.rulesFingerprint() != fingerprint(ruleTables)) {
+            log.info("Rewards snapshot of {} is stale and is not used", snapshot.windowEnd());
+            return;
+        }
+        LocalDate startDate = today.minusMonths(config.getCalculationMonths());
+        Map<Long, int[]> replayed = new HashMap<>();
+        Map<Long, Long> replayedVersions = new HashMap<>();
+        long[] count = new long[1];
+        jdbcTemplate.query("SELECT t.customer_id, t.amount_cents, t.transaction_date, c.rewards_version, c.program "
+                + "FROM transactions t JOIN customers c ON c.id = t.customer_id "
+                + "WHERE t.id > ? AND t.transaction_date BETWEEN ? AND ?", rs -> {
+            long customerId = rs.getLong(1);
+            int index = snapshot.indexOf(customerId);
+            if (index >= 0) {
+                addPoints(replayed, customerId, evaluator(ruleTables, snapshot.program(index)), rs.getLong(2),
+                        rs.getDate(3).toLocalDate(), snapshot.firstMonth(), snapshot.monthCount());
+                // Points replayed with the snapshot's program are wrong once the program changed
+                replayedVersions.put(customerId, Objects.equals(snapshot.program(index), rs.getString(5))
+                        ? rs.getLong(4) : UNSERVABLE_VERSION);
+                count[0]++;
+            }
+        }, snapshot.highWaterTransactionId(), startDate, today);
+
+        // Using Locale.ROOT for consistent internal date formatting across all locales
+        active = new Active(snapshot, replayed, replayedVersions, ruleTables,
+                DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT));
+        invalidated.values().removeIf(sequence -> sequence <= startedSequence);
+        log.info("Serving rewards of {} customers from snapshot up to transaction {}, replayed {} later transactions",
+                snapshot.customerCount(), snapshot.highWaterTransactionId(), count[0]);
+    }
+
+    private static void addPoints(Map<Long, int[]> pointsById, long customerId, RewardRuleTable evaluator,
+                                  long amountCents, LocalDate transactionDate, YearMonth firstMonth, int monthCount) {
+        int month = (int) firstMonth.until(YearMonth.from(transactionDate), ChronoUnit.MONTHS);
+        int[] points = pointsById.computeIfAbsent(customerId, id -> noTransactions(monthCount));
+        points[month] = Math.max(points[month], 0) + evaluator.rulesFor(transactionDate).calculatePoints(amountCents);
+    }
+
+    private static RewardRuleTable evaluator(Map<String, RewardRuleTable> ruleTables, String program) {
+        RewardRuleTable table = program == null ? null : ruleTables.get(program);
+        return table != null ? table : ruleTables.get(RewardsCalculator.DEFAULT_PROGRAM);
+    }
+
+    private static int[] noTransactions(int monthCount) {
+        int[] points = new int[monthCount];
+        Arrays.fill(points, RewardsSnapshot.NO_TRANSACTIONS);
+        return points;
+    }
+
+    /**
+     * Fingerprints the installed rule versions of all programs, so a snapshot written with other rules
+     * or other configured tiers is not used.
+     */
+    static long fingerprint(Map<String, RewardRuleTable> ruleTables) {
+        long hash = 17;
+        for (RewardRuleTable table : ruleTables.values().stream()
+                .sorted(Comparator.comparing(table -> table.versions().get(0).program()))
+                .toList()) {
+            for (RewardRules rules : table.versions()) {
+                hash = 31 * hash + rules.program().hashCode();
+                hash = 31 * hash + rules.version();
+                hash = 31 * hash + rules.effectiveFrom().toEpochDay();
+                hash = 31 * hash + rules.tierOneCents();
+                hash = 31 * hash + rules.tierTwoCents();
+                hash = 31 * hash + rules.tierOneMultiplier();
+                hash = 31 * hash + rules.tierTwoMultiplier();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Publishes the customers in the active snapshot and the reads it answered.
+     *
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rewards.snapshot.customers", this,
+                        store -> store.active == null ? 0 : store.active.snapshot.customerCount())
+                .description("Customers in the active rewards snapshot")
+                .register(registry);
+        FunctionCounter.builder("rewards.snapshot.hits", hits, AtomicLong::get)
+                .description("Customer rewards reads answered from the snapshot")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Snapshot being served, with the points replayed on top of it, the rewards versions they were replayed at
+     * and the rules it is valid for.
+     */
+    private record Active(RewardsSnapshot snapshot, Map<Long, int[]> replayed, Map<Long, Long> replayedVersions,
+                          Map<String, RewardRuleTable> ruleTables, DateTimeFormatter monthFormatter) {
+    }
+
+    /**Customer row written to a snapshot, with the rewards version its points are computed at.*/
+    private record VersionedCustomer(long id, String name, String program, long rewardsVersion) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.CustomerVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+
+/**
+ * Produces HTTP validators for customer rewards without recomputing rewards.
+ * Tags are derived from the rewards version column of the customers table, so every instance
+ * hands out the same tag for the same state and a write on one instance is seen by all of them.
+ * The version is advanced in the database transaction that changes the rewards; the new tag
+ * therefore becomes visible together with the change, never before it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RewardsVersionTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Advances the rewards version of a customer.
+     * Joins the caller's transaction, so the new version commits or rolls back with the change.
+     *
+     * @param customerId customer whose rewards changed
+     */
+    public void advance(Long customerId) {
+        jdbcTemplate.update("UPDATE customers SET rewards_version = rewards_version + 1 WHERE id = ?", customerId);
+    }
+
+    /**
+     * Builds the strong entity tag for a single customer's rewards.
+     * The current date is part of the tag because the rewards window slides daily,
+     * which also covers the month boundary.
+     *
+     * @param customerId customer ID
+     * @return quoted entity tag
+     */
+    public String customerETag(Long customerId) {
+        return customerETagAt(currentVersion(customerId));
+    }
+
+    /**
+     * Builds the strong entity tag for a single customer's rewards at a version read earlier,
+     * so the tag and the body can be produced for the same version.
+     *
+     * @param version rewards version from {@link #currentVersion(Long)}, null when the customer does not exist
+     * @return quoted entity tag
+     */
+    public String customerETagAt(Long version) {
+        return "\"" + LocalDate.now().toEpochDay() + "-" + (version == null ? "none" : version) + "\"";
+    }
+
+    /**
+     * Reads the committed rewards version of a customer.
+     *
+     * @param customerId customer ID
+     * @return rewards version, null when the customer does not exist
+     */
+    public Long currentVersion(Long customerId) {
+        return jdbcTemplate.query("SELECT rewards_version FROM customers WHERE id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, customerId);
+    }
+
+    /**
+     * Builds the strong entity tag for one page of all customers' rewards.
+     * The tag covers the customers on the page, their rewards versions and the total number of customers.
+     * Versions only grow, so their sum changes whenever a customer on the page changes.
+     *
+     * @param pageable pagination and sorting parameters of the page
+     * @return quoted entity tag
+     */
+    public String pageETag(Pageable pageable) {
+        Page<CustomerVersion> page = customerRepository.findVersions(pageable);
+        long idsHash = 1;
+        long versionSum = 0;
+        for (CustomerVersion customer : page.getContent()) {
+            idsHash = 31 * idsHash + customer.id();
+            versionSum += customer.rewardsVersion();
+        }
+        return "\"" + LocalDate.now().toEpochDay() + "-p" + Long.toHexString(idsHash) + "-"
+                + page.getTotalElements() + "-" + versionSum + "\"";
+    }
+}
@@ -0,0 +1,102 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes rewards events to subscribers of the server-sent event stream.
+ * A subscriber that cannot keep up or has gone away is dropped without failing the batch for the others.
+ * Subscribers reconnect with the Last-Event-ID header and are first sent the retained outbox events after
+ * that ID, so a dropped connection loses nothing; events around the reconnect may arrive twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rewards.outbox.sse", name = "enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SseRewardsEventSink implements RewardsEventSink, MeterBinder {
+
+    /**SSE event name of points changes.*/
+    public static final String EVENT_NAME = "points";
+
+    private final RewardsOutboxRepository outboxRepository;
+    private final RewardsConfig config;
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    /**
+     * Subscribes to the event stream.
+     *
+     * @param lastEventId ID of the last event the subscriber received, or null for live events only
+     * @return emitter of the subscription
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(config.getOutbox().getSse().getTimeoutMs());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        // Registered before the replay, so an event relayed meanwhile is sent twice rather than missed
+        emitters.add(emitter);
+        if (lastEventId != null) {
+            DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT);
+            List<RewardsOutboxEvent> missed = outboxRepository.findEventsAfter(lastEventId,
+                    PageRequest.of(0, config.getOutbox().getSse().getReplayLimit()));
+            send(emitter, missed.stream().map(event -> RewardsEventDto.from(event, monthFormatter)).toList());
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<RewardsEventDto> events) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, events);
+        }
+    }
+
+    private void send(SseEmitter emitter, List<RewardsEventDto> events) {
+        try {
+            for (RewardsEventDto event : events) {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).name(EVENT_NAME)
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping rewards event subscriber: {}", ex.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rewards.events.subscribers", emitters, Set::size)
+                .description("Open server-sent event subscriptions")
+                .register(registry);
+    }
+}
@@ -0,0 +1,144 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.MonthlyPointsAccumulator;
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the request path before the application reports readiness.
+ * Spring Boot only publishes the ACCEPTING_TRAFFIC readiness state after all application runners have
+ * finished, so the readiness probe keeps failing while this runs. Each round scores and aggregates
+ * synthetic transactions for every program, runs the read-only customer and transaction queries for IDs
+ * that cannot exist, and serialises the results to JSON. Rounds repeat until the JIT compiler has been
+ * idle for a few consecutive rounds, or until the time budget is spent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup implements ApplicationRunner, MeterBinder {
+
+    /**Synthetic customer IDs; identity columns start at 1, so the queries return nothing.*/
+    private static final List<Long> SYNTHETIC_CUSTOMER_IDS = List.of(-3L, -2L, -1L);
+
+    private final RewardsCalculator rewardsCalculator;
+    private final CustomerRepository customerRepository;
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final RewardsConfig config;
+
+    private volatile long durationMs;
+    private volatile int rounds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RewardsConfig.Warmup settings = config.getWarmup();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean compileTimeAvailable = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(settings.getMaxDurationMs());
+        long lastCompileTime = compileTimeAvailable ? compiler.getTotalCompilationTime() : 0;
+        int quietRounds = 0;
+        int round = 0;
+        long checksum = 0;
+        while (System.nanoTime() < deadline) {
+            checksum += runRound(settings.getIterationsPerRound(), round++);
+            if (!compileTimeAvailable) {
+                quietRounds++;
+            } else {
+                long compileTime = compiler.getTotalCompilationTime();
+                quietRounds = compileTime - lastCompileTime <= settings.getSettleThresholdMs() ? quietRounds + 1 : 0;
+                lastCompileTime = compileTime;
+            }
+            if (round >= settings.getMinRounds() && quietRounds >= settings.getSettledRounds()) {
+                break;
+            }
+        }
+        rounds = round;
+        durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Warm-up finished after {} rounds in {} ms ({}, checksum {})", rounds, durationMs,
+                quietRounds >= settings.getSettledRounds() ? "compilation settled" : "time budget spent", checksum);
+    }
+
+    /**
+     * Runs one warm-up round.
+     *
+     * @return sum of the computed points, so the work cannot be optimised away
+     */
+    long runRound(int iterations, int round) {
+        SplittableRandom random = new SplittableRandom(round);
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT);
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        int windowDays = (int) Math.max(1, endDate.toEpochDay() - startDate.toEpochDay());
+        List<String> programs = new ArrayList<>(rewardsCalculator.getRuleTables().keySet());
+
+        long checksum = 0;
+        List<CustomerRewardsDto> rewards = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+            String program = programs.get(i % programs.size());
+            RewardRuleTable evaluator = rewardsCalculator.evaluatorFor(program);
+            MonthlyPointsAccumulator points = new MonthlyPointsAccumulator(evaluator, monthFormatter);
+            for (int t = 0; t < 8; t++) {
+                long amountCents = random.nextLong(30_000);
+                LocalDate date = startDate.plusDays(random.nextInt(windowDays));
+                checksum += rewardsCalculator.calculatePoints(program, amountCents, date);
+                points.add(amountCents, date);
+            }
+            rewards.add(new CustomerRewardsDto(-1L - i, "Warm-up", points.getMonthlyPoints(), points.getTotalPoints()));
+        }
+
+        // A few queries per round are enough; they mostly warm Hibernate's query plans and the driver
+        customerRepository.findSummaryById(SYNTHETIC_CUSTOMER_IDS.get(0));
+        customerRepository.findSummariesByIdIn(SYNTHETIC_CUSTOMER_IDS);
+        transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(
+                SYNTHETIC_CUSTOMER_IDS.get(0), startDate, endDate);
+        transactionRepository.findAmountsByCustomerIdInAndTransactionDateBetween(
+                SYNTHETIC_CUSTOMER_IDS, startDate, endDate);
+
+        try {
+            for (CustomerRewardsDto dto : rewards) {
+                checksum += objectMapper.writeValueAsBytes(dto).length;
+            }
+            checksum += objectMapper.writeValueAsBytes(
+                    new CustomerLookupResultDto(rewards, SYNTHETIC_CUSTOMER_IDS)).length;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Warm-up serialisation failed", ex);
+        }
+        return checksum;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("rewards.warmup.duration", this, TimeUnit.MILLISECONDS, warmup -> warmup.durationMs)
+                .description("Time spent warming up the request path before readiness")
+                .register(registry);
+        registry.gauge("rewards.warmup.rounds", this, warmup -> warmup.rounds);
+    }
+}
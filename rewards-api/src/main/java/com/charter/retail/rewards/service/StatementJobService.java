@@ -0,0 +1,294 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.entity.StatementPartition;
+import com.charter.retail.rewards.util.MonthlyPointsAccumulator;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates month-end points statements for every customer.
+ * The customer ID space is split into ranges that are processed by parallel workers. Each worker reads
+ * a chunk of customers and all of their window transactions with one range query, scores them, and
+ * writes the statement rows and its partition checkpoint in one transaction. A run that stops part-way
+ * resumes after the last committed chunk of every partition the next time the job fires.
+ * <p>
+ * The job fires on every instance. A worker claims a partition with a conditional update that hands it a lease;
+ * partitions that are running under another owner's lease are skipped. Each chunk renews the lease and commits only
+ * while the worker still owns the partition at the checkpoint it started from, so a partition whose owner crashed
+ * is taken over once its lease expires, and no chunk is written or counted twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementJobService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RewardsCalculator rewardsCalculator;
+    private final RewardsConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Generates the statements of the previous month unless they are complete.
+     * Fires regularly rather than once a month, so an interrupted run is picked up again.
+     */
+    @Scheduled(cron = "${rewards.statements.cron:0 0 * * * *}")
+    public void generateDueStatements() {
+        if (config.getStatements().isEnabled()) {
+            generate(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    /**
+     * Generates, or resumes generating, the statements of a month.
+     * Returns immediately when a run is already in progress in this instance.
+     *
+     * @param month statement month
+     * @return number of statements written by this call
+     */
+    public long generate(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Statements for {}: a run is already in progress", month);
+            return 0;
+        }
+        try {
+            LocalDate statementMonth = month.atDay(1);
+            planPartitions(statementMonth);
+            List<StatementPartition> pending = jdbcTemplate.query("SELECT id, partition_index, range_start, range_end "
+                    + "FROM statement_partitions WHERE statement_month = ? AND status <> ? "
+                    + "ORDER BY partition_index", (rs, rowNum) -> {
+                        StatementPartition partition = new StatementPartition();
+                        partition.setId(rs.getLong("id"));
+                        partition.setPartitionIndex(rs.getInt("partition_index"));
+                        partition.setRangeStart(rs.getLong("range_start"));
+                        partition.setRangeEnd(rs.getLong("range_end"));
+                        return partition;
+                    }, Date.valueOf(statementMonth), StatementPartition.Status.COMPLETED.name());
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            return runPartitions(month, pending);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Splits the customer ID space into ranges the first time a month is generated.
+     * The last range is open-ended so customers created during the run are included.
+     * When another instance plans the month at the same time, its plan is used.
+     */
+    private void planPartitions(LocalDate statementMonth) {
+        Integer planned = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM statement_partitions WHERE statement_month = ?",
+                Integer.class, Date.valueOf(statementMonth));
+        if (planned != null && planned > 0) {
+            return;
+        }
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM customers");
+        if (bounds.get("min_id") == null) {
+            return;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        int partitions = (int) Math.max(1, Math.min(config.getStatements().getPartitions(), maxId - minId + 1));
+        long rangeSize = (maxId - minId + partitions) / partitions;
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int index = 0; index < partitions; index++) {
+            long rangeStart = minId + index * rangeSize;
+            long rangeEnd = index == partitions - 1 ? Long.MAX_VALUE : rangeStart + rangeSize - 1;
+            rows.add(new Object[] {Date.valueOf(statementMonth), index, rangeStart, rangeEnd, rangeStart - 1,
+                    StatementPartition.Status.PENDING.name(), now});
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("INSERT INTO statement_partitions "
+                    + "(statement_month, partition_index, range_start, range_end, last_customer_id, processed_customers, "
+                    + "status, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?)", rows));
+        } catch (DuplicateKeyException ex) {
+            log.info("Statements for {}: partitions planned by another instance", YearMonth.from(statementMonth));
+            return;
+        }
+        log.info("Statements for {}: planned {} partitions over customer IDs {}..{}",
+                YearMonth.from(statementMonth), partitions, minId, maxId);
+    }
+
+    private long runPartitions(YearMonth month, List<StatementPartition> pending) {
+        int workers = Math.min(config.getStatements().getWorkers(), pending.size());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+                runnable -> new Thread(runnable, "statement-worker-" + threadNumber.incrementAndGet()));
+        AtomicLong written = new AtomicLong();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (StatementPartition partition : pending) {
+                futures.add(executor.submit(() -> {
+                    String owner = UUID.randomUUID().toString();
+                    if (!claim(partition, owner)) {
+                        log.debug("Statements for {}: partition {} is running elsewhere", month,
+                                partition.getPartitionIndex());
+                        return;
+                    }
+                    try {
+                        written.addAndGet(processPartition(month, partition, owner));
+                    } catch (LeaseLostException ex) {
+                        log.warn("Statements for {}: partition {} was taken over after customer {}", month,
+                                partition.getPartitionIndex(), partition.getLastCustomerId());
+                    } catch (RuntimeException ex) {
+                        markPartition(partition.getId(), owner, StatementPartition.Status.FAILED);
+                        log.error("Statements for {}: partition {} failed after customer {}", month,
+                                partition.getPartitionIndex(), partition.getLastCustomerId(), ex);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            log.error("Statements for {}: worker failed", month, ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Statements for {}: wrote {} statements in {} partitions", month, written.get(), pending.size());
+        return written.get();
+    }
+
+    /**
+     * Takes a partition for this worker unless another worker holds an unexpired lease on it,
+     * and loads its checkpoint.
+     *
+     * @return true when the partition was claimed
+     */
+    private boolean claim(StatementPartition partition, String owner) {
+        Instant now = Instant.now();
+        int claimed = jdbcTemplate.update("UPDATE statement_partitions SET status = ?, owner = ?, lease_until = ?, "
+                + "updated_at = ? WHERE id = ? AND (status IN (?, ?) OR (status = ? AND (lease_until IS NULL "
+                + "OR lease_until < ?)))", StatementPartition.Status.RUNNING.name(), owner, leaseUntil(now),
+                Timestamp.from(now), partition.getId(), StatementPartition.Status.PENDING.name(),
+                StatementPartition.Status.FAILED.name(), StatementPartition.Status.RUNNING.name(), Timestamp.from(now));
+        if (claimed == 0) {
+            return false;
+        }
+        partition.setLastCustomerId(jdbcTemplate.queryForObject("SELECT last_customer_id FROM statement_partitions "
+                + "WHERE id = ?", Long.class, partition.getId()));
+        return true;
+    }
+
+    /**
+     * Processes one claimed partition from its checkpoint to the end of its range, one chunk per transaction.
+     *
+     * @param month statement month
+     * @param partition partition with its checkpoint
+     * @param owner token the partition was claimed with
+     * @return number of statements written
+     * @throws LeaseLostException when another worker took the partition over; the current chunk is rolled back
+     */
+    long processPartition(YearMonth month, StatementPartition partition, String owner) {
+        LocalDate monthEnd = month.atEndOfMonth();
+        LocalDate windowStart = monthEnd.minusMonths(config.getCalculationMonths());
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT);
+        String monthKey = monthEnd.format(monthFormatter);
+        int chunkSize = config.getStatements().getChunkSize();
+        long written = 0;
+        List<Map<String, Object>> customers;
+        do {
+            customers = jdbcTemplate.queryForList("SELECT id, program FROM customers WHERE id > ? AND id <= ? "
+                    + "ORDER BY id LIMIT ?", partition.getLastCustomerId(), partition.getRangeEnd(), chunkSize);
+            if (customers.isEmpty()) {
+                break;
+            }
+            long firstId = ((Number) customers.get(0).get("id")).longValue();
+            long lastId = ((Number) customers.get(customers.size() - 1).get("id")).longValue();
+
+            Map<Long, MonthlyPointsAccumulator> points = new HashMap<>();
+            for (Map<String, Object> customer : customers) {
+                points.put(((Number) customer.get("id")).longValue(), new MonthlyPointsAccumulator(
+                        rewardsCalculator.evaluatorFor((String) customer.get("program")), monthFormatter));
+            }
+            jdbcTemplate.query("SELECT customer_id, amount_cents, transaction_date FROM transactions "
+                    + "WHERE customer_id BETWEEN ? AND ? AND transaction_date BETWEEN ? AND ?", rs -> {
+                        MonthlyPointsAccumulator accumulator = points.get(rs.getLong(1));
+                        if (accumulator != null) {
+                            accumulator.add(rs.getLong(2), rs.getDate(3).toLocalDate());
+                        }
+                    }, firstId, lastId, Date.valueOf(windowStart), Date.valueOf(monthEnd));
+
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> rows = new ArrayList<>(customers.size());
+            for (Map<String, Object> customer : customers) {
+                MonthlyPointsAccumulator accumulator = points.get(((Number) customer.get("id")).longValue());
+                rows.add(new Object[] {customer.get("id"), Date.valueOf(month.atDay(1)), customer.get("program"),
+                        accumulator.getMonthlyPoints().getOrDefault(monthKey, 0), accumulator.getTotalPoints(), now});
+            }
+            long checkpoint = partition.getLastCustomerId();
+            transactionTemplate.executeWithoutResult(status -> {
+                // Locks the partition first, so a takeover waits for this chunk or this chunk sees the takeover
+                int owned = jdbcTemplate.update("UPDATE statement_partitions SET last_customer_id = ?, "
+                        + "processed_customers = processed_customers + ?, lease_until = ?, updated_at = ? "
+                        + "WHERE id = ? AND owner = ? AND last_customer_id = ?",
+                        lastId, rows.size(), leaseUntil(now.toInstant()), now, partition.getId(), owner, checkpoint);
+                if (owned == 0) {
+                    throw new LeaseLostException();
+                }
+                // Keeps the chunk idempotent when a checkpoint is reset by hand and the range is generated again
+                jdbcTemplate.update("DELETE FROM points_statements WHERE statement_month = ? AND customer_id BETWEEN ? AND ?",
+                        Date.valueOf(month.atDay(1)), firstId, lastId);
+                jdbcTemplate.batchUpdate("INSERT INTO points_statements (customer_id, statement_month, program, "
+                        + "month_points, window_points, generated_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+            });
+            partition.setLastCustomerId(lastId);
+            written += rows.size();
+        } while (customers.size() == chunkSize && !Thread.currentThread().isInterrupted());
+
+        if (!Thread.currentThread().isInterrupted()) {
+            markPartition(partition.getId(), owner, StatementPartition.Status.COMPLETED);
+        }
+        log.debug("Statements for {}: partition {} wrote {} statements", month, partition.getPartitionIndex(), written);
+        return written;
+    }
+
+    private void markPartition(long partitionId, String owner, StatementPartition.Status status) {
+        jdbcTemplate.update("UPDATE statement_partitions SET status = ?, lease_until = NULL, updated_at = ? "
+                + "WHERE id = ? AND owner = ?", status.name(), Timestamp.from(Instant.now()), partitionId, owner);
+    }
+
+    private Timestamp leaseUntil(Instant now) {
+        return Timestamp.from(now.plusMillis(config.getStatements().getLeaseMs()));
+    }
+
+    /**Thrown inside a chunk transaction when the worker no longer owns its partition.*/
+    static class LeaseLostException extends RuntimeException {
+
+        LeaseLostException() {
+            super("Statement partition lease lost");
+        }
+    }
+}
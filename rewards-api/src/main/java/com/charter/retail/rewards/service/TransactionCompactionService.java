@@ -0,0 +1,172 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compacts transactions older than the configured horizon.
+ * Each batch adds its transactions to per-customer, per-month summary rows (count, amount, points),
+ * copies them to the archive table and deletes them from the live table, all in one transaction.
+ * Batches are small and separated by a pause so the job does not compete with live traffic.
+ * The horizon is whole months and always lies beyond the calculation window, so rewards reads never miss a row.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionCompactionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RewardsCalculator rewardsCalculator;
+    private final RewardsConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**Compacts transactions older than the horizon, up to the per-run batch limit.*/
+    @Scheduled(fixedDelayString = "${rewards.compaction.interval-ms:3600000}",
+            initialDelayString = "${rewards.compaction.interval-ms:3600000}")
+    public void compactDueTransactions() {
+        if (config.getCompaction().isEnabled()) {
+            compact(cutoff(LocalDate.now()));
+        }
+    }
+
+    /**
+     * Returns the first day that is not compacted: the start of the month that lies the horizon
+     * before today, and at least one month before the start of the calculation window.
+     *
+     * @param today current date
+     * @return exclusive upper bound of compacted transaction dates
+     */
+    LocalDate cutoff(LocalDate today) {
+        int months = Math.max(config.getCompaction().getHorizonMonths(), config.getCalculationMonths() + 1);
+        return YearMonth.from(today).minusMonths(months).atDay(1);
+    }
+
+    /**
+     * Compacts transactions dated before a cutoff in batches.
+     * Returns immediately when a run is already in progress.
+     *
+     * @param cutoff exclusive upper bound of compacted transaction dates
+     * @return number of transactions compacted by this call
+     */
+    public long compact(LocalDate cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Compaction before {}: a run is already in progress", cutoff);
+            return 0;
+        }
+        try {
+            RewardsConfig.Compaction settings = config.getCompaction();
+            long compacted = 0;
+            long lastId = 0;
+            for (int batch = 0; batch < settings.getMaxBatchesPerRun(); batch++) {
+                List<Object[]> rows = compactBatch(cutoff, lastId, settings.getBatchSize());
+                if (rows.isEmpty()) {
+                    break;
+                }
+                compacted += rows.size();
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+                if (rows.size() < settings.getBatchSize() || !pause(settings.getPauseMs())) {
+                    break;
+                }
+            }
+            if (compacted > 0) {
+                log.info("Compaction before {}: moved {} transactions into monthly summaries", cutoff, compacted);
+            }
+            return compacted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Compacts the next batch of transactions in one database transaction.
+     * Keyset pagination on the ID skips the rows already removed by earlier batches.
+     *
+     * @return archived rows (id, customer ID, amount in cents, date), in ID order
+     */
+    private List<Object[]> compactBatch(LocalDate cutoff, long afterId, int batchSize) {
+        return transactionTemplate.execute(status -> {
+            Map<SummaryKey, long[]> summaries = new LinkedHashMap<>();
+            List<Object[]> archived = new ArrayList<>(batchSize);
+            jdbcTemplate.query("SELECT t.id, t.customer_id, t.amount_cents, t.transaction_date, c.program "
+                    + "FROM transactions t JOIN customers c ON c.id = t.customer_id "
+                    + "WHERE t.transaction_date < ? AND t.id > ? ORDER BY t.id LIMIT ?", rs -> {
+                        long customerId = rs.getLong(2);
+                        long amountCents = rs.getLong(3);
+                        LocalDate date = rs.getDate(4).toLocalDate();
+                        long[] summary = summaries.computeIfAbsent(
+                                new SummaryKey(customerId, date.withDayOfMonth(1)), key -> new long[3]);
+                        summary[0]++;
+                        summary[1] += amountCents;
+                        summary[2] += rewardsCalculator.calculatePoints(rs.getString(5), amountCents, date);
+                        archived.add(new Object[] {rs.getLong(1), customerId, amountCents, Date.valueOf(date)});
+                    }, Date.valueOf(cutoff), afterId, batchSize);
+            if (archived.isEmpty()) {
+                return archived;
+            }
+
+            List<Object[]> updates = new ArrayList<>(summaries.size());
+            summaries.forEach((key, summary) -> updates.add(new Object[] {
+                    summary[0], summary[1], summary[2], key.customerId(), Date.valueOf(key.month())}));
+            int[] updated = jdbcTemplate.batchUpdate("UPDATE transaction_monthly_summaries SET "
+                    + "transaction_count = transaction_count + ?, amount_cents = amount_cents + ?, points = points + ? "
+                    + "WHERE customer_id = ? AND summary_month = ?", updates);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    Object[] update = updates.get(i);
+                    inserts.add(new Object[] {update[3], update[4], update[0], update[1], update[2]});
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO transaction_monthly_summaries (customer_id, summary_month, "
+                        + "transaction_count, amount_cents, points) VALUES (?, ?, ?, ?, ?)", inserts);
+            }
+
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> archiveRows = new ArrayList<>(archived.size());
+            List<Object[]> deletes = new ArrayList<>(archived.size());
+            for (Object[] row : archived) {
+                archiveRows.add(new Object[] {row[0], row[1], row[2], row[3], now});
+                deletes.add(new Object[] {row[0]});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO transactions_archive (id, customer_id, amount_cents, "
+                    + "transaction_date, archived_at) VALUES (?, ?, ?, ?, ?)", archiveRows);
+            jdbcTemplate.batchUpdate("DELETE FROM transactions WHERE id = ?", deletes);
+            return archived;
+        });
+    }
+
+    private boolean pause(long pauseMs) {
+        if (pauseMs <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record SummaryKey(long customerId, LocalDate month) {
+    }
+}
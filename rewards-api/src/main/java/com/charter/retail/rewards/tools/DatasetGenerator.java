@@ -0,0 +1,192 @@
+package com.charter.retail.rewards.tools;
+
+import com.charter.retail.rewards.config.DatasetSeedConfig;
+import com.charter.retail.rewards.config.RewardsConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic dataset of customers and transactions with batched JDBC inserts.
+ * Runs at startup when the 'seed' profile is active.
+ *
+ * <p>Amounts cluster around the reward tier thresholds, customer activity follows a Zipf
+ * distribution and transaction dates are spread uniformly over the configured window.</p>
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO customers (id, name) VALUES (?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (customer_id, amount_cents, transaction_date) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatasetSeedConfig seedConfig;
+    private final RewardsConfig rewardsConfig;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generates customers and transactions according to the seed configuration.
+     *
+     * @return number of customers and transactions inserted
+     */
+    public SeedResult generate() {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seedConfig.getRandomSeed());
+        int customers = seedConfig.getCustomers();
+        long firstCustomerId = nextCustomerId();
+
+        insertCustomers(firstCustomerId, customers);
+        long transactions = insertTransactions(random, firstCustomerId, customers);
+        restartCustomerIdentity(firstCustomerId + customers);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Seeded {} customers and {} transactions in {} ms", customers, transactions, elapsedMillis);
+        return new SeedResult(customers, transactions);
+    }
+
+    private long nextCustomerId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+        return maxId == null ? 1L : maxId + 1;
+    }
+
+    private void insertCustomers(long firstId, int count) {
+        int batchSize = seedConfig.getBatchSize();
+        for (int offset = 0; offset < count; offset += batchSize) {
+            int size = Math.min(batchSize, count - offset);
+            long batchFirstId = firstId + offset;
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    long id = batchFirstId + i;
+                    ps.setLong(1, id);
+                    ps.setString(2, "Customer " + id);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private long insertTransactions(SplittableRandom random, long firstCustomerId, int customers) {
+        long total = Math.round(customers * seedConfig.getTransactionsPerCustomer());
+        double[] activityCdf = zipfCdf(customers, seedConfig.getActivitySkew());
+        LocalDate today = LocalDate.now();
+        int batchSize = seedConfig.getBatchSize();
+
+        long[] customerIds = new long[batchSize];
+        long[] amountCents = new long[batchSize];
+        LocalDate[] dates = new LocalDate[batchSize];
+        long logEvery = Math.max(total / 10, 1);
+        long nextLog = logEvery;
+
+        for (long written = 0; written < total; ) {
+            int size = (int) Math.min(batchSize, total - written);
+            for (int i = 0; i < size; i++) {
+                customerIds[i] = firstCustomerId + customerForRank(sampleRank(random, activityCdf), customers);
+                amountCents[i] = sampleAmountCents(random);
+                dates[i] = today.minusDays(random.nextInt(seedConfig.getWindowDays()));
+            }
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, customerIds[i]);
+                    ps.setLong(2, amountCents[i]);
+                    ps.setDate(3, Date.valueOf(dates[i]));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            written += size;
+            if (written >= nextLog) {
+                log.info("Inserted {}/{} transactions", written, total);
+                nextLog += logEvery;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Draws an amount in cents: near a tier threshold with probability tierFocus,
+     * otherwise log-normally distributed around the median amount.
+     */
+    long sampleAmountCents(SplittableRandom random) {
+        double dollars;
+        if (random.nextDouble() < seedConfig.getTierFocus()) {
+            int threshold = random.nextBoolean() ? rewardsConfig.getTierOneThreshold() : rewardsConfig.getTierTwoThreshold();
+            dollars = threshold + gaussian(random) * seedConfig.getTierSpread();
+        } else {
+            dollars = seedConfig.getMedianAmount() * Math.exp(0.8 * gaussian(random));
+        }
+        return Math.max(1L, Math.round(dollars * 100));
+    }
+
+    private void restartCustomerIdentity(long nextId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()));
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('customers', 'id'), ?)", Long.class, nextId - 1);
+        } else if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE customers ALTER COLUMN id RESTART WITH " + nextId);
+        }
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sampleRank(SplittableRandom random, double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    /**Scatters activity ranks over the ID space so that heavy customers are not all at the lowest IDs.*/
+    private static long customerForRank(int rank, int customers) {
+        return (rank * 0x9E3779B1L) % customers;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**Counts of inserted rows.*/
+    public record SeedResult(int customers, long transactions) {
+    }
+}
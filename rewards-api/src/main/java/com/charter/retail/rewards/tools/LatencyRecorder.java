@@ -0,0 +1,77 @@
+package com.charter.retail.rewards.tools;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Records latency samples of one operation type for a single load driver thread.
+ * Recorders of all threads are merged once the run has finished.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    /**Records a successful call that took the given number of nanoseconds.*/
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**Records a failed call.*/
+    public void recordError() {
+        errors++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Merges per-thread recorders into one sorted summary.
+     *
+     * @param recorders recorders of the same operation type
+     * @return latency summary
+     */
+    public static Summary merge(Collection<LatencyRecorder> recorders) {
+        int total = recorders.stream().mapToInt(LatencyRecorder::getCount).sum();
+        long errors = recorders.stream().mapToLong(LatencyRecorder::getErrors).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        return new Summary(all, errors);
+    }
+
+    /**Sorted latency samples with percentile lookup.*/
+    public record Summary(long[] sortedNanos, long errors) {
+
+        public int count() {
+            return sortedNanos.length;
+        }
+
+        /**
+         * Returns the latency at the given percentile using the nearest-rank method.
+         *
+         * @param percentile value between 0 and 100
+         * @return latency in nanoseconds, 0 when there are no samples
+         */
+        public long percentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+            return sortedNanos[Math.min(Math.max(rank, 1), sortedNanos.length) - 1];
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.charter.retail.rewards.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load driver replaying a read/write mix against the rewards API
+ * and reporting throughput and latency percentiles per operation.
+ *
+ * <p>Usage: {@code java -cp <app classpath> com.charter.retail.rewards.tools.LoadDriver
+ * --base-url=http://localhost:8080 --threads=32 --duration=60 --customers=100000}</p>
+ *
+ * <p>Options (defaults in brackets): base-url [http://localhost:8080], threads [16],
+ * duration seconds [60], warmup seconds [10], customers [3], first-customer-id [1],
+ * customer-weight [80], page-weight [5], write-weight [15], page-size [20], seed [42].
+ * Customer IDs are picked uniformly from the configured range.</p>
+ */
+public final class LoadDriver {
+
+    /**Operations the driver issues.*/
+    enum Operation {
+        CUSTOMER_REWARDS, PAGE_REWARDS, CREATE_TRANSACTION
+    }
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    LoadDriver(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        System.out.print(new LoadDriver(options).run());
+    }
+
+    /**
+     * Runs the configured load and returns the report.
+     *
+     * @return human readable report
+     */
+    String run() throws Exception {
+        int threads = intOption("threads", 16);
+        long warmupNanos = Duration.ofSeconds(intOption("warmup", 10)).toNanos();
+        long durationNanos = Duration.ofSeconds(intOption("duration", 60)).toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        List<Future<Map<Operation, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = new SplittableRandom(intOption("seed", 42) + i);
+            workers.add(executor.submit(() -> drive(random, measureFrom, end)));
+        }
+
+        Map<Operation, List<LatencyRecorder>> byOperation = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((operation, recorder) ->
+                    byOperation.computeIfAbsent(operation, key -> new ArrayList<>()).add(recorder));
+        }
+        executor.shutdown();
+        return report(byOperation, durationNanos);
+    }
+
+    private Map<Operation, LatencyRecorder> drive(SplittableRandom random, long measureFrom, long end) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        int customerWeight = intOption("customer-weight", 80);
+        int pageWeight = intOption("page-weight", 5);
+        int totalWeight = customerWeight + pageWeight + intOption("write-weight", 15);
+
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            int pick = random.nextInt(totalWeight);
+            Operation operation = pick < customerWeight ? Operation.CUSTOMER_REWARDS
+                    : pick < customerWeight + pageWeight ? Operation.PAGE_REWARDS
+                    : Operation.CREATE_TRANSACTION;
+            HttpRequest request = request(operation, random);
+            boolean measured = now >= measureFrom;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (measured) {
+                    if (status >= 200 && status < 400) {
+                        recorders.get(operation).record(System.nanoTime() - now);
+                    } else {
+                        recorders.get(operation).recordError();
+                    }
+                }
+            } catch (Exception ex) {
+                if (measured) {
+                    recorders.get(operation).recordError();
+                }
+            }
+        }
+        return recorders;
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        long customerId = intOption("first-customer-id", 1) + random.nextInt(intOption("customers", 3));
+        return switch (operation) {
+            case CUSTOMER_REWARDS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/rewards/customer/" + customerId))
+                    .GET().build();
+            case PAGE_REWARDS -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/rewards/customers?page="
+                    + random.nextInt(10) + "&size=" + intOption("page-size", 20))).GET().build();
+            case CREATE_TRANSACTION -> {
+                String amount = String.format(Locale.ROOT, "%.2f", 10 + random.nextDouble() * 190);
+                String body = "{\"customerId\":" + customerId + ",\"amount\":" + amount
+                        + ",\"transactionDate\":\"" + LocalDate.now() + "\"}";
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+        };
+    }
+
+    private static String report(Map<Operation, List<LatencyRecorder>> byOperation, long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-20s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long totalRequests = 0;
+        for (Map.Entry<Operation, List<LatencyRecorder>> entry : byOperation.entrySet()) {
+            LatencyRecorder.Summary summary = LatencyRecorder.merge(entry.getValue());
+            totalRequests += summary.count();
+            report.append(String.format(Locale.ROOT, "%-20s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), summary.count(), summary.errors(), summary.count() / seconds,
+                    millis(summary.percentile(50)), millis(summary.percentile(90)), millis(summary.percentile(99)),
+                    millis(summary.percentile(99.9)), millis(summary.percentile(100))));
+        }
+        report.append(String.format(Locale.ROOT, "total throughput: %.1f req/s%n", totalRequests / seconds));
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
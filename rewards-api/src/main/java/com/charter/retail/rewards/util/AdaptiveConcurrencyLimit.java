@@ -0,0 +1,106 @@
+package com.charter.retail.rewards.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency using additive increase / multiplicative decrease (AIMD).
+ * While at least half of the limit is in use, every fast response adds 1/limit, so the limit grows by about one
+ * per limit's worth of responses. A response that is slower than the latency threshold or fails cuts the limit by
+ * the backoff ratio, unless the request started before the last cut: the requests in flight during one overload
+ * back off once, not once each.
+ * Acquiring a permit is lock-free; only the limit update after a response is synchronised.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double estimatedLimit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    /**
+     * Creates a limit.
+     *
+     * @param initialLimit limit before any response has been observed
+     * @param minLimit lowest limit the backoff may reach
+     * @param maxLimit highest limit the increase may reach
+     * @param latencyThresholdNanos responses slower than this count as a sign of overload
+     * @param backoffRatio factor applied to the limit on overload, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a permit if fewer requests than the current limit are in flight.
+     *
+     * @return true if the request may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Returns a permit and adjusts the limit to the observed response.
+     *
+     * @param startedNanos {@link System#nanoTime()} when the request took the permit
+     * @param endedNanos {@link System#nanoTime()} when the request finished
+     * @param failed true if the request failed in a way that indicates overload
+     */
+    public void release(long startedNanos, long endedNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        adjust(startedNanos, endedNanos, failed, inFlightBefore);
+    }
+
+    private synchronized void adjust(long startedNanos, long endedNanos, boolean failed, int inFlightBefore) {
+        if (failed || endedNanos - startedNanos > latencyThresholdNanos) {
+            if (!backedOff || startedNanos - lastBackoffNanos >= 0) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+                lastBackoffNanos = endedNanos;
+                backedOff = true;
+            }
+        } else if (inFlightBefore * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / limit);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    /**Returns the current limit.*/
+    public int getLimit() {
+        return limit;
+    }
+
+    /**Returns the number of requests holding a permit.*/
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**Returns the number of requests rejected since start.*/
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
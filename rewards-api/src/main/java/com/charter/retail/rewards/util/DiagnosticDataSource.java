@@ -0,0 +1,145 @@
+package com.charter.retail.rewards.util;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps a data source in JDK proxies that time every statement execution and count fetched rows.
+ * Connections, statements and result sets are proxied on the way out; all other calls, including
+ * {@code unwrap}, go straight to the driver objects.
+ */
+public final class DiagnosticDataSource {
+
+    /**Receives the measurements of the proxied objects.*/
+    public interface Recorder {
+
+        /**
+         * Called after a statement execution, including failed ones.
+         *
+         * @param sql executed SQL, or "batch" for a plain statement batch
+         * @param elapsedNanos execution time
+         */
+        void statementExecuted(String sql, long elapsedNanos);
+
+        /**Called for every row a result set moves to.*/
+        void rowFetched();
+    }
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private DiagnosticDataSource() {
+    }
+
+    /**
+     * Wraps a data source.
+     *
+     * @param dataSource data source to wrap
+     * @param recorder receiver of the measurements
+     * @return proxied data source
+     */
+    public static DataSource wrap(DataSource dataSource, Recorder recorder) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection, recorder) : result;
+        });
+    }
+
+    /**
+     * Tells whether a data source has already been wrapped.
+     *
+     * @param dataSource data source
+     * @return true for a data source returned by {@link #wrap}
+     */
+    public static boolean isWrapped(DataSource dataSource) {
+        return Proxy.isProxyClass(dataSource.getClass())
+                && Proxy.getInvocationHandler(dataSource) instanceof Handler;
+    }
+
+    private static Connection wrapConnection(Connection connection, Recorder recorder) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrapStatement(statement, method.getReturnType(), sql, (Connection) proxy, recorder);
+            }
+            return result;
+        });
+    }
+
+    private static Object wrapStatement(Statement statement, Class<?> type, String preparedSql, Connection connection,
+                                        Recorder recorder) {
+        Class<?> statementType = type == PreparedStatement.class || type == CallableStatement.class
+                ? type : Statement.class;
+        return proxy(statementType, (proxy, method, args) -> {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                        : preparedSql != null ? preparedSql : "batch";
+                long started = System.nanoTime();
+                try {
+                    Object result = invoke(statement, method, args);
+                    return result instanceof ResultSet resultSet
+                            ? wrapResultSet(resultSet, (Statement) proxy, recorder) : result;
+                } finally {
+                    recorder.statementExecuted(sql, System.nanoTime() - started);
+                }
+            }
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            Object result = invoke(statement, method, args);
+            return "getResultSet".equals(name) && result instanceof ResultSet resultSet
+                    ? wrapResultSet(resultSet, (Statement) proxy, recorder) : result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, Statement statement, Recorder recorder) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if ("getStatement".equals(name)) {
+                return statement;
+            }
+            Object result = invoke(resultSet, method, args);
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                recorder.rowFetched();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Handler handler) {
+        Handler identityAware = (proxy, method, args) -> switch (method.getName()) {
+            // Proxies are compared by identity; the driver objects never see them
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : handler.invoke(proxy, method, args);
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy)
+                    : handler.invoke(proxy, method, args);
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(DiagnosticDataSource.class.getClassLoader(), new Class<?>[]{type},
+                identityAware);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**Invocation handler of the proxies created here.*/
+    @FunctionalInterface
+    private interface Handler extends InvocationHandler {
+    }
+}
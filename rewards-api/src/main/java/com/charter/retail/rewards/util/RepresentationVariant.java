@@ -0,0 +1,84 @@
+package com.charter.retail.rewards.util;
+
+import com.charter.retail.rewards.config.BinaryFormatsConfig;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodings a rewards response can be negotiated into.
+ * Each variant carries its own ETag suffix, so strong ETags stay unique per representation.
+ */
+public enum RepresentationVariant {
+
+    // JSON first, as among the message converters; a wildcard matching a binary format matches JSON too
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(BinaryFormatsConfig.APPLICATION_SMILE, "-smile");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    RepresentationVariant(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    /**
+     * Resolves the variant the message converters will write for an Accept header, so the ETag
+     * matches the body. As in Spring MVC, the accepted types are sorted by quality and specificity,
+     * each is matched against the variants in converter order, and the first concrete match wins.
+     * Falls back to JSON when the header is missing or malformed, or names no variant.
+     *
+     * @param acceptHeader value of the Accept header, may be null
+     * @return variant the response will be written in
+     */
+    public static RepresentationVariant preferredBy(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType acceptedType : accepted) {
+                for (RepresentationVariant variant : values()) {
+                    if (acceptedType.isCompatibleWith(variant.mediaType)) {
+                        compatible.add(variant.mediaType.copyQualityValue(acceptedType));
+                    }
+                }
+            }
+            MimeTypeUtils.sortBySpecificity(compatible);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException ex) {
+            return JSON;
+        }
+        for (MediaType selected : compatible) {
+            for (RepresentationVariant variant : values()) {
+                if (variant.mediaType.equalsTypeAndSubtype(selected)) {
+                    return variant;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Appends this variant's suffix to a quoted ETag.
+     *
+     * @param eTag quoted entity tag, may be null
+     * @return quoted entity tag for this representation
+     */
+    public String tag(String eTag) {
+        if (eTag == null || eTagSuffix.isEmpty()) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + eTagSuffix + "\"";
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,383 @@
+package com.charter.retail.rewards.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a rewards snapshot file: the points of every customer per month of the calculation window,
+ * as of a high-water transaction ID.
+ * <p>
+ * The file is memory-mapped and read in place; only the program names are copied to the heap. It holds a fixed
+ * header, the program names, the customer IDs in ascending order, one fixed-size entry per customer (program
+ * index, name offset and length, rewards version, then the points of each month) and the UTF-8 customer names. A month without
+ * transactions holds {@link #NO_TRANSACTIONS}, so it stays apart from a month whose transactions earned no points.
+ * Files are limited to 2 GB, the size of one mapping.
+ */
+public final class RewardsSnapshot {
+
+    /**Points value of a month without transactions.*/
+    public static final int NO_TRANSACTIONS = Integer.MIN_VALUE;
+
+    private static final int MAGIC = 0x52575353;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int ENTRY_FIXED_BYTES = 20;
+
+    private final ByteBuffer buffer;
+    private final LocalDate windowEnd;
+    private final YearMonth firstMonth;
+    private final int monthCount;
+    private final int customerCount;
+    private final long highWaterTransactionId;
+    private final long rulesFingerprint;
+    private final Instant createdAt;
+    private final String[] programs;
+    private final int idsOffset;
+    private final int entriesOffset;
+    private final int entryBytes;
+    private final int namesOffset;
+
+    private RewardsSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a rewards snapshot file of format version " + FORMAT_VERSION);
+        }
+        windowEnd = LocalDate.ofEpochDay(buffer.getLong(8));
+        firstMonth = YearMonth.of(buffer.getInt(16), buffer.getInt(20));
+        monthCount = buffer.getInt(24);
+        customerCount = buffer.getInt(28);
+        highWaterTransactionId = buffer.getLong(32);
+        rulesFingerprint = buffer.getLong(40);
+        createdAt = Instant.ofEpochMilli(buffer.getLong(48));
+        programs = new String[buffer.getInt(56)];
+        idsOffset = buffer.getInt(60);
+
+        int position = HEADER_BYTES;
+        for (int i = 0; i < programs.length; i++) {
+            int length = buffer.getShort(position);
+            byte[] bytes = new byte[length];
+            buffer.get(position + 2, bytes);
+            programs[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+        entryBytes = ENTRY_FIXED_BYTES + 4 * monthCount;
+        entriesOffset = idsOffset + 8 * customerCount;
+        namesOffset = entriesOffset + entryBytes * customerCount;
+        if (position != idsOffset || namesOffset > buffer.capacity()) {
+            throw new IOException("Truncated rewards snapshot file");
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path snapshot file
+     * @return snapshot backed by the mapping
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static RewardsSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Rewards snapshot file exceeds 2 GB: " + path);
+            }
+            return new RewardsSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Starts writing a snapshot file.
+     *
+     * @param path snapshot file; replaced atomically on {@link Writer#commit()}
+     * @param windowEnd last day of the calculation window
+     * @param firstMonth first month of the calculation window
+     * @param monthCount number of months in the window
+     * @param highWaterTransactionId highest transaction ID included
+     * @param rulesFingerprint fingerprint of the reward rules the points were computed with
+     * @return writer, to be filled in ascending customer ID order
+     * @throws IOException if the temporary files cannot be created
+     */
+    public static Writer writer(Path path, LocalDate windowEnd, YearMonth firstMonth, int monthCount,
+                                long highWaterTransactionId, long rulesFingerprint) throws IOException {
+        return new Writer(path, windowEnd, firstMonth, monthCount, highWaterTransactionId, rulesFingerprint);
+    }
+
+    /**
+     * Finds the entry of a customer.
+     *
+     * @param customerId customer ID
+     * @return entry index, or a negative value when the customer is not in the snapshot
+     */
+    public int indexOf(long customerId) {
+        int low = 0;
+        int high = customerCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = buffer.getLong(idsOffset + 8 * mid);
+            if (id < customerId) {
+                low = mid + 1;
+            } else if (id > customerId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the points of a customer in one month of the window.
+     *
+     * @param index entry index
+     * @param month month offset from {@link #firstMonth()}
+     * @return points, or {@link #NO_TRANSACTIONS}
+     */
+    public int points(int index, int month) {
+        return buffer.getInt(entriesOffset + entryBytes * index + ENTRY_FIXED_BYTES + 4 * month);
+    }
+
+    /**
+     * Reads the program of a customer.
+     *
+     * @param index entry index
+     * @return loyalty program
+     */
+    public String program(int index) {
+        return programs[buffer.getInt(entriesOffset + entryBytes * index)];
+    }
+
+    /**
+     * Reads the rewards version a customer's entry was computed at.
+     *
+     * @param index entry index
+     * @return value of the customer's rewards version column when the entry was read
+     */
+    public long rewardsVersion(int index) {
+        return buffer.getLong(entriesOffset + entryBytes * index + 12);
+    }
+
+    /**
+     * Reads the name of a customer.
+     *
+     * @param index entry index
+     * @return customer name
+     */
+    public String customerName(int index) {
+        int entry = entriesOffset + entryBytes * index;
+        byte[] bytes = new byte[buffer.getInt(entry + 8)];
+        buffer.get(namesOffset + buffer.getInt(entry + 4), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**@return last day of the calculation window*/
+    public LocalDate windowEnd() {
+        return windowEnd;
+    }
+
+    /**@return first month of the calculation window*/
+    public YearMonth firstMonth() {
+        return firstMonth;
+    }
+
+    /**@return number of months in the window*/
+    public int monthCount() {
+        return monthCount;
+    }
+
+    /**@return number of customers*/
+    public int customerCount() {
+        return customerCount;
+    }
+
+    /**@return highest transaction ID included*/
+    public long highWaterTransactionId() {
+        return highWaterTransactionId;
+    }
+
+    /**@return fingerprint of the reward rules the points were computed with*/
+    public long rulesFingerprint() {
+        return rulesFingerprint;
+    }
+
+    /**@return time the snapshot was written*/
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Writes the sections of a snapshot to temporary files next to the target and assembles them on commit.
+     * Closing an uncommitted writer discards it.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path path;
+        private final LocalDate windowEnd;
+        private final YearMonth firstMonth;
+        private final int monthCount;
+        private final long highWaterTransactionId;
+        private final long rulesFingerprint;
+        private final Map<String, Integer> programIndexes = new LinkedHashMap<>();
+        private final List<Path> sectionFiles = new ArrayList<>();
+        private final DataOutputStream ids;
+        private final DataOutputStream entries;
+        private final DataOutputStream names;
+        private int customerCount;
+        private long lastCustomerId = Long.MIN_VALUE;
+        private boolean closed;
+
+        private Writer(Path path, LocalDate windowEnd, YearMonth firstMonth, int monthCount,
+                       long highWaterTransactionId, long rulesFingerprint) throws IOException {
+            this.path = path.toAbsolutePath();
+            this.windowEnd = windowEnd;
+            this.firstMonth = firstMonth;
+            this.monthCount = monthCount;
+            this.highWaterTransactionId = highWaterTransactionId;
+            this.rulesFingerprint = rulesFingerprint;
+            Files.createDirectories(this.path.getParent());
+            try {
+                ids = section(".ids");
+                entries = section(".entries");
+                names = section(".names");
+            } catch (IOException ex) {
+                deleteSectionFiles();
+                throw ex;
+            }
+        }
+
+        private DataOutputStream section(String suffix) throws IOException {
+            Path file = Files.createTempFile(path.getParent(), path.getFileName().toString(), suffix);
+            sectionFiles.add(file);
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        /**
+         * Adds a customer.
+         *
+         * @param customerId customer ID, greater than the previous one
+         * @param name customer name
+         * @param program loyalty program
+         * @param rewardsVersion rewards version of the customer the points were computed at
+         * @param monthPoints points per month of the window, {@link #NO_TRANSACTIONS} for months without transactions
+         * @throws IOException if the section files cannot be written
+         */
+        public void add(long customerId, String name, String program, long rewardsVersion, int[] monthPoints)
+                throws IOException {
+            if (customerId <= lastCustomerId) {
+                throw new IllegalArgumentException("Customer IDs must be added in ascending order: " + customerId);
+            }
+            if (monthPoints.length != monthCount) {
+                throw new IllegalArgumentException("Expected points of " + monthCount + " months");
+            }
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            ids.writeLong(customerId);
+            entries.writeInt(programIndexes.computeIfAbsent(program, p -> programIndexes.size()));
+            entries.writeInt(names.size());
+            entries.writeInt(nameBytes.length);
+            entries.writeLong(rewardsVersion);
+            for (int points : monthPoints) {
+                entries.writeInt(points);
+            }
+            names.write(nameBytes);
+            lastCustomerId = customerId;
+            customerCount++;
+        }
+
+        /**
+         * Assembles the snapshot file and moves it into place atomically.
+         *
+         * @throws IOException if the file cannot be written or exceeds 2 GB
+         */
+        public void commit() throws IOException {
+            ids.close();
+            entries.close();
+            names.close();
+
+            ByteBuffer programSection = programSection();
+            int idsOffset = HEADER_BYTES + programSection.remaining();
+            long size = idsOffset;
+            for (Path file : sectionFiles) {
+                size += Files.size(file);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Rewards snapshot of " + customerCount + " customers exceeds 2 GB");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(windowEnd.toEpochDay())
+                    .putInt(firstMonth.getYear()).putInt(firstMonth.getMonthValue()).putInt(monthCount)
+                    .putInt(customerCount).putLong(highWaterTransactionId).putLong(rulesFingerprint)
+                    .putLong(System.currentTimeMillis()).putInt(programIndexes.size()).putInt(idsOffset);
+            header.flip();
+
+            Path assembled = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            sectionFiles.add(assembled);
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+                while (programSection.hasRemaining()) {
+                    out.write(programSection);
+                }
+                for (Path file : sectionFiles.subList(0, 3)) {
+                    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long transferred = 0;
+                        while (transferred < in.size()) {
+                            transferred += in.transferTo(transferred, in.size() - transferred, out);
+                        }
+                    }
+                }
+                out.force(true);
+            }
+            Files.move(assembled, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            close();
+        }
+
+        private ByteBuffer programSection() {
+            List<byte[]> encoded = programIndexes.keySet().stream()
+                    .map(program -> program.getBytes(StandardCharsets.UTF_8))
+                    .toList();
+            ByteBuffer section = ByteBuffer.allocate(encoded.stream().mapToInt(bytes -> 2 + bytes.length).sum());
+            encoded.forEach(bytes -> section.putShort((short) bytes.length).put(bytes));
+            return section.flip();
+        }
+
+        /**@return number of customers added*/
+        public int customerCount() {
+            return customerCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ids.close();
+            entries.close();
+            names.close();
+            deleteSectionFiles();
+        }
+
+        private void deleteSectionFiles() throws IOException {
+            for (Path file : sectionFiles) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
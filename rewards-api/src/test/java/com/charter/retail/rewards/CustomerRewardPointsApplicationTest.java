@@ -5,8 +5,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 /**
  * Test class for the main application.
+ * Defers SQL initialisation like application.properties does, so the startup bean ordering matches production.
  */
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.defer-datasource-initialization=true")
 class CustomerRewardPointsApplicationTest {
 
     /**
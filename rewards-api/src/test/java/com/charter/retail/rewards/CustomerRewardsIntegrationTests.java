@@ -0,0 +1,295 @@
+package com.charter.retail.rewards;
+
+import com.charter.retail.rewards.config.BinaryFormatsConfig;
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.controller.CustomerRewardsController;
+import com.charter.retail.rewards.dto.CustomerLookupRequestDto;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.filter.ConcurrencyLimitFilter;
+import com.charter.retail.rewards.filter.QueryDiagnosticsFilter;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.service.RewardsResponseCache;
+import com.charter.retail.rewards.service.RewardsService;
+import com.charter.retail.rewards.service.RewardsVersionTracker;
+import com.charter.retail.rewards.util.RepresentationVariant;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for CustomerRewardsController.
+ */
+@WebMvcTest(controllers = CustomerRewardsController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {ConcurrencyLimitFilter.class, QueryDiagnosticsFilter.class}))
+@Import(BinaryFormatsConfig.class)
+class CustomerRewardsIntegrationTests {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private RewardsService rewardsService;
+    
+    @MockBean
+    private RewardsConfig rewardsConfig;
+    
+    @MockBean
+    private RewardsCalculator rewardsCalculator;
+    
+    @MockBean
+    private CustomerRepository customerRepository;
+    
+    @MockBean
+    private TransactionRepository transactionRepository;
+    
+    @MockBean
+    private RewardsVersionTracker versionTracker;
+    
+    @MockBean
+    private RewardsResponseCache responseCache;
+    
+    @Test
+    void testGetCustomerRewards_Success() throws Exception {
+        Long customerId = 1L;
+        Map<String, Integer> monthlyPoints = new HashMap<>();
+        monthlyPoints.put("2024-12", 90);
+        
+        CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", monthlyPoints, 90);
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
+        
+        mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customerId").value(customerId))
+            .andExpect(jsonPath("$.customerName").value("Test Customer"))
+            .andExpect(jsonPath("$.totalPoints").value(90));
+    }
+    
+    @Test
+    void testGetCustomerRewards_NotFound() throws Exception {
+        Long customerId = 999L;
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L))
+            .thenThrow(new ResourceNotFoundException("Customer not found with ID: " + customerId));
+        
+        mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId))
+            .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void testGetCustomerRewards_WithMultipleMonths() throws Exception {
+        Long customerId = 1L;
+        Map<String, Integer> monthlyPoints = new HashMap<>();
+        monthlyPoints.put("2024-10", 50);
+        monthlyPoints.put("2024-11", 90);
+        monthlyPoints.put("2024-12", 150);
+        
+        CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", monthlyPoints, 290);
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
+        
+        mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalPoints").value(290))
+            .andExpect(jsonPath("$.monthlyPoints").isMap());
+    }
+    
+    @Test
+    void testGetAllCustomersRewards_Success() throws Exception {
+        Map<String, Integer> monthlyPoints1 = new HashMap<>();
+        monthlyPoints1.put("2024-12", 90);
+        
+        Map<String, Integer> monthlyPoints2 = new HashMap<>();
+        monthlyPoints2.put("2024-12", 150);
+        
+        CustomerRewardsDto rewards1 = new CustomerRewardsDto(1L, "Customer 1", monthlyPoints1, 90);
+        CustomerRewardsDto rewards2 = new CustomerRewardsDto(2L, "Customer 2", monthlyPoints2, 150);
+        
+        List<CustomerRewardsDto> rewardsList = Arrays.asList(rewards1, rewards2);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CustomerRewardsDto> page = new PageImpl<>(rewardsList, pageable, rewardsList.size());
+        
+        when(rewardsService.getRewardsForAllCustomers(org.mockito.ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        
+        mockMvc.perform(get("/api/rewards/customers"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].customerId").value(1))
+            .andExpect(jsonPath("$.content[1].customerId").value(2))
+            .andExpect(jsonPath("$.content[0].totalPoints").value(90))
+            .andExpect(jsonPath("$.content[1].totalPoints").value(150));
+    }
+    
+    @Test
+    void testGetAllCustomersRewards_EmptyList() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CustomerRewardsDto> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
+        
+        when(rewardsService.getRewardsForAllCustomers(org.mockito.ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        
+        mockMvc.perform(get("/api/rewards/customers"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").isArray())
+            .andExpect(jsonPath("$.content").isEmpty());
+    }
+    
+    @Test
+    void testGetCustomerRewards_ReturnsETag() throws Exception {
+        Long customerId = 1L;
+        CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", new HashMap<>(), 0);
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(versionTracker.customerETagAt(1L)).thenReturn("\"abc-1-0\"");
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
+        
+        mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"abc-1-0\""));
+    }
+    
+    @Test
+    void testGetCustomerRewards_NotModified() throws Exception {
+        Long customerId = 1L;
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(versionTracker.customerETagAt(1L)).thenReturn("\"abc-1-0\"");
+        
+        mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId)
+                .header("If-None-Match", "\"abc-1-0\""))
+            .andExpect(status().isNotModified());
+        
+        verifyNoInteractions(rewardsService);
+    }
+    
+    @Test
+    void testGetAllCustomersRewards_NotModified() throws Exception {
+        when(versionTracker.pageETag(any(Pageable.class))).thenReturn("\"abc-1-g3\"");
+        
+        mockMvc.perform(get("/api/rewards/customers").header("If-None-Match", "\"abc-1-g3\""))
+            .andExpect(status().isNotModified());
+        
+        verifyNoInteractions(rewardsService);
+    }
+    
+    @Test
+    void testGetCustomerRewards_Cbor() throws Exception {
+        Long customerId = 1L;
+        Map<String, Integer> monthlyPoints = new HashMap<>();
+        monthlyPoints.put("2024-12", 90);
+        CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", monthlyPoints, 90);
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(versionTracker.customerETagAt(1L)).thenReturn("\"abc-1-0\"");
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
+        
+        byte[] body = mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId)
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string("ETag", "\"abc-1-0-cbor\""))
+            .andReturn().getResponse().getContentAsByteArray();
+        
+        CustomerRewardsDto decoded = new ObjectMapper(new CBORFactory()).readValue(body, CustomerRewardsDto.class);
+        assertEquals(rewardsDto, decoded);
+    }
+    
+    @Test
+    void testGetCustomerRewards_ETagMatchesNegotiatedVariant() throws Exception {
+        Long customerId = 1L;
+        CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", Map.of("2024-12", 90), 90);
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(versionTracker.customerETagAt(1L)).thenReturn("\"abc-1-0\"");
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
+        
+        Map<String, String> eTagsByAccept = Map.of(
+            "text/html, application/cbor;q=0.9", "\"abc-1-0-cbor\"",
+            "application/*, application/x-jackson-smile", "\"abc-1-0-smile\"",
+            "application/cbor;q=0.5, */*;q=0.8", "\"abc-1-0\"");
+        for (Map.Entry<String, String> entry : eTagsByAccept.entrySet()) {
+            String contentType = mockMvc.perform(get("/api/rewards/customer/{customerId}", customerId)
+                    .header("Accept", entry.getKey()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", entry.getValue()))
+                .andReturn().getResponse().getContentType();
+            assertEquals(RepresentationVariant.preferredBy(entry.getKey()).getMediaType(),
+                MediaType.parseMediaType(contentType).removeQualityValue(), entry.getKey());
+        }
+    }
+    
+    @Test
+    void testGetAllCustomersRewards_Smile() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CustomerRewardsDto> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
+        
+        when(rewardsService.getRewardsForAllCustomers(org.mockito.ArgumentMatchers.any(Pageable.class))).thenReturn(emptyPage);
+        
+        mockMvc.perform(get("/api/rewards/customers").accept(BinaryFormatsConfig.APPLICATION_SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE));
+    }
+    
+    @Test
+    void testLookupCustomersRewards_Success() throws Exception {
+        CustomerLookupResultDto resultDto = new CustomerLookupResultDto(
+            List.of(new CustomerRewardsDto(2L, "Customer 2", Map.of("2024-12", 90), 90)), List.of(7L));
+        
+        when(rewardsService.lookupRewards(List.of(2L, 7L))).thenReturn(resultDto);
+        
+        mockMvc.perform(post("/api/rewards/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerIds\":[2,7]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rewards[0].customerId").value(2))
+            .andExpect(jsonPath("$.rewards[0].totalPoints").value(90))
+            .andExpect(jsonPath("$.missingCustomerIds[0]").value(7));
+    }
+    
+    @Test
+    void testLookupCustomersRewards_TooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, CustomerLookupRequestDto.MAX_CUSTOMER_IDS + 1)
+            .mapToObj(Long::toString).collect(Collectors.joining(","));
+        
+        mockMvc.perform(post("/api/rewards/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"customerIds\":[" + ids + "]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errors.customerIds").exists());
+        verifyNoInteractions(rewardsService);
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.charter.retail.rewards.config.RewardsConfig;
 import com.charter.retail.rewards.dto.TransactionDto;
 import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.filter.ConcurrencyLimitFilter;
+import com.charter.retail.rewards.filter.QueryDiagnosticsFilter;
 import com.charter.retail.rewards.repository.CustomerRepository;
 import com.charter.retail.rewards.repository.TransactionRepository;
 import com.charter.retail.rewards.service.RewardsService;
@@ -13,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
@@ -27,7 +31,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Unit tests for TransactionController.
  */
-@WebMvcTest(TransactionController.class)
+@WebMvcTest(controllers = TransactionController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {ConcurrencyLimitFilter.class, QueryDiagnosticsFilter.class}))
 class TransactionIntegrationTests {
     
     @Autowired
@@ -87,6 +92,16 @@ class TransactionIntegrationTests {
             .andExpect(status().isBadRequest());
     }
     
+    @Test
+    void testCreateTransaction_ValidationError_SubCentAmount() throws Exception {
+        TransactionDto invalidDto = new TransactionDto(null, 1L, new BigDecimal("10.005"), LocalDate.now());
+        
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidDto)))
+            .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void testCreateTransaction_CustomerNotFound() throws Exception {
         TransactionDto inputDto = new TransactionDto(null, 999L, new BigDecimal("120.00"), LocalDate.now());
@@ -0,0 +1,73 @@
+package com.charter.retail.rewards.benchmark;
+
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encode/decode cost and payload size of JSON, CBOR and Smile for a page of customer rewards.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatsBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int customers;
+
+    private ObjectMapper mapper;
+    private JavaType pageType;
+    private List<CustomerRewardsDto> page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        pageType = mapper.getTypeFactory().constructCollectionType(List.class, CustomerRewardsDto.class);
+        page = new ArrayList<>(customers);
+        for (long id = 1; id <= customers; id++) {
+            Map<String, Integer> monthlyPoints = new TreeMap<>();
+            monthlyPoints.put("2024-10", (int) (id * 7 % 400));
+            monthlyPoints.put("2024-11", (int) (id * 13 % 400));
+            monthlyPoints.put("2024-12", (int) (id * 31 % 400));
+            int total = monthlyPoints.values().stream().mapToInt(Integer::intValue).sum();
+            page.add(new CustomerRewardsDto(id, "Customer " + id, monthlyPoints, total));
+        }
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.println(System.lineSeparator() + "payload bytes [" + format + "]: " + encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<CustomerRewardsDto> decode() throws Exception {
+        return mapper.readValue(encoded, pageType);
+    }
+}
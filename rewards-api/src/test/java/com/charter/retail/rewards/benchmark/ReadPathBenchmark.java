@@ -0,0 +1,107 @@
+package com.charter.retail.rewards.benchmark;
+
+import com.charter.retail.rewards.CustomerRewardPointsApplication;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.TransactionAmount;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of scoring a customer's transactions from managed entities
+ * and from {@link TransactionAmount} projections, against a seeded in-memory H2 database.
+ * Run with {@code -Djmh.args="-prof gc"} to compare allocation per request (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    @Param({"200"})
+    private int customers;
+
+    @Param({"50"})
+    private int transactionsPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private RewardsCalculator rewardsCalculator;
+    private TransactionTemplate readOnlyTransaction;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long nextCustomer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomerRewardPointsApplication.class)
+                .profiles("seed")
+                .run("--spring.datasource.url=jdbc:h2:mem:readpath",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--rewards.tier-one-threshold=50",
+                        "--rewards.tier-two-threshold=100",
+                        "--rewards.tier-one-multiplier=1",
+                        "--rewards.tier-two-multiplier=2",
+                        "--rewards.customer-index.enabled=false",
+                        "--seed.customers=" + customers,
+                        "--seed.transactions-per-customer=" + transactionsPerCustomer,
+                        "--seed.activity-skew=0",
+                        "--seed.window-days=90");
+        transactionRepository = context.getBean(TransactionRepository.class);
+        rewardsCalculator = context.getBean(RewardsCalculator.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        endDate = LocalDate.now();
+        startDate = endDate.minusMonths(3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int entities() {
+        long customerId = nextCustomerId();
+        return readOnlyTransaction.execute(status -> {
+            int points = 0;
+            for (Transaction transaction : transactionRepository
+                    .findByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate)) {
+                points += rewardsCalculator.calculatePoints(transaction.getAmountCents());
+            }
+            return points;
+        });
+    }
+
+    @Benchmark
+    public int projections() {
+        long customerId = nextCustomerId();
+        return readOnlyTransaction.execute(status -> {
+            int points = 0;
+            for (TransactionAmount transaction : transactionRepository
+                    .findAmountsByCustomerIdAndTransactionDateBetween(customerId, startDate, endDate)) {
+                points += rewardsCalculator.calculatePoints(transaction.amountCents());
+            }
+            return points;
+        });
+    }
+
+    private long nextCustomerId() {
+        return 1 + (nextCustomer++ % customers);
+    }
+}
@@ -0,0 +1,113 @@
+package com.charter.retail.rewards.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time-to-first-request of the packaged application with and without the startup optimisations
+ * (Spring AOT, AppCDS archive, prod profile with lazy initialisation).
+ * Run by the 'fast-startup' Maven profile in the verify phase.
+ *
+ * <p>Arguments: startup directory (containing the application jar, lib/ and the CDS archive),
+ * HTTP port, number of runs per variant.</p>
+ */
+public final class StartupTimeReport {
+
+    private static final String MAIN_CLASS = "com.charter.retail.rewards.CustomerRewardPointsApplication";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupTimeReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path startupDir = Path.of(args[0]);
+        int port = Integer.parseInt(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        String classpath = startupDir.resolve("rewards-api.jar") + File.pathSeparator + startupDir.resolve("lib") + File.separator + "*";
+        List<String> appArgs = List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.sql.init.mode=never");
+
+        List<String> baseline = new ArrayList<>(List.of("-cp", classpath, MAIN_CLASS));
+        baseline.addAll(appArgs);
+
+        List<String> optimised = new ArrayList<>(List.of(
+                "-XX:SharedArchiveFile=" + startupDir.resolve("rewards-api.jsa"),
+                "-Dspring.aot.enabled=true",
+                "-cp", classpath, MAIN_CLASS, "--spring.profiles.active=prod"));
+        optimised.addAll(appArgs);
+
+        long[] baselineMillis = measure(baseline, port, runs);
+        long[] optimisedMillis = measure(optimised, port, runs);
+
+        String report = String.format("Time to first request (ms, %d runs each)%n"
+                        + "  baseline : median %d  all %s%n"
+                        + "  optimised: median %d  all %s%n",
+                runs, median(baselineMillis), Arrays.toString(baselineMillis),
+                median(optimisedMillis), Arrays.toString(optimisedMillis));
+        System.out.print(report);
+        Files.writeString(startupDir.resolve("startup-report.txt"), report);
+    }
+
+    private static long[] measure(List<String> jvmArgs, int port, int runs) throws Exception {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstRequest(jvmArgs, port);
+        }
+        return millis;
+    }
+
+    private static long timeToFirstRequest(List<String> jvmArgs, int port) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/rewards/customers"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException ex) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
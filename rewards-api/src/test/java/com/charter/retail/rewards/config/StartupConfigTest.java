@@ -0,0 +1,53 @@
+package com.charter.retail.rewards.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the startup-optimised prod profile and the validation of required settings.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class StartupConfigTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void shouldNotRegisterOpenApiInProd() {
+        assertThat(context.getBeanNamesForType(OpenAPI.class)).isEmpty();
+    }
+
+    @Test
+    void shouldFailStartupWithoutRequiredRewardSettings() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+                        ValidationAutoConfiguration.class))
+                .withUserConfiguration(RewardsConfig.class)
+                .withPropertyValues("rewards.calculation-months=3", "rewards.snapshot.enabled=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().hasStackTraceContaining("monthFormat"));
+    }
+
+    @Test
+    void shouldKeepRequestPathEager() {
+        assertThat(beanFactory.getBeanDefinition("rewardsService").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("customerRewardsController").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("rewardRulesService").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("rewardsResponseCache").isLazyInit()).isTrue();
+    }
+}
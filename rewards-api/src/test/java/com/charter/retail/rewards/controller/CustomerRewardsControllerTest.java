@@ -1,8 +1,13 @@
 package com.charter.retail.rewards.controller;
 
+import com.charter.retail.rewards.dto.CustomerLookupRequestDto;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerProgramDto;
 import com.charter.retail.rewards.dto.CustomerRewardsDto;
 import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.service.RewardsResponseCache;
 import com.charter.retail.rewards.service.RewardsService;
+import com.charter.retail.rewards.service.RewardsVersionTracker;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -13,13 +18,19 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +39,18 @@ class CustomerRewardsControllerTest {
     @Mock
     private RewardsService rewardsService;
     
+    @Mock
+    private RewardsVersionTracker versionTracker;
+    
+    @Mock
+    private RewardsResponseCache responseCache;
+    
     @InjectMocks
     private CustomerRewardsController controller;
     
+    private final ServletWebRequest webRequest =
+            new ServletWebRequest(new MockHttpServletRequest("GET", "/api/rewards"), new MockHttpServletResponse());
+    
     @Test
     void testGetCustomerRewards_Success() {
         Long customerId = 1L;
@@ -38,9 +58,10 @@ class CustomerRewardsControllerTest {
         monthlyPoints.put("2024-12", 90);
         CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", monthlyPoints, 90);
         
-        when(rewardsService.getRewardsForCustomer(customerId)).thenReturn(rewardsDto);
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
         
-        ResponseEntity<CustomerRewardsDto> response = controller.getCustomerRewards(customerId);
+        ResponseEntity<CustomerRewardsDto> response = controller.getCustomerRewards(customerId, webRequest);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -53,11 +74,12 @@ class CustomerRewardsControllerTest {
     void testGetCustomerRewards_NotFound() {
         Long customerId = 999L;
         
-        when(rewardsService.getRewardsForCustomer(customerId))
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L))
             .thenThrow(new ResourceNotFoundException("Customer not found with ID: " + customerId));
         
         assertThrows(ResourceNotFoundException.class, () -> {
-            controller.getCustomerRewards(customerId);
+            controller.getCustomerRewards(customerId, webRequest);
         });
     }
     
@@ -70,9 +92,10 @@ class CustomerRewardsControllerTest {
         monthlyPoints.put("2024-12", 150);
         CustomerRewardsDto rewardsDto = new CustomerRewardsDto(customerId, "Test Customer", monthlyPoints, 290);
         
-        when(rewardsService.getRewardsForCustomer(customerId)).thenReturn(rewardsDto);
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(rewardsService.getRewardsForCustomer(customerId, 1L)).thenReturn(rewardsDto);
         
-        ResponseEntity<CustomerRewardsDto> response = controller.getCustomerRewards(customerId);
+        ResponseEntity<CustomerRewardsDto> response = controller.getCustomerRewards(customerId, webRequest);
         
         assertNotNull(response);
         assertEquals(290, response.getBody().getTotalPoints());
@@ -94,7 +117,7 @@ class CustomerRewardsControllerTest {
         
         when(rewardsService.getRewardsForAllCustomers(pageable)).thenReturn(page);
         
-        ResponseEntity<Page<CustomerRewardsDto>> response = controller.getAllCustomersRewards(pageable);
+        ResponseEntity<Page<CustomerRewardsDto>> response = controller.getAllCustomersRewards(pageable, webRequest);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -109,10 +132,55 @@ class CustomerRewardsControllerTest {
         
         when(rewardsService.getRewardsForAllCustomers(pageable)).thenReturn(emptyPage);
         
-        ResponseEntity<Page<CustomerRewardsDto>> response = controller.getAllCustomersRewards(pageable);
+        ResponseEntity<Page<CustomerRewardsDto>> response = controller.getAllCustomersRewards(pageable, webRequest);
         
         assertNotNull(response);
         assertEquals(0, response.getBody().getContent().size());
         assertEquals(0, response.getBody().getTotalElements());
     }
+    
+    @Test
+    void testGetCustomerRewards_NotModified() {
+        Long customerId = 1L;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rewards/customer/1");
+        request.addHeader("If-None-Match", "\"v1\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        
+        when(versionTracker.currentVersion(customerId)).thenReturn(1L);
+        when(versionTracker.customerETagAt(1L)).thenReturn("\"v1\"");
+        
+        ResponseEntity<CustomerRewardsDto> response =
+                controller.getCustomerRewards(customerId, new ServletWebRequest(request, servletResponse));
+        
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verifyNoInteractions(rewardsService);
+    }
+    
+    @Test
+    void testAssignProgram_Success() {
+        CustomerProgramDto programDto = new CustomerProgramDto(1L, "premium");
+        
+        when(rewardsService.assignProgram(1L, "premium")).thenReturn(programDto);
+        
+        ResponseEntity<CustomerProgramDto> response = controller.assignProgram(1L, new CustomerProgramDto(null, "premium"));
+        
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("premium", response.getBody().getProgram());
+    }
+    
+    @Test
+    void testLookupCustomersRewards_Success() {
+        CustomerLookupResultDto resultDto = new CustomerLookupResultDto(
+            List.of(new CustomerRewardsDto(2L, "Customer 2", Map.of("2024-12", 90), 90)), List.of(7L));
+        
+        when(rewardsService.lookupRewards(List.of(2L, 7L))).thenReturn(resultDto);
+        
+        ResponseEntity<CustomerLookupResultDto> response =
+                controller.lookupCustomersRewards(new CustomerLookupRequestDto(List.of(2L, 7L)));
+        
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2L, response.getBody().getRewards().get(0).getCustomerId());
+        assertEquals(List.of(7L), response.getBody().getMissingCustomerIds());
+    }
 }
@@ -0,0 +1,108 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.filter.ConcurrencyLimitFilter;
+import com.charter.retail.rewards.filter.QueryDiagnosticsFilter;
+import com.charter.retail.rewards.service.CustomerRewardsStreamSink;
+import com.charter.retail.rewards.service.RewardsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CustomerRewardsStreamController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {ConcurrencyLimitFilter.class, QueryDiagnosticsFilter.class}))
+@Import({CustomerRewardsStreamSink.class, RewardsConfig.class})
+class CustomerRewardsStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRewardsStreamSink streamSink;
+
+    @MockBean
+    private RewardsService rewardsService;
+
+    @Test
+    void testStreamCustomerRewards_SnapshotThenChangedMonths() throws Exception {
+        when(rewardsService.getRewardsForCustomer(1L))
+                .thenReturn(rewards(Map.of("2024-02", 40, "2024-03", 90), 130))
+                .thenReturn(rewards(Map.of("2024-02", 40, "2024-03", 115), 155));
+
+        MvcResult result = mockMvc.perform(get("/api/rewards/customer/1/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        awaitBody(result, "event:snapshot\ndata:{\"customerId\":1,");
+
+        streamSink.publish(List.of(
+                new RewardsEventDto(8L, 1L, 42L, "2024-03", 20, Instant.now()),
+                new RewardsEventDto(9L, 2L, 43L, "2024-03", 50, Instant.now()),
+                new RewardsEventDto(10L, 1L, 44L, "2024-03", 5, Instant.now())));
+
+        String body = awaitBody(result, "id:10\nevent:update\n");
+        assertTrue(body.contains("\"monthlyPoints\":{\"2024-03\":115},\"totalPoints\":155}"), body);
+        verify(rewardsService, times(2)).getRewardsForCustomer(1L);
+    }
+
+    @Test
+    void testStreamCustomerRewards_UnknownCustomer() throws Exception {
+        when(rewardsService.getRewardsForCustomer(99L))
+                .thenThrow(new ResourceNotFoundException("Customer not found with ID: 99"));
+
+        mockMvc.perform(get("/api/rewards/customer/99/stream"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSendHeartbeats() throws Exception {
+        when(rewardsService.getRewardsForCustomer(3L)).thenReturn(rewards(Map.of(), 0));
+
+        MvcResult result = mockMvc.perform(get("/api/rewards/customer/3/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        awaitBody(result, "event:snapshot\n");
+
+        streamSink.sendHeartbeats();
+
+        awaitBody(result, ":heartbeat\n");
+    }
+
+    private static CustomerRewardsDto rewards(Map<String, Integer> monthlyPoints, int totalPoints) {
+        return new CustomerRewardsDto(1L, "Jessica", new TreeMap<>(monthlyPoints), totalPoints);
+    }
+
+    /**
+     * Waits for the stream to contain the expected text; events are written by the sender threads.
+     */
+    private static String awaitBody(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+}
@@ -0,0 +1,58 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.dto.RecomputeProgressDto;
+import com.charter.retail.rewards.dto.RewardRuleVersionDto;
+import com.charter.retail.rewards.service.RewardRulesService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RewardRulesControllerTest {
+    
+    @Mock
+    private RewardRulesService rewardRulesService;
+    
+    @InjectMocks
+    private RewardRulesController controller;
+    
+    @Test
+    void testGetRuleVersions() {
+        List<RewardRuleVersionDto> versions = List.of(new RewardRuleVersionDto(0L, "default", null, 50, 100, 1, 2));
+        when(rewardRulesService.getVersions()).thenReturn(versions);
+        
+        ResponseEntity<List<RewardRuleVersionDto>> response = controller.getRuleVersions();
+        
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(versions, response.getBody());
+    }
+    
+    @Test
+    void testAddRuleVersion() {
+        RewardRuleVersionDto input = new RewardRuleVersionDto(null, "default", LocalDate.now(), 50, 100, 1, 3);
+        RewardRuleVersionDto saved = new RewardRuleVersionDto(1L, "default", LocalDate.now(), 50, 100, 1, 3);
+        when(rewardRulesService.addVersion(input)).thenReturn(saved);
+        
+        ResponseEntity<RewardRuleVersionDto> response = controller.addRuleVersion(input);
+        
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(1L, response.getBody().getVersion());
+    }
+    
+    @Test
+    void testGetRecomputeProgress() {
+        RecomputeProgressDto progress = new RecomputeProgressDto(1L, RecomputeProgressDto.State.RUNNING,
+                LocalDate.now(), 10, 4, null, null);
+        when(rewardRulesService.getRecomputeProgress(1L)).thenReturn(progress);
+        
+        assertEquals(progress, controller.getRecomputeProgress(1L).getBody());
+    }
+}
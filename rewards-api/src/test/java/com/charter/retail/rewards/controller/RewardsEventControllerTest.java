@@ -0,0 +1,73 @@
+package com.charter.retail.rewards.controller;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.filter.ConcurrencyLimitFilter;
+import com.charter.retail.rewards.filter.QueryDiagnosticsFilter;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import com.charter.retail.rewards.service.SseRewardsEventSink;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(controllers = RewardsEventController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {ConcurrencyLimitFilter.class, QueryDiagnosticsFilter.class}))
+@Import({SseRewardsEventSink.class, RewardsConfig.class})
+@TestPropertySource(properties = "rewards.month-format=yyyy-MM")
+class RewardsEventControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private SseRewardsEventSink eventSink;
+    
+    @MockBean
+    private RewardsOutboxRepository outboxRepository;
+    
+    @Test
+    void testStreamEvents_ReceivesRelayedEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/rewards/events"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        
+        eventSink.publish(List.of(new RewardsEventDto(7L, 1L, 42L, "2024-03", 90, Instant.now())));
+        
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:7\nevent:points\ndata:{\"id\":7,\"customerId\":1,"), body);
+        verifyNoInteractions(outboxRepository);
+    }
+    
+    @Test
+    void testStreamEvents_ReplaysAfterLastEventId() throws Exception {
+        when(outboxRepository.findEventsAfter(eq(5L), any())).thenReturn(List.of(
+                new RewardsOutboxEvent(6L, 2L, 43L, LocalDate.of(2024, 3, 1), 25, Instant.now())));
+        
+        MvcResult result = mockMvc.perform(get("/api/rewards/events").header("Last-Event-ID", "5"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:6\nevent:points\ndata:{\"id\":6,\"customerId\":2,"), body);
+        assertTrue(body.contains("\"month\":\"2024-03\""), body);
+    }
+}
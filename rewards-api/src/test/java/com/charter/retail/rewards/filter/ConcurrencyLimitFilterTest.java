@@ -0,0 +1,139 @@
+package com.charter.retail.rewards.filter;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.util.AdaptiveConcurrencyLimit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ConcurrencyLimitFilterTest {
+    
+    private ConcurrencyLimitFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        RewardsConfig config = new RewardsConfig();
+        config.getConcurrencyLimit().getRead().setInitialLimit(1);
+        config.getConcurrencyLimit().getWrite().setInitialLimit(1);
+        config.getConcurrencyLimit().getWrite().setRetryAfterSeconds(2);
+        filter = new ConcurrencyLimitFilter(config, new ObjectMapper());
+    }
+    
+    @Test
+    void testWriteOverLimit_Returns429WithRetryAfter() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.WRITE).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+        
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/transactions"), response, chain);
+        
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+        verifyNoInteractions(chain);
+    }
+    
+    @Test
+    void testReadsAreLimitedSeparatelyFromWrites() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.WRITE).tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rewards/customer/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+        
+        filter.doFilter(request, response, chain);
+        
+        verify(chain).doFilter(request, response);
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).getInFlight());
+    }
+    
+    @Test
+    void testLookupsAreLimitedAsReads() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/rewards/customers/lookup"), response, new MockFilterChain());
+        
+        assertEquals(503, response.getStatus());
+        assertEquals(0, filter.limitFor(ConcurrencyLimitFilter.EndpointClass.WRITE).getRejected());
+    }
+    
+    @Test
+    void testReadOverLimit_Returns503() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rewards/customers"), response, new MockFilterChain());
+        
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+    
+    @Test
+    void testNonApiRequestsAreNotLimited() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+        
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+    }
+    
+    @Test
+    void testEventStreamsAreNotLimited() throws Exception {
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        MockHttpServletResponse streamResponse = new MockHttpServletResponse();
+        
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rewards/events"), response, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rewards/customer/1/stream"), streamResponse,
+                new MockFilterChain());
+        
+        assertEquals(200, response.getStatus());
+        assertEquals(200, streamResponse.getStatus());
+        assertEquals(1, filter.limitFor(ConcurrencyLimitFilter.EndpointClass.READ).getInFlight());
+    }
+    
+    @Test
+    void testServerErrorsReleasePermitAndBackOff() throws Exception {
+        RewardsConfig config = new RewardsConfig();
+        config.getConcurrencyLimit().getWrite().setInitialLimit(10);
+        ConcurrencyLimitFilter largerFilter = new ConcurrencyLimitFilter(config, new ObjectMapper());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        largerFilter.doFilter(new MockHttpServletRequest("POST", "/api/transactions"), response,
+                (req, res) -> response.setStatus(500));
+        
+        AdaptiveConcurrencyLimit limit = largerFilter.limitFor(ConcurrencyLimitFilter.EndpointClass.WRITE);
+        assertEquals(0, limit.getInFlight());
+        assertEquals(9, limit.getLimit());
+    }
+    
+    @Test
+    void testBindTo_RegistersMetersPerEndpointClass() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.limitFor(ConcurrencyLimitFilter.EndpointClass.WRITE).tryAcquire();
+        
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/transactions"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        
+        assertEquals(1.0, registry.get("rewards.concurrency.limit").tag("endpoint", "read").gauge().value());
+        assertEquals(1.0, registry.get("rewards.concurrency.in.flight").tag("endpoint", "write").gauge().value());
+        assertEquals(1.0, registry.get("rewards.concurrency.rejected").tag("endpoint", "write").functionCounter().count());
+    }
+}
@@ -0,0 +1,112 @@
+package com.charter.retail.rewards.filter;
+
+import com.charter.retail.rewards.controller.QueryDiagnosticsEndpoint;
+import com.charter.retail.rewards.dto.DbRequestProfileDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.DiagnosticDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests against the real, proxied data source and checks the database work reported for them.
+ */
+@SpringBootTest(properties = {"rewards.calculation-months=3", "rewards.month-format=yyyy-MM",
+        "rewards.diagnostics.enabled=true", "rewards.diagnostics.response-headers=true"})
+@AutoConfigureMockMvc
+class QueryDiagnosticsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryDiagnosticsEndpoint endpoint;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Diagnostics Customer", new ArrayList<>()));
+        transactionRepository.save(new Transaction(null, customer, 12000L, LocalDate.now().minusDays(3)));
+        transactionRepository.save(new Transaction(null, customer, 7500L, LocalDate.now().minusDays(5)));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        endpoint.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rewards_outbox WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM transactions WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+    }
+
+    @Test
+    void testDataSourceIsWrapped() {
+        assertThat(DiagnosticDataSource.isWrapped(dataSource)).isTrue();
+    }
+
+    @Test
+    void testRequestReportsDatabaseWorkInHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/rewards/customer/" + customer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(QueryDiagnosticsFilter.TIME_HEADER))
+            .andExpect(header().exists(QueryDiagnosticsFilter.SLOWEST_HEADER))
+            .andReturn();
+
+        // Customer summary and its transactions
+        assertThat(Integer.parseInt(result.getResponse().getHeader(QueryDiagnosticsFilter.STATEMENTS_HEADER)))
+                .isGreaterThanOrEqualTo(2);
+        assertThat(Long.parseLong(result.getResponse().getHeader(QueryDiagnosticsFilter.ROWS_HEADER)))
+                .isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void testEndpointListsProfiledRequestsAndStatements() throws Exception {
+        mockMvc.perform(get("/api/rewards/customer/" + customer.getId()))
+            .andExpect(status().isOk());
+
+        assertThat(endpoint.topOffenders().getSlowestRequests())
+                .extracting(DbRequestProfileDto::getUri)
+                .contains("/api/rewards/customer/" + customer.getId());
+        assertThat(endpoint.topOffenders().getTopStatements())
+                .anySatisfy(statement -> assertThat(statement.getSql()).containsIgnoringCase("transactions"));
+
+        endpoint.reset();
+
+        assertThat(endpoint.topOffenders().getSlowestRequests()).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.charter.retail.rewards.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AmountCentsMigrationTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AmountCentsMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        migration = new AmountCentsMigration(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldBackfillCentsFromLegacyAmountColumn() {
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, customer_id BIGINT NOT NULL, "
+                + "amount NUMERIC(38, 2) NOT NULL, transaction_date DATE NOT NULL)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (1, 1, 120.00, CURRENT_DATE)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (?, 1, 75.55, CURRENT_DATE)",
+                AmountCentsMigration.BACKFILL_BATCH_SIZE + 1L);
+
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT amount_cents FROM transactions ORDER BY id", Long.class))
+                .containsExactly(12000L, 7555L);
+        jdbcTemplate.update("INSERT INTO transactions (id, customer_id, amount_cents, transaction_date) "
+                + "VALUES (3, 1, 100, CURRENT_DATE)");
+    }
+
+    @Test
+    void shouldFinishAnInterruptedMigration() {
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, amount NUMERIC(38, 2) NOT NULL, "
+                + "amount_cents BIGINT)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (1, 120.00, 12001)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (2, 75.55, NULL)");
+
+        migration.migrate();
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT amount_cents FROM transactions ORDER BY id", Long.class))
+                .containsExactly(12001L, 7555L);
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO transactions VALUES (3, NULL, NULL)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldSkipWhenAlreadyMigrated() {
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, amount NUMERIC(38, 2), "
+                + "amount_cents BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (1, ?, 500)", new BigDecimal("1.00"));
+
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT amount_cents FROM transactions", Long.class)).isEqualTo(500L);
+    }
+
+    @Test
+    void shouldSkipWhenTableDoesNotExist() {
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE LOWER(table_name) = 'transactions'", Integer.class)).isZero();
+    }
+}
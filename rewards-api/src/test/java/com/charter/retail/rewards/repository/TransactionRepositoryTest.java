@@ -8,7 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,11 +35,11 @@ class TransactionRepositoryTest {
 
     @Test
     void shouldSaveAndFindTransaction() {
-        Transaction transaction = new Transaction(null, testCustomer1, new BigDecimal("120.00"), LocalDate.now());
+        Transaction transaction = new Transaction(null, testCustomer1, 12000L, LocalDate.now());
         Transaction saved = transactionRepository.save(transaction);
         
         assertThat(saved.getId()).isNotNull();
-        assertThat(saved.getAmount()).isEqualByComparingTo(new BigDecimal("120.00"));
+        assertThat(saved.getAmountCents()).isEqualTo(12000L);
     }
 
     @Test
@@ -48,9 +47,9 @@ class TransactionRepositoryTest {
         LocalDate startDate = LocalDate.now().minusDays(30);
         LocalDate endDate = LocalDate.now();
         
-        transactionRepository.save(new Transaction(null, testCustomer1, new BigDecimal("100.00"), LocalDate.now().minusDays(10)));
-        transactionRepository.save(new Transaction(null, testCustomer1, new BigDecimal("150.00"), LocalDate.now().minusDays(20)));
-        transactionRepository.save(new Transaction(null, testCustomer2, new BigDecimal("200.00"), LocalDate.now().minusDays(15)));
+        transactionRepository.save(new Transaction(null, testCustomer1, 10000L, LocalDate.now().minusDays(10)));
+        transactionRepository.save(new Transaction(null, testCustomer1, 15000L, LocalDate.now().minusDays(20)));
+        transactionRepository.save(new Transaction(null, testCustomer2, 20000L, LocalDate.now().minusDays(15)));
         
         List<Transaction> transactions = transactionRepository.findByCustomerIdAndTransactionDateBetween(testCustomer1.getId(), startDate, endDate);
         
@@ -58,13 +57,28 @@ class TransactionRepositoryTest {
         assertThat(transactions).allMatch(t -> t.getCustomerId().equals(testCustomer1.getId()));
     }
 
+    @Test
+    void shouldFindTransactionAmountsByCustomerIdAndDateRange() {
+        LocalDate startDate = LocalDate.now().minusDays(30);
+        LocalDate endDate = LocalDate.now();
+        
+        transactionRepository.save(new Transaction(null, testCustomer1, 10000L, LocalDate.now().minusDays(10)));
+        transactionRepository.save(new Transaction(null, testCustomer1, 15000L, LocalDate.now().minusDays(40)));
+        transactionRepository.save(new Transaction(null, testCustomer2, 20000L, LocalDate.now().minusDays(15)));
+        
+        List<TransactionAmount> amounts = transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(testCustomer1.getId(), startDate, endDate);
+        
+        assertThat(amounts).containsExactly(
+                new TransactionAmount(testCustomer1.getId(), 10000L, LocalDate.now().minusDays(10)));
+    }
+
     @Test
     void shouldFindTransactionsByDateRange() {
         LocalDate startDate = LocalDate.now().minusDays(30);
         LocalDate endDate = LocalDate.now();
         
-        transactionRepository.save(new Transaction(null, testCustomer1, new BigDecimal("100.00"), LocalDate.now().minusDays(10)));
-        transactionRepository.save(new Transaction(null, testCustomer2, new BigDecimal("150.00"), LocalDate.now().minusDays(50)));
+        transactionRepository.save(new Transaction(null, testCustomer1, 10000L, LocalDate.now().minusDays(10)));
+        transactionRepository.save(new Transaction(null, testCustomer2, 15000L, LocalDate.now().minusDays(50)));
         
         List<Transaction> transactions = transactionRepository.findByTransactionDateBetween(startDate, endDate);
         
@@ -0,0 +1,100 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class CustomerExistenceIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private CustomerExistenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerExistenceIndex(jdbcTemplate, new RewardsConfig());
+    }
+
+    @Test
+    void shouldBeUnknownUntilLoaded() {
+        assertThat(index.membership(1L)).isEqualTo(CustomerExistenceIndex.Membership.UNKNOWN);
+    }
+
+    @Test
+    void shouldLoadExistingCustomers() {
+        Customer customer = customerRepository.saveAndFlush(new Customer(null, "Indexed Customer", new ArrayList<>()));
+
+        index.load();
+
+        assertThat(index.membership(customer.getId())).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+        assertThat(index.membership(customer.getId() + 1)).isEqualTo(CustomerExistenceIndex.Membership.ABSENT);
+    }
+
+    @Test
+    void shouldPickUpLowerIdsCommittedLateOnRefresh() {
+        Customer lateCustomer = customerRepository.saveAndFlush(new Customer(null, "Late Commit", new ArrayList<>()));
+        customerRepository.saveAndFlush(new Customer(null, "Early Commit", new ArrayList<>()));
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", lateCustomer.getId());
+        index.load();
+
+        // The lower ID commits after the higher one was loaded
+        jdbcTemplate.update("INSERT INTO customers (id, name, program) VALUES (?, ?, ?)",
+                lateCustomer.getId(), lateCustomer.getName(), lateCustomer.getProgram());
+
+        assertThat(index.membership(lateCustomer.getId())).isEqualTo(CustomerExistenceIndex.Membership.ABSENT);
+
+        index.refresh();
+
+        assertThat(index.membership(lateCustomer.getId())).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+    }
+
+    @Test
+    void shouldPickUpCustomersOnRefresh() {
+        index.load();
+        Customer customer = customerRepository.saveAndFlush(new Customer(null, "Late Customer", new ArrayList<>()));
+
+        index.refresh();
+
+        assertThat(index.membership(customer.getId())).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+    }
+
+    @Test
+    void shouldGrowAndRemove() {
+        index.load();
+        index.add(5L);
+        index.add(1_000_000L);
+        index.add(Long.MAX_VALUE);
+        index.remove(5L);
+
+        assertThat(index.membership(5L)).isNotEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+        assertThat(index.membership(1_000_000L)).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+        assertThat(index.membership(999_999L)).isNotEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+        assertThat(index.membership(Long.MAX_VALUE)).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+    }
+
+    @Test
+    void shouldStayUnknownWhenDisabled() {
+        RewardsConfig config = new RewardsConfig();
+        config.getCustomerIndex().setEnabled(false);
+        CustomerExistenceIndex disabled = new CustomerExistenceIndex(jdbcTemplate, config);
+
+        disabled.load();
+
+        assertThat(disabled.membership(1L)).isEqualTo(CustomerExistenceIndex.Membership.UNKNOWN);
+    }
+}
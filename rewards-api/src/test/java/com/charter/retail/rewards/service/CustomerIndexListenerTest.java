@@ -0,0 +1,38 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CustomerIndexListenerTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerExistenceIndex customerIndex;
+
+    @Autowired
+    private RewardsVersionTracker versionTracker;
+
+    @Test
+    void shouldIndexCustomersOnCommit() {
+        String pageETag = versionTracker.pageETag(PageRequest.of(0, 20));
+
+        Customer customer = customerRepository.save(new Customer(null, "Listener Customer", new ArrayList<>()));
+
+        assertThat(customerIndex.membership(customer.getId())).isEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+        assertThat(versionTracker.pageETag(PageRequest.of(0, 20))).isNotEqualTo(pageETag);
+
+        customerRepository.delete(customer);
+
+        assertThat(customerIndex.membership(customer.getId())).isNotEqualTo(CustomerExistenceIndex.Membership.PRESENT);
+    }
+}
@@ -0,0 +1,106 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.TransactionDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the rewards paths against initialising a customer's lazy transactions collection,
+ * which would load the customer's whole transaction history.
+ */
+@SpringBootTest(properties = {"rewards.calculation-months=3", "rewards.month-format=yyyy-MM"})
+class CustomerReadModelTest {
+
+    private static final String TRANSACTIONS_ROLE = Customer.class.getName() + ".transactions";
+
+    @Autowired
+    private RewardsService rewardsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Read Model Customer", new ArrayList<>()));
+        transactionRepository.save(new Transaction(null, customer, 12000L, LocalDate.now().minusDays(3)));
+        transactionRepository.save(new Transaction(null, customer, 7500L, LocalDate.now().minusDays(40)));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rewards_outbox WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM transactions WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+    }
+
+    @Test
+    void shouldReadRewardsWithoutLoadingCustomerEntities() {
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId()).getCustomerName())
+                .isEqualTo("Read Model Customer");
+        rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 20));
+        rewardsService.lookupRewards(List.of(customer.getId()));
+
+        assertThat(statistics.getEntityStatistics(Customer.class.getName()).getLoadCount()).isZero();
+        assertTransactionsCollectionNotInitialised();
+    }
+
+    @Test
+    void shouldCreateTransactionWithoutInitialisingTransactionsCollection() {
+        rewardsService.createTransaction(new TransactionDto(null, customer.getId(), new BigDecimal("60.00"),
+                LocalDate.now()));
+
+        assertTransactionsCollectionNotInitialised();
+    }
+
+    @Test
+    void shouldLeaveRelationshipsOutOfEqualsHashCodeAndToString() {
+        Customer detached = new Customer(1L, "Detached Customer", new ArrayList<>());
+        detached.getTransactions().add(new Transaction(2L, detached, 5000L, LocalDate.now()));
+
+        assertThat(detached.toString()).doesNotContain("transactions");
+        assertThat(detached.getTransactions().get(0).toString()).doesNotContain("customer=");
+        assertThat(detached).isEqualTo(new Customer(1L, "Detached Customer", List.of()));
+        assertThat(detached.hashCode()).isEqualTo(new Customer(1L, "Detached Customer", List.of()).hashCode());
+    }
+
+    private void assertTransactionsCollectionNotInitialised() {
+        CollectionStatistics transactions = statistics.getCollectionStatistics(TRANSACTIONS_ROLE);
+        assertThat(transactions.getLoadCount()).isZero();
+        assertThat(transactions.getFetchCount()).isZero();
+    }
+}
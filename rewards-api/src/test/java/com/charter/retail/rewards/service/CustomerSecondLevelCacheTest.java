@@ -0,0 +1,85 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"rewards.calculation-months=3", "rewards.month-format=yyyy-MM"})
+class CustomerSecondLevelCacheTest {
+
+    @Autowired
+    private RewardsService rewardsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Cached Customer", new ArrayList<>()));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.delete(customer);
+    }
+
+    @Test
+    void shouldServeRepeatedCustomerEntityLookupsFromSecondLevelCache() {
+        customerRepository.findById(customer.getId());
+        long loadsAfterFirstCall = statistics.getEntityLoadCount();
+
+        customerRepository.findById(customer.getId());
+        customerRepository.findById(customer.getId());
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loadsAfterFirstCall);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldReadCustomerChangedByAnotherInstance() {
+        rewardsService.getRewardsForCustomer(customer.getId());
+
+        // Another instance's write, which this instance's caches never see
+        jdbcTemplate.update("UPDATE customers SET name = 'Renamed Customer' WHERE id = ?", customer.getId());
+
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId()).getCustomerName())
+                .isEqualTo("Renamed Customer");
+    }
+
+    @Test
+    void shouldReadPagesChangedByAnotherInstance() {
+        rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 20));
+
+        jdbcTemplate.update("UPDATE customers SET name = 'Renamed Customer' WHERE id = ?", customer.getId());
+
+        assertThat(rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 20)).getContent())
+                .extracting(CustomerRewardsDto::getCustomerName)
+                .contains("Renamed Customer");
+    }
+}
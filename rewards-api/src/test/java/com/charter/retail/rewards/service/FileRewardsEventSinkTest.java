@@ -0,0 +1,40 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileRewardsEventSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPublish_AppendsJsonLines() throws Exception {
+        Path file = directory.resolve("events/rewards-events.jsonl");
+        RewardsConfig config = new RewardsConfig();
+        config.getOutbox().getFile().setPath(file.toString());
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        FileRewardsEventSink sink = new FileRewardsEventSink(config, objectMapper);
+        Instant createdAt = Instant.parse("2024-03-05T10:15:30Z");
+
+        sink.publish(List.of(new RewardsEventDto(1L, 7L, 11L, "2024-03", 90, createdAt)));
+        sink.publish(List.of(new RewardsEventDto(2L, 8L, 12L, "2024-03", 25, createdAt)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":1,\"customerId\":7,\"transactionId\":11,\"month\":\"2024-03\","
+                + "\"pointsDelta\":90,"));
+        assertEquals(2L, objectMapper.readValue(lines.get(1), RewardsEventDto.class).getId());
+    }
+}
@@ -0,0 +1,93 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.DbRequestProfileDto;
+import com.charter.retail.rewards.dto.DbStatementStatsDto;
+import com.charter.retail.rewards.dto.QueryDiagnosticsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryDiagnosticsTest {
+    
+    private RewardsConfig config;
+    private QueryDiagnostics diagnostics;
+    
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.getDiagnostics().setTopOffenders(2);
+        config.getDiagnostics().setMaxTrackedStatements(2);
+        diagnostics = new QueryDiagnostics(config);
+    }
+    
+    @Test
+    void testRequestProfileAccumulatesStatementsOfItsThread() {
+        QueryDiagnostics.RequestProfile profile = diagnostics.begin("GET", "/api/rewards/customers");
+        diagnostics.statementExecuted("select count(*) from customers", millis(3));
+        diagnostics.statementExecuted("select * from transactions", millis(7));
+        diagnostics.rowFetched();
+        diagnostics.rowFetched();
+        
+        DbRequestProfileDto result = diagnostics.end(profile, 200);
+        diagnostics.statementExecuted("select 1", millis(1));
+        
+        assertEquals(2, result.getStatements());
+        assertEquals(10.0, result.getDbTimeMs());
+        assertEquals(2, result.getRows());
+        assertEquals(7.0, result.getSlowestStatementMs());
+        assertEquals("select * from transactions", result.getSlowestStatement());
+        assertTrue(result.getRequestTimeMs() >= 0);
+    }
+    
+    @Test
+    void testTopOffendersKeepsSlowestRequestsAndStatements() {
+        recordRequest("/api/a", millis(5));
+        recordRequest("/api/b", millis(20));
+        recordRequest("/api/c", millis(10));
+        
+        QueryDiagnosticsDto offenders = diagnostics.topOffenders();
+        
+        assertEquals(2, offenders.getSlowestRequests().size());
+        assertEquals("/api/b", offenders.getSlowestRequests().get(0).getUri());
+        assertEquals("/api/c", offenders.getSlowestRequests().get(1).getUri());
+        DbStatementStatsDto top = offenders.getTopStatements().get(0);
+        assertEquals("select /api/b", top.getSql());
+        assertEquals(1, top.getExecutions());
+    }
+    
+    @Test
+    void testStatementsBeyondLimitAreCountedTogether() {
+        diagnostics.statementExecuted("select 1", millis(1));
+        diagnostics.statementExecuted("select 2", millis(1));
+        diagnostics.statementExecuted("select 3", millis(4));
+        diagnostics.statementExecuted("select 4", millis(4));
+        diagnostics.statementExecuted("select 1", millis(1));
+        
+        QueryDiagnosticsDto offenders = diagnostics.topOffenders();
+        
+        assertEquals(QueryDiagnostics.OTHER_STATEMENTS, offenders.getTopStatements().get(0).getSql());
+        assertEquals(2, offenders.getTopStatements().get(0).getExecutions());
+        assertEquals(2, offenders.getTopStatements().get(1).getExecutions());
+    }
+    
+    @Test
+    void testRequestsWithoutStatementsAreNotRanked() {
+        diagnostics.end(diagnostics.begin("GET", "/api/rewards/customer/1"), 304);
+        
+        assertTrue(diagnostics.topOffenders().getSlowestRequests().isEmpty());
+    }
+    
+    private void recordRequest(String uri, long elapsedNanos) {
+        QueryDiagnostics.RequestProfile profile = diagnostics.begin("GET", uri);
+        diagnostics.statementExecuted("select " + uri, elapsedNanos);
+        diagnostics.end(profile, 200);
+    }
+    
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,107 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardRuleVersionDto;
+import com.charter.retail.rewards.entity.RewardRuleVersion;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.repository.RewardRuleVersionRepository;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RewardRulesServiceTest {
+    
+    @Mock
+    private RewardRuleVersionRepository ruleVersionRepository;
+    
+    @Mock
+    private RewardsRecomputeService recomputeService;
+    
+    private RewardsCalculator rewardsCalculator;
+    private RewardRulesService rewardRulesService;
+    
+    @BeforeEach
+    void setUp() {
+        RewardsConfig config = new RewardsConfig();
+        config.setTierOneThreshold(50);
+        config.setTierTwoThreshold(100);
+        config.setTierOneMultiplier(1);
+        config.setTierTwoMultiplier(2);
+        rewardsCalculator = new RewardsCalculator(config.baseRules());
+        rewardRulesService = new RewardRulesService(ruleVersionRepository, rewardsCalculator, recomputeService);
+    }
+    
+    @Test
+    void testLoad_InstallsStoredVersionsWithoutRecompute() {
+        LocalDate effectiveFrom = LocalDate.now().minusDays(10);
+        when(ruleVersionRepository.findByIdGreaterThanOrderByIdAsc(0L))
+            .thenReturn(List.of(new RewardRuleVersion(1L, "default", effectiveFrom, 50, 100, 1, 3, Instant.now())));
+        
+        rewardRulesService.load();
+        
+        assertEquals(110, rewardsCalculator.calculatePoints(12000L, effectiveFrom));
+        verify(recomputeService, never()).submit(any());
+    }
+    
+    @Test
+    void testAddVersion_InstallsAndStartsRecompute() {
+        LocalDate effectiveFrom = LocalDate.now().minusDays(5);
+        when(ruleVersionRepository.save(any(RewardRuleVersion.class))).thenAnswer(invocation -> {
+            RewardRuleVersion version = invocation.getArgument(0);
+            version.setId(7L);
+            return version;
+        });
+        
+        RewardRuleVersionDto result = rewardRulesService.addVersion(new RewardRuleVersionDto(null, null, effectiveFrom, 40, 90, 1, 2));
+        
+        assertEquals(7L, result.getVersion());
+        assertEquals(effectiveFrom, result.getEffectiveFrom());
+        assertEquals(110, rewardsCalculator.calculatePoints(12000L, effectiveFrom));
+        verify(recomputeService).submit(RewardRules.of("default", 7L, effectiveFrom, 40, 90, 1, 2));
+    }
+    
+    @Test
+    void testRefresh_InstallsNewerVersionsWithRecompute() {
+        LocalDate effectiveFrom = LocalDate.now();
+        when(ruleVersionRepository.findByIdGreaterThanOrderByIdAsc(0L))
+            .thenReturn(List.of(new RewardRuleVersion(3L, "default", effectiveFrom, 50, 100, 2, 2, Instant.now())));
+        
+        rewardRulesService.refresh();
+        
+        verify(recomputeService).submit(RewardRules.of("default", 3L, effectiveFrom, 50, 100, 2, 2));
+    }
+    
+    @Test
+    void testGetVersions_IncludesBaseVersion() {
+        List<RewardRuleVersionDto> versions = rewardRulesService.getVersions();
+        
+        assertEquals(1, versions.size());
+        assertEquals(0L, versions.get(0).getVersion());
+        assertNull(versions.get(0).getEffectiveFrom());
+        assertEquals(100, versions.get(0).getTierTwoThreshold());
+    }
+    
+    @Test
+    void testGetRecomputeProgress_NotFound() {
+        when(recomputeService.getProgress(5L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> rewardRulesService.getRecomputeProgress(5L));
+    }
+}
@@ -0,0 +1,230 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RewardsEventDto;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The relay reads and checkpoints in separate statements, so the test data is committed
+ * instead of living in the usual test transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RewardsOutboxRelayTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RewardsOutboxRepository outboxRepository;
+
+    private RewardsConfig config;
+    private RecordingSink healthySink;
+    private RecordingSink flakySink;
+    private RewardsOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.setMonthFormat("yyyy-MM");
+        config.getOutbox().setBatchSize(2);
+        healthySink = new RecordingSink("healthy");
+        flakySink = new RecordingSink("flaky");
+        relay = new RewardsOutboxRelay(outboxRepository, jdbcTemplate, List.of(healthySink, flakySink), config);
+
+        Instant createdAt = Instant.now().minusSeconds(60);
+        for (int i = 1; i <= 5; i++) {
+            outboxRepository.save(new RewardsOutboxEvent(null, (long) i, 100L + i, LocalDate.of(2024, 3, 1),
+                    10 * i, createdAt));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_gaps");
+        jdbcTemplate.update("DELETE FROM outbox_checkpoints");
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDeliverEventsInIdOrderAndCheckpoint() {
+        long delivered = relay.relay();
+
+        assertThat(delivered).isEqualTo(10);
+        assertThat(healthySink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(healthySink.received.get(0).getMonth()).isEqualTo("2024-03");
+        assertThat(healthySink.received.get(0).getPointsDelta()).isEqualTo(10);
+        assertThat(relay.relay()).isZero();
+        assertThat(healthySink.received).hasSize(5);
+    }
+
+    @Test
+    void shouldRedeliverFailedBatchWithoutHoldingBackOtherSinks() {
+        flakySink.failuresLeft = 1;
+
+        relay.relay();
+
+        assertThat(healthySink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(flakySink.received).isEmpty();
+
+        relay.relay();
+
+        assertThat(flakySink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(healthySink.received).hasSize(5);
+    }
+
+    @Test
+    void shouldDeliverEventThatCommitsAfterAHigherId() {
+        List<RewardsOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        RewardsOutboxEvent inFlight = events.get(2);
+        outboxRepository.deleteById(inFlight.getId());
+
+        relay.relay();
+
+        assertThat(healthySink.customerIds()).containsExactly(1L, 2L, 4L, 5L);
+
+        jdbcTemplate.update("INSERT INTO rewards_outbox (id, customer_id, transaction_id, points_month, "
+                + "points_delta, created_at) VALUES (?, 3, 103, ?, 30, ?)", inFlight.getId(),
+                LocalDate.of(2024, 3, 1), Timestamp.from(inFlight.getCreatedAt()));
+        relay.relay();
+
+        assertThat(healthySink.customerIds()).containsExactly(1L, 2L, 4L, 5L, 3L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_gaps", Integer.class)).isZero();
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    void shouldGiveUpGapsAfterTheGapTimeout() {
+        List<RewardsOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        outboxRepository.deleteById(events.get(2).getId());
+        relay.relay();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_gaps", Integer.class)).isEqualTo(2);
+
+        config.getOutbox().setGapTimeoutMs(0);
+        relay.relay();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_gaps", Integer.class)).isZero();
+    }
+
+    @Test
+    void shouldGiveEachInstanceItsOwnCheckpointForPerInstanceSinks() {
+        RecordingSink firstInstanceSink = new RecordingSink("local", true);
+        RecordingSink secondInstanceSink = new RecordingSink("local", true);
+        RewardsOutboxRelay firstInstance = new RewardsOutboxRelay(outboxRepository, jdbcTemplate,
+                List.of(firstInstanceSink, healthySink), config);
+        RewardsOutboxRelay secondInstance = new RewardsOutboxRelay(outboxRepository, jdbcTemplate,
+                List.of(secondInstanceSink, healthySink), config);
+        config.getOutbox().setBatchSize(10);
+
+        firstInstance.relay();
+        secondInstance.relay();
+
+        assertThat(firstInstanceSink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(secondInstanceSink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(healthySink.customerIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(firstInstance.checkpointKey(firstInstanceSink))
+                .startsWith("local@")
+                .isNotEqualTo(secondInstance.checkpointKey(secondInstanceSink));
+    }
+
+    @Test
+    void shouldIgnoreCheckpointsOfStoppedInstancesWhenPurging() {
+        config.getOutbox().setRetentionHours(0);
+        jdbcTemplate.update("INSERT INTO outbox_checkpoints (sink, last_event_id, updated_at) VALUES (?, 0, ?)",
+                "local@stopped", Timestamp.from(Instant.now().minusSeconds(60)));
+        relay.relay();
+
+        assertThat(relay.purgeDelivered()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_checkpoints WHERE sink = ?",
+                Integer.class, "local@stopped")).isZero();
+    }
+
+    @Test
+    void shouldKeepEventsOfOpenGapsWhenPurging() {
+        config.getOutbox().setRetentionHours(0);
+        List<RewardsOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        long gapId = events.get(2).getId();
+        outboxRepository.deleteById(gapId);
+        relay.relay();
+        jdbcTemplate.update("INSERT INTO rewards_outbox (id, customer_id, transaction_id, points_month, "
+                + "points_delta, created_at) VALUES (?, 3, 103, ?, 30, ?)", gapId,
+                LocalDate.of(2024, 3, 1), Timestamp.from(Instant.now().minusSeconds(60)));
+
+        assertThat(relay.purgeDelivered()).isEqualTo(4);
+        assertThat(outboxRepository.findById(gapId)).isPresent();
+    }
+
+    @Test
+    void shouldPurgeOnlyEventsDeliveredToEverySink() {
+        config.getOutbox().setRetentionHours(0);
+        flakySink.failuresLeft = 1;
+        relay.relay();
+
+        assertThat(relay.purgeDelivered()).isZero();
+
+        relay.relay();
+
+        assertThat(relay.purgeDelivered()).isEqualTo(5);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private static final class RecordingSink implements RewardsEventSink {
+
+        private final String name;
+        private final boolean perInstance;
+        private final List<RewardsEventDto> received = new ArrayList<>();
+        private int failuresLeft;
+
+        RecordingSink(String name) {
+            this(name, false);
+        }
+
+        RecordingSink(String name, boolean perInstance) {
+            this.name = name;
+            this.perInstance = perInstance;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean perInstance() {
+            return perInstance;
+        }
+
+        @Override
+        public void publish(List<RewardsEventDto> events) throws IOException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("unavailable");
+            }
+            received.addAll(events);
+        }
+
+        List<Long> customerIds() {
+            return received.stream().map(RewardsEventDto::getCustomerId).toList();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.RecomputeProgressDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RewardsRecomputeServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private RewardsVersionTracker versionTracker;
+    private RewardsResponseCache responseCache;
+    private RewardsRecomputeService recomputeService;
+    private Customer recentCustomer;
+    private Customer olderCustomer;
+    private Customer otherRecentCustomer;
+
+    @BeforeEach
+    void setUp() {
+        RewardsConfig config = new RewardsConfig();
+        config.setCalculationMonths(3);
+        config.getRuleVersions().setRecomputeBatchSize(1);
+        versionTracker = mock(RewardsVersionTracker.class);
+        responseCache = mock(RewardsResponseCache.class);
+        recomputeService = new RewardsRecomputeService(jdbcTemplate, versionTracker, responseCache, config);
+
+        LocalDate today = LocalDate.now();
+        recentCustomer = customerRepository.save(new Customer(null, "Recent", new ArrayList<>()));
+        olderCustomer = customerRepository.save(new Customer(null, "Older", new ArrayList<>()));
+        otherRecentCustomer = customerRepository.save(new Customer(null, "Other Recent", new ArrayList<>()));
+        transactionRepository.save(new Transaction(null, recentCustomer, 12000L, today.minusDays(2)));
+        transactionRepository.save(new Transaction(null, recentCustomer, 5000L, today.minusDays(1)));
+        transactionRepository.save(new Transaction(null, olderCustomer, 12000L, today.minusDays(40)));
+        transactionRepository.save(new Transaction(null, otherRecentCustomer, 9000L, today));
+        transactionRepository.flush();
+    }
+
+    @Test
+    void shouldRecomputeOnlyCustomersWithTransactionsSinceEffectiveDate() {
+        LocalDate effectiveFrom = LocalDate.now().minusDays(10);
+        when(versionTracker.currentVersion(anyLong())).thenReturn(3L);
+        when(versionTracker.customerETagAt(3L)).thenReturn("\"tag\"");
+        RewardsRecomputeService.Progress progress = new RewardsRecomputeService.Progress(1);
+
+        recomputeService.recompute(RewardRules.of("default", 1, effectiveFrom, 50, 100, 1, 3), progress);
+
+        RecomputeProgressDto dto = progress.toDto();
+        assertThat(dto.getState()).isEqualTo(RecomputeProgressDto.State.COMPLETED);
+        assertThat(dto.getRecomputeFrom()).isEqualTo(effectiveFrom);
+        assertThat(dto.getAffectedCustomers()).isEqualTo(2);
+        assertThat(dto.getProcessedCustomers()).isEqualTo(2);
+        verify(versionTracker).advance(recentCustomer.getId());
+        verify(versionTracker).advance(otherRecentCustomer.getId());
+        verify(versionTracker, never()).advance(olderCustomer.getId());
+        verify(responseCache).refresh(recentCustomer.getId(), 3L, "\"tag\"");
+    }
+
+    @Test
+    void shouldRecomputeOnlyCustomersOfTheVersionsProgram() {
+        Customer premiumCustomer = customerRepository.save(new Customer(null, "Premium", new ArrayList<>(), "premium"));
+        transactionRepository.save(new Transaction(null, premiumCustomer, 12000L, LocalDate.now()));
+        transactionRepository.flush();
+        RewardsRecomputeService.Progress progress = new RewardsRecomputeService.Progress(4);
+
+        recomputeService.recompute(RewardRules.of("premium", 4, LocalDate.now().minusDays(10), 50, 100, 1, 3), progress);
+
+        assertThat(progress.toDto().getProcessedCustomers()).isEqualTo(1);
+        verify(versionTracker).advance(premiumCustomer.getId());
+        verify(versionTracker, never()).advance(recentCustomer.getId());
+    }
+
+    @Test
+    void shouldClampRecomputeToCalculationWindow() {
+        RewardsRecomputeService.Progress progress = new RewardsRecomputeService.Progress(2);
+
+        recomputeService.recompute(RewardRules.of("default", 2, LocalDate.of(2000, 1, 1), 50, 100, 1, 3), progress);
+
+        assertThat(progress.toDto().getRecomputeFrom()).isEqualTo(LocalDate.now().minusMonths(3));
+        assertThat(progress.toDto().getProcessedCustomers()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSkipVersionsEffectiveInTheFuture() {
+        RewardsRecomputeService.Progress progress = new RewardsRecomputeService.Progress(3);
+
+        recomputeService.recompute(RewardRules.of("default", 3, LocalDate.now().plusDays(1), 50, 100, 1, 3), progress);
+
+        assertThat(progress.toDto().getState()).isEqualTo(RecomputeProgressDto.State.SKIPPED);
+        verify(versionTracker, never()).advance(anyLong());
+    }
+}
@@ -0,0 +1,153 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RewardsResponseCacheTest {
+
+    private static final Long VERSION = 1L;
+
+    @Mock
+    private RewardsService rewardsService;
+
+    private RewardsConfig config;
+    private RewardsResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.getResponseCache().setEnabled(true);
+        cache = new RewardsResponseCache(rewardsService, new ObjectMapper(), config);
+    }
+
+    @Test
+    void testWriteCustomerRewards_SerialisesOncePerETag() throws Exception {
+        when(rewardsService.getRewardsForCustomer(1L, VERSION))
+            .thenReturn(new CustomerRewardsDto(1L, "Test Customer", Map.of("2024-12", 90), 90));
+
+        MockHttpServletResponse first = write(1L, "\"v1\"", null, null);
+        MockHttpServletResponse second = write(1L, "\"v1\"", null, null);
+
+        verify(rewardsService, times(1)).getRewardsForCustomer(1L, VERSION);
+        assertEquals("application/json", first.getContentType());
+        assertEquals("\"v1\"", second.getHeader("ETag"));
+        assertTrue(second.getContentAsString().contains("\"totalPoints\":90"));
+    }
+
+    @Test
+    void testWriteCustomerRewards_ReserialisesWhenETagChanges() throws Exception {
+        when(rewardsService.getRewardsForCustomer(1L, VERSION))
+            .thenReturn(new CustomerRewardsDto(1L, "Test Customer", Map.of("2024-12", 90), 90))
+            .thenReturn(new CustomerRewardsDto(1L, "Test Customer", Map.of("2024-12", 115), 115));
+
+        write(1L, "\"v1\"", null, null);
+        MockHttpServletResponse response = write(1L, "\"v2\"", null, null);
+
+        verify(rewardsService, times(2)).getRewardsForCustomer(1L, VERSION);
+        assertTrue(response.getContentAsString().contains("\"totalPoints\":115"));
+    }
+
+    @Test
+    void testWriteCustomerRewards_EvictsLeastRecentlyReadWhenFull() {
+        config.getResponseCache().setMaxEntries(2);
+        for (long id = 1; id <= 3; id++) {
+            when(rewardsService.getRewardsForCustomer(id, VERSION))
+                .thenReturn(new CustomerRewardsDto(id, "Customer " + id, Map.of("2024-12", 90), 90));
+        }
+
+        write(1L, "\"v1\"", null, null);
+        write(2L, "\"v1\"", null, null);
+        write(1L, "\"v1\"", null, null);
+        write(3L, "\"v1\"", null, null);
+        write(1L, "\"v1\"", null, null);
+        write(3L, "\"v1\"", null, null);
+        write(2L, "\"v1\"", null, null);
+
+        verify(rewardsService, times(1)).getRewardsForCustomer(1L, VERSION);
+        verify(rewardsService, times(2)).getRewardsForCustomer(2L, VERSION);
+        verify(rewardsService, times(1)).getRewardsForCustomer(3L, VERSION);
+    }
+
+    @Test
+    void testWriteCustomerRewards_Gzip() throws Exception {
+        when(rewardsService.getRewardsForCustomer(1L, VERSION))
+            .thenReturn(new CustomerRewardsDto(1L, "Test Customer", Map.of("2024-12", 90), 90));
+
+        MockHttpServletResponse response = write(1L, "\"v1\"", "gzip, deflate", null);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("\"v1-gzip\"", response.getHeader("ETag"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"customerName\":\"Test Customer\""));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "gzip;q=0 | false",
+        "gzip;q=0.0, deflate | false",
+        "*;q=0.5, gzip;q=0 | false",
+        "identity | false",
+        "*;q=0 | false",
+        "GZIP;Q=0.8 | true",
+        "deflate, x-gzip | true",
+        "br, * | true",
+        "gzip;q=abc, * | true"
+    })
+    void testWriteCustomerRewards_GzipOnlyWhenAccepted(String acceptEncoding, boolean gzip) {
+        when(rewardsService.getRewardsForCustomer(1L, VERSION))
+            .thenReturn(new CustomerRewardsDto(1L, "Test Customer", Map.of("2024-12", 90), 90));
+        
+        MockHttpServletResponse response = write(1L, "\"v1\"", acceptEncoding, null);
+        
+        assertEquals(gzip ? "gzip" : null, response.getHeader("Content-Encoding"));
+        assertEquals(gzip ? "\"v1-gzip\"" : "\"v1\"", response.getHeader("ETag"));
+    }
+    
+    @Test
+    void testWriteCustomerRewards_NotModified() throws Exception {
+        MockHttpServletResponse response = write(1L, "\"v1\"", null, "\"v1\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getContentType());
+        verify(rewardsService, never()).getRewardsForCustomer(1L, VERSION);
+    }
+
+    private MockHttpServletResponse write(Long customerId, String eTag, String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rewards/customer/" + customerId);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.writeCustomerRewards(customerId, VERSION, eTag, new ServletWebRequest(request, response));
+        return response;
+    }
+}
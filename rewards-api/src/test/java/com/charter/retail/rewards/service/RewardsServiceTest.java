@@ -0,0 +1,495 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.dto.CustomerLookupResultDto;
+import com.charter.retail.rewards.dto.CustomerProgramDto;
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.dto.TransactionDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.RewardsOutboxEvent;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.CustomerSummary;
+import com.charter.retail.rewards.repository.RewardsOutboxRepository;
+import com.charter.retail.rewards.repository.TransactionAmount;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RewardsServiceTest {
+    
+    @Mock
+    private TransactionRepository transactionRepository;
+    
+    @Mock
+    private CustomerRepository customerRepository;
+    
+    @Mock
+    private RewardsCalculator rewardsCalculator;
+    
+    @Mock
+    private RewardsConfig config;
+    
+    @Mock
+    private RewardsVersionTracker versionTracker;
+    
+    @Mock
+    private CustomerExistenceIndex customerIndex;
+    
+    @Mock
+    private RewardsOutboxRepository outboxRepository;
+    
+    @Mock
+    private RewardsSnapshotStore snapshotStore;
+    
+    @InjectMocks
+    private RewardsService rewardsService;
+    
+    private static final RewardRuleTable DEFAULT_RULES =
+        RewardRuleTable.of(RewardRules.of("default", 0, LocalDate.MIN, 50, 100, 1, 2));
+    
+    @BeforeEach
+    void setUp() {
+        // Config mocks are set per test as needed
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_Success() {
+        Long customerId = 1L;
+        CustomerSummary customer = new CustomerSummary(customerId, "Test Customer", "default");
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        
+        LocalDate today = LocalDate.now();
+        List<TransactionAmount> transactions = Arrays.asList(
+            new TransactionAmount(customerId, 12000L, today.minusDays(10)),
+            new TransactionAmount(customerId, 7500L, today.minusDays(20))
+        );
+        
+        when(customerRepository.findSummaryById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any()))
+            .thenReturn(transactions);
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        
+        CustomerRewardsDto result = rewardsService.getRewardsForCustomer(customerId);
+        
+        assertNotNull(result);
+        assertEquals(customerId, result.getCustomerId());
+        assertEquals("Test Customer", result.getCustomerName());
+        assertEquals(115, result.getTotalPoints());
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_NotFound() {
+        Long customerId = 999L;
+        when(customerRepository.findSummaryById(customerId)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> {
+            rewardsService.getRewardsForCustomer(customerId);
+        });
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_FromSnapshot() {
+        Long customerId = 1L;
+        CustomerRewardsDto snapshotRewards = new CustomerRewardsDto(customerId, "Test Customer",
+                Map.of("2024-03", 90), 90);
+        when(versionTracker.currentVersion(customerId)).thenReturn(7L);
+        when(snapshotStore.find(customerId, 7L)).thenReturn(Optional.of(snapshotRewards));
+        
+        CustomerRewardsDto result = rewardsService.getRewardsForCustomer(customerId);
+        
+        assertSame(snapshotRewards, result);
+        verifyNoInteractions(customerRepository, transactionRepository);
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_NoTransactions() {
+        Long customerId = 1L;
+        CustomerSummary customer = new CustomerSummary(customerId, "Test Customer", "default");
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        
+        when(customerRepository.findSummaryById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any()))
+            .thenReturn(Arrays.asList());
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        
+        CustomerRewardsDto result = rewardsService.getRewardsForCustomer(customerId);
+        
+        assertNotNull(result);
+        assertEquals(0, result.getTotalPoints());
+        assertTrue(result.getMonthlyPoints().isEmpty());
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_ConcurrentCallsCoalesced() throws Exception {
+        Long customerId = 1L;
+        CustomerSummary customer = new CustomerSummary(customerId, "Test Customer", "default");
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        when(customerRepository.findSummaryById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any()))
+            .thenAnswer(invocation -> {
+                queryStarted.countDown();
+                releaseQuery.await(5, TimeUnit.SECONDS);
+                return List.of(new TransactionAmount(customerId, 12000L, LocalDate.now()));
+            });
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rewardsService.bindTo(registry);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CustomerRewardsDto> first = executor.submit(() -> rewardsService.getRewardsForCustomer(customerId));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<CustomerRewardsDto> second = executor.submit(() -> rewardsService.getRewardsForCustomer(customerId));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.get("rewards.reads.coalesced").functionCounter().count() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            releaseQuery.countDown();
+            
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(90, first.get().getTotalPoints());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1.0, registry.get("rewards.reads.coalesced").functionCounter().count());
+        verify(customerRepository, times(1)).findSummaryById(customerId);
+        verify(transactionRepository, times(1))
+            .findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any());
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_NewerVersionNotCoalescedWithEarlierCall() throws Exception {
+        Long customerId = 1L;
+        CustomerSummary customer = new CustomerSummary(customerId, "Test Customer", "default");
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        when(customerRepository.findSummaryById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any()))
+            .thenAnswer(invocation -> {
+                queryStarted.countDown();
+                releaseQuery.await(5, TimeUnit.SECONDS);
+                return List.of(new TransactionAmount(customerId, 12000L, LocalDate.now()));
+            })
+            .thenReturn(List.of(new TransactionAmount(customerId, 12000L, LocalDate.now()),
+                new TransactionAmount(customerId, 6000L, LocalDate.now())));
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CustomerRewardsDto> before = executor.submit(() -> rewardsService.getRewardsForCustomer(customerId, 1L));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<CustomerRewardsDto> after = executor.submit(() -> rewardsService.getRewardsForCustomer(customerId, 2L));
+            
+            assertEquals(100, after.get(5, TimeUnit.SECONDS).getTotalPoints());
+            releaseQuery.countDown();
+            assertEquals(90, before.get(5, TimeUnit.SECONDS).getTotalPoints());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(transactionRepository, times(2))
+            .findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any());
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_FailedCallReleasesKey() {
+        Long customerId = 1L;
+        CustomerSummary customer = new CustomerSummary(customerId, "Test Customer", "default");
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        when(customerRepository.findSummaryById(customerId))
+            .thenThrow(new IllegalStateException("Connection refused"))
+            .thenReturn(Optional.of(customer));
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(customerId), any(), any()))
+            .thenReturn(List.of());
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        
+        assertThrows(IllegalStateException.class, () -> rewardsService.getRewardsForCustomer(customerId));
+        CustomerRewardsDto result = rewardsService.getRewardsForCustomer(customerId);
+        
+        assertEquals(0, result.getTotalPoints());
+        verify(customerRepository, times(2)).findSummaryById(customerId);
+    }
+    
+    @Test
+    void testLookupRewards_RequestOrderAndMissingIds() {
+        LocalDate today = LocalDate.now();
+        CustomerSummary customer1 = new CustomerSummary(1L, "Customer 1", "default");
+        CustomerSummary customer3 = new CustomerSummary(3L, "Customer 3", "premium");
+        RewardRuleTable premiumRules = RewardRuleTable.of(RewardRules.of("premium", 0, LocalDate.MIN, 25, 75, 1, 3));
+        
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        when(customerRepository.findSummariesByIdIn(List.of(3L, 1L, 42L, 99L))).thenReturn(List.of(customer1, customer3));
+        when(transactionRepository.findAmountsByCustomerIdInAndTransactionDateBetween(any(), any(), any()))
+            .thenReturn(List.of(
+                new TransactionAmount(1L, 12000L, today.minusDays(5)),
+                new TransactionAmount(3L, 12000L, today.minusDays(5)),
+                new TransactionAmount(1L, 7500L, today.minusDays(40))));
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        when(rewardsCalculator.evaluatorFor("premium")).thenReturn(premiumRules);
+        
+        CustomerLookupResultDto result = rewardsService.lookupRewards(List.of(3L, 1L, 42L, 99L, 1L));
+        
+        assertEquals(List.of(3L, 1L), result.getRewards().stream().map(CustomerRewardsDto::getCustomerId).toList());
+        assertEquals(185, result.getRewards().get(0).getTotalPoints());
+        assertEquals(115, result.getRewards().get(1).getTotalPoints());
+        assertEquals(List.of(42L, 99L), result.getMissingCustomerIds());
+        verify(transactionRepository, times(1)).findAmountsByCustomerIdInAndTransactionDateBetween(any(), any(), any());
+    }
+    
+    @Test
+    void testLookupRewards_NoExistingCustomers() {
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        when(customerRepository.findSummariesByIdIn(List.of(7L, 8L))).thenReturn(List.of());
+        
+        CustomerLookupResultDto result = rewardsService.lookupRewards(List.of(7L, 8L));
+        
+        assertTrue(result.getRewards().isEmpty());
+        assertEquals(List.of(7L, 8L), result.getMissingCustomerIds());
+        verifyNoInteractions(transactionRepository);
+    }
+    
+    @Test
+    void testGetRewardsForAllCustomers() {
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        
+        LocalDate today = LocalDate.now();
+        CustomerSummary customer1 = new CustomerSummary(1L, "Customer 1", "default");
+        CustomerSummary customer2 = new CustomerSummary(2L, "Customer 2", "default");
+
+        List<CustomerSummary> customers = Arrays.asList(customer1, customer2);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<CustomerSummary> customerPage = new PageImpl<>(customers, pageable, 2);
+        
+        List<TransactionAmount> transactions1 = Arrays.asList(
+            new TransactionAmount(1L, 12000L, today.minusDays(10))
+        );
+        List<TransactionAmount> transactions2 = Arrays.asList(
+            new TransactionAmount(2L, 15000L, today.minusDays(15))
+        );
+        
+        when(customerRepository.findSummaries(pageable)).thenReturn(customerPage);
+        when(transactionRepository.findAmountsByCustomerIdInAndTransactionDateBetween(eq(List.of(1L, 2L)), any(), any()))
+            .thenReturn(List.of(transactions1.get(0), transactions2.get(0)));
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        
+        Page<CustomerRewardsDto> results = rewardsService.getRewardsForAllCustomers(pageable);
+        
+        assertNotNull(results);
+        assertEquals(2, results.getContent().size());
+        assertEquals(2, results.getTotalElements());
+        assertEquals(90, results.getContent().get(0).getTotalPoints());
+        assertEquals(150, results.getContent().get(1).getTotalPoints());
+    }
+    
+    @Test
+    void testGetRewardsForAllCustomers_GroupedByProgram() {
+        when(config.getCalculationMonths()).thenReturn(3);
+        when(config.getMonthFormat()).thenReturn("yyyy-MM");
+        
+        LocalDate today = LocalDate.now();
+        CustomerSummary customer1 = new CustomerSummary(1L, "Customer 1", "premium");
+        CustomerSummary customer2 = new CustomerSummary(2L, "Customer 2", "default");
+        CustomerSummary customer3 = new CustomerSummary(3L, "Customer 3", "premium");
+        Pageable pageable = PageRequest.of(0, 10);
+        
+        when(customerRepository.findSummaries(pageable))
+            .thenReturn(new PageImpl<>(List.of(customer1, customer2, customer3), pageable, 3));
+        when(transactionRepository.findAmountsByCustomerIdInAndTransactionDateBetween(eq(List.of(1L, 3L)), any(), any()))
+            .thenReturn(List.of(new TransactionAmount(1L, 12000L, today), new TransactionAmount(3L, 12000L, today)));
+        when(transactionRepository.findAmountsByCustomerIdInAndTransactionDateBetween(eq(List.of(2L)), any(), any()))
+            .thenReturn(List.of(new TransactionAmount(2L, 12000L, today)));
+        when(rewardsCalculator.evaluatorFor("default")).thenReturn(DEFAULT_RULES);
+        when(rewardsCalculator.evaluatorFor("premium"))
+            .thenReturn(RewardRuleTable.of(RewardRules.of("premium", 0, LocalDate.MIN, 50, 100, 1, 3)));
+        
+        Page<CustomerRewardsDto> results = rewardsService.getRewardsForAllCustomers(pageable);
+        
+        assertEquals(List.of(1L, 2L, 3L), results.getContent().stream().map(CustomerRewardsDto::getCustomerId).toList());
+        assertEquals(List.of(110, 90, 110), results.getContent().stream().map(CustomerRewardsDto::getTotalPoints).toList());
+        verify(rewardsCalculator, times(1)).evaluatorFor("premium");
+    }
+    
+    @Test
+    void testAssignProgram_Success() {
+        Customer customer = new Customer(1L, "Test Customer", new ArrayList<>());
+        when(rewardsCalculator.hasProgram("premium")).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        LocalDate today = LocalDate.now();
+        when(transactionRepository.findAmountsByCustomerIdAndTransactionDateBetween(eq(1L), any(), any()))
+            .thenReturn(List.of(new TransactionAmount(1L, 12000L, today), new TransactionAmount(1L, 1000L, today)));
+        when(rewardsCalculator.calculatePoints("default", 12000L, today)).thenReturn(90);
+        when(rewardsCalculator.calculatePoints("premium", 12000L, today)).thenReturn(135);
+        
+        CustomerProgramDto result = rewardsService.assignProgram(1L, "premium");
+        
+        assertEquals("premium", result.getProgram());
+        assertEquals("premium", customer.getProgram());
+        verify(customerRepository).save(customer);
+        verify(versionTracker).advance(1L);
+        verify(snapshotStore).invalidate(1L);
+        verify(outboxRepository).save(argThat((RewardsOutboxEvent event) -> event.getCustomerId().equals(1L)
+                && event.getTransactionId() == null && event.getPointsDelta() == 45
+                && event.getPointsMonth().equals(today.withDayOfMonth(1))));
+    }
+    
+    @Test
+    void testAssignProgram_UnknownProgram() {
+        when(rewardsCalculator.hasProgram("gold")).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> rewardsService.assignProgram(1L, "gold"));
+        verifyNoInteractions(customerRepository);
+    }
+    
+    @Test
+    void testCreateTransaction_Success() {
+        Long customerId = 1L;
+        Customer customer = new Customer(customerId, "Test Customer", new ArrayList<>());
+        TransactionDto inputDto = new TransactionDto(null, customerId, new BigDecimal("120.00"), LocalDate.now());
+        Transaction savedTransaction = new Transaction(1L, customer, 12000L, LocalDate.now());
+        
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        when(rewardsCalculator.calculatePoints(eq("default"), eq(12000L), any(LocalDate.class))).thenReturn(90);
+        
+        TransactionDto result = rewardsService.createTransaction(inputDto);
+        
+        assertNotNull(result);
+        assertEquals(1L, result.getId());
+        assertEquals(customerId, result.getCustomerId());
+        assertEquals(new BigDecimal("120.00"), result.getAmount());
+        verify(versionTracker).advance(customerId);
+        verify(snapshotStore).invalidate(customerId);
+        verify(outboxRepository).save(argThat((RewardsOutboxEvent event) -> event.getCustomerId().equals(customerId)
+                && event.getTransactionId().equals(1L) && event.getPointsDelta() == 90
+                && event.getPointsMonth().equals(LocalDate.now().withDayOfMonth(1))));
+    }
+    
+    @Test
+    void testCreateTransaction_NoPointsNotRecorded() {
+        Long customerId = 1L;
+        Customer customer = new Customer(customerId, "Test Customer", new ArrayList<>());
+        TransactionDto inputDto = new TransactionDto(null, customerId, new BigDecimal("40.00"), LocalDate.now());
+        Transaction savedTransaction = new Transaction(3L, customer, 4000L, LocalDate.now());
+        
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        when(rewardsCalculator.calculatePoints(any(), anyLong(), any())).thenReturn(0);
+        
+        rewardsService.createTransaction(inputDto);
+        
+        verifyNoInteractions(outboxRepository);
+        verify(versionTracker).advance(customerId);
+    }
+    
+    @Test
+    void testCreateTransaction_CustomerNotFound() {
+        Long customerId = 999L;
+        TransactionDto inputDto = new TransactionDto(null, customerId, new BigDecimal("120.00"), LocalDate.now());
+        
+        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> {
+            rewardsService.createTransaction(inputDto);
+        });
+        verifyNoInteractions(versionTracker);
+    }
+    
+    @Test
+    void testGetRewardsForCustomer_RejectedByIndex() {
+        Long customerId = 999L;
+        when(customerIndex.membership(customerId)).thenReturn(CustomerExistenceIndex.Membership.ABSENT);
+        
+        assertThrows(ResourceNotFoundException.class, () -> rewardsService.getRewardsForCustomer(customerId));
+        verifyNoInteractions(customerRepository, transactionRepository);
+    }
+    
+    @Test
+    void testCreateTransaction_UsesReferenceForIndexedCustomer() {
+        Long customerId = 1L;
+        Customer reference = new Customer(customerId, null, new ArrayList<>());
+        TransactionDto inputDto = new TransactionDto(null, customerId, new BigDecimal("75.00"), LocalDate.now());
+        Transaction savedTransaction = new Transaction(2L, reference, 7500L, LocalDate.now());
+        
+        when(customerIndex.membership(customerId)).thenReturn(CustomerExistenceIndex.Membership.PRESENT);
+        when(customerRepository.getReferenceById(customerId)).thenReturn(reference);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        
+        TransactionDto result = rewardsService.createTransaction(inputDto);
+        
+        assertEquals(customerId, result.getCustomerId());
+        verify(customerRepository, never()).findById(any());
+    }
+    
+    @Test
+    void testCreateTransaction_ConfirmsIndexMissAgainstDatabase() {
+        Long customerId = 5L;
+        Customer customer = new Customer(customerId, "Other Instance", new ArrayList<>());
+        TransactionDto inputDto = new TransactionDto(null, customerId, new BigDecimal("120.00"), LocalDate.now());
+        Transaction savedTransaction = new Transaction(2L, customer, 12000L, LocalDate.now());
+        
+        when(customerIndex.membership(customerId)).thenReturn(CustomerExistenceIndex.Membership.ABSENT);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+        
+        TransactionDto result = rewardsService.createTransaction(inputDto);
+        
+        assertEquals(customerId, result.getCustomerId());
+        verify(customerIndex).add(customerId);
+    }
+}
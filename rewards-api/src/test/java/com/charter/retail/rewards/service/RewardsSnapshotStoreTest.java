@@ -0,0 +1,200 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.dto.TransactionDto;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"rewards.calculation-months=3", "rewards.month-format=yyyy-MM",
+        "rewards.tier-one-threshold=50", "rewards.tier-two-threshold=100",
+        "rewards.tier-one-multiplier=1", "rewards.tier-two-multiplier=2",
+        "rewards.snapshot.enabled=true"})
+class RewardsSnapshotStoreTest {
+
+    @DynamicPropertySource
+    static void snapshotPath(DynamicPropertyRegistry registry) throws IOException {
+        String path = Files.createTempDirectory("rewards-snapshot").resolve("rewards-snapshot.bin").toString();
+        registry.add("rewards.snapshot.path", () -> path);
+    }
+
+    @Autowired
+    private RewardsSnapshotStore snapshotStore;
+
+    @Autowired
+    private RewardsService rewardsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        customer = customerRepository.save(new Customer(null, "Snapshot Customer", new ArrayList<>()));
+        transactionRepository.save(new Transaction(null, customer, 12000L, today.minusDays(3)));
+        transactionRepository.save(new Transaction(null, customer, 7500L, today.minusMonths(1)));
+        transactionRepository.save(new Transaction(null, customer, 4000L, today.minusMonths(2)));
+        transactionRepository.save(new Transaction(null, customer, 20000L, today.minusMonths(5)));
+        writeSnapshot();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM rewards_outbox WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM transactions WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+    }
+
+    @Test
+    void shouldServeSnapshotMatchingComputedRewards() {
+        CustomerRewardsDto rewards = snapshotStore.find(customer.getId(), version()).orElseThrow();
+
+        assertThat(rewards).isEqualTo(computed());
+        assertThat(rewards.getTotalPoints()).isEqualTo(115);
+        assertThat(rewards.getMonthlyPoints()).containsValue(0);
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId())).isEqualTo(rewards);
+    }
+
+    @Test
+    void shouldReplayTransactionsAfterHighWaterMarkOnLoad() {
+        transactionRepository.save(new Transaction(null, customer, 15000L, LocalDate.now()));
+
+        snapshotStore.load();
+
+        CustomerRewardsDto rewards = snapshotStore.find(customer.getId(), version()).orElseThrow();
+        assertThat(rewards).isEqualTo(computed());
+        assertThat(rewards.getTotalPoints()).isEqualTo(265);
+    }
+
+    @Test
+    void shouldReplayTransactionThatCommitsAfterSnapshotBelowHighestId() throws InterruptedException {
+        Transaction inFlight = transactionRepository.save(new Transaction(null, customer, 15000L, LocalDate.now()));
+        transactionRepository.save(new Transaction(null, customer, 6000L, LocalDate.now()));
+        transactionRepository.deleteById(inFlight.getId());
+        writeSnapshot();
+
+        jdbcTemplate.update("INSERT INTO transactions (id, customer_id, amount_cents, transaction_date) "
+                + "VALUES (?, ?, 15000, ?)", inFlight.getId(), customer.getId(), LocalDate.now());
+        snapshotStore.load();
+
+        CustomerRewardsDto rewards = snapshotStore.find(customer.getId(), version()).orElseThrow();
+        assertThat(rewards).isEqualTo(computed());
+        assertThat(rewards.getTotalPoints()).isEqualTo(275);
+    }
+
+    @Test
+    void shouldNotServeCustomerWhoseProgramChangedSinceSnapshotOnLoad() {
+        jdbcTemplate.update("UPDATE customers SET program = 'premium', rewards_version = rewards_version + 1 "
+                + "WHERE id = ?", customer.getId());
+
+        snapshotStore.load();
+
+        assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+    }
+
+    @Test
+    void shouldNotServeReplayedPointsComputedWithOldProgram() {
+        transactionRepository.save(new Transaction(null, customer, 15000L, LocalDate.now()));
+        jdbcTemplate.update("UPDATE customers SET program = 'premium', rewards_version = rewards_version + 1 "
+                + "WHERE id = ?", customer.getId());
+
+        snapshotStore.load();
+
+        assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+    }
+
+    @Test
+    void shouldComputeRewardsTaggedWithVersionNewerThanSnapshot() {
+        long snapshotVersion = version();
+        // Another instance's change, committed before this instance learns of it from the outbox
+        transactionRepository.save(new Transaction(null, customer, 6000L, LocalDate.now()));
+        jdbcTemplate.update("UPDATE customers SET rewards_version = rewards_version + 1 WHERE id = ?", customer.getId());
+
+        assertThat(snapshotStore.find(customer.getId(), snapshotVersion)).isPresent();
+        assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId()).getTotalPoints()).isEqualTo(125);
+    }
+
+    @Test
+    void shouldComputeChangedCustomerUntilNextSnapshot() throws InterruptedException {
+        rewardsService.createTransaction(new TransactionDto(null, customer.getId(), new BigDecimal("60.00"),
+                LocalDate.now()));
+
+        assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId()).getTotalPoints()).isEqualTo(125);
+
+        writeSnapshot();
+
+        assertThat(snapshotStore.find(customer.getId(), version())).contains(computed());
+    }
+
+    @Test
+    void shouldStopServingChangedCustomerBeforeCommit() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            rewardsService.createTransaction(new TransactionDto(null, customer.getId(), new BigDecimal("60.00"),
+                    LocalDate.now()));
+
+            assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+            CompletableFuture.runAsync(() -> assertThat(snapshotStore.snapshot()).isTrue()).join();
+        });
+
+        assertThat(snapshotStore.find(customer.getId(), version())).isEmpty();
+        assertThat(rewardsService.getRewardsForCustomer(customer.getId()).getTotalPoints()).isEqualTo(125);
+    }
+
+    @Test
+    void shouldNotServeCustomersMissingFromSnapshot() {
+        assertThat(snapshotStore.find(Long.MAX_VALUE, 0)).isEmpty();
+    }
+
+    private long version() {
+        return jdbcTemplate.queryForObject("SELECT rewards_version FROM customers WHERE id = ?", Long.class,
+                customer.getId());
+    }
+
+    private CustomerRewardsDto computed() {
+        return rewardsService.lookupRewards(List.of(customer.getId())).getRewards().get(0);
+    }
+
+    /**
+     * Writes a snapshot, waiting for the one started when the application became ready.
+     */
+    private void writeSnapshot() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!snapshotStore.snapshot() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
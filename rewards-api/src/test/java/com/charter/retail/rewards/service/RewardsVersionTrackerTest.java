@@ -0,0 +1,87 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RewardsVersionTrackerTest {
+    
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    private RewardsVersionTracker tracker;
+    private Long customerId;
+    private Long otherCustomerId;
+    
+    @BeforeEach
+    void setUp() {
+        tracker = new RewardsVersionTracker(jdbcTemplate, customerRepository);
+        customerId = customerRepository.save(new Customer(null, "Tracked", new ArrayList<>())).getId();
+        otherCustomerId = customerRepository.save(new Customer(null, "Other", new ArrayList<>())).getId();
+        customerRepository.flush();
+    }
+    
+    @Test
+    void testCustomerETag_IsStableWithoutWrites() {
+        assertEquals(tracker.customerETag(customerId), tracker.customerETag(customerId));
+        assertEquals(tracker.pageETag(FIRST_PAGE), tracker.pageETag(FIRST_PAGE));
+    }
+    
+    @Test
+    void testCustomerETag_IsQuoted() {
+        String eTag = tracker.customerETag(customerId);
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+    }
+    
+    @Test
+    void testAdvance_ChangesCustomerAndPageETags() {
+        String customerETag = tracker.customerETag(customerId);
+        String otherETag = tracker.customerETag(otherCustomerId);
+        String pageETag = tracker.pageETag(FIRST_PAGE);
+        
+        tracker.advance(customerId);
+        
+        assertNotEquals(customerETag, tracker.customerETag(customerId));
+        assertNotEquals(pageETag, tracker.pageETag(FIRST_PAGE));
+        assertEquals(otherETag, tracker.customerETag(otherCustomerId));
+    }
+    
+    @Test
+    void testAdvance_IsSeenByEveryInstance() {
+        RewardsVersionTracker otherInstance = new RewardsVersionTracker(jdbcTemplate, customerRepository);
+        assertEquals(tracker.customerETag(customerId), otherInstance.customerETag(customerId));
+        
+        otherInstance.advance(customerId);
+        
+        assertEquals(otherInstance.customerETag(customerId), tracker.customerETag(customerId));
+        assertEquals(otherInstance.pageETag(FIRST_PAGE), tracker.pageETag(FIRST_PAGE));
+    }
+    
+    @Test
+    void testNewCustomer_ChangesPageETag() {
+        String pageETag = tracker.pageETag(FIRST_PAGE);
+        
+        customerRepository.saveAndFlush(new Customer(null, "Newcomer", new ArrayList<>()));
+        
+        assertNotEquals(pageETag, tracker.pageETag(FIRST_PAGE));
+    }
+}
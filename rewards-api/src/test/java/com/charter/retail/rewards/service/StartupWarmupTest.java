@@ -0,0 +1,95 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private RewardsConfig config;
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.setTierOneThreshold(50);
+        config.setTierTwoThreshold(100);
+        config.setTierOneMultiplier(1);
+        config.setTierTwoMultiplier(2);
+        config.setCalculationMonths(3);
+        config.setMonthFormat("yyyy-MM");
+        config.getPrograms().put("premium", new RewardsConfig.Program());
+        config.getWarmup().setIterationsPerRound(50);
+        config.getWarmup().setMinRounds(2);
+        config.getWarmup().setMaxDurationMs(5_000);
+        warmup = new StartupWarmup(new RewardsCalculator(config.baseRules()), customerRepository,
+                transactionRepository, new ObjectMapper(), config);
+    }
+
+    @Test
+    void testRun_ExercisesRequestPathAndPublishesDuration() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        warmup.bindTo(registry);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        double rounds = registry.get("rewards.warmup.rounds").gauge().value();
+        assertThat(rounds).isGreaterThanOrEqualTo(2);
+        assertThat(registry.get("rewards.warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(0);
+        verify(customerRepository, atLeast(2)).findSummariesByIdIn(anyList());
+        verify(transactionRepository, atLeast(2))
+                .findAmountsByCustomerIdAndTransactionDateBetween(anyLong(), any(), any());
+        verify(transactionRepository, atLeast(2))
+                .findAmountsByCustomerIdInAndTransactionDateBetween(anyList(), any(), any());
+    }
+
+    @Test
+    void testRun_StopsAtTimeBudget() {
+        config.getWarmup().setMaxDurationMs(0);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(customerRepository, transactionRepository);
+    }
+
+    @Test
+    void testRun_Disabled() {
+        config.getWarmup().setEnabled(false);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(customerRepository, transactionRepository);
+    }
+
+    @Test
+    void testRunRound_ScoresEveryProgram() {
+        assertThat(warmup.runRound(10, 0)).isPositive();
+    }
+}
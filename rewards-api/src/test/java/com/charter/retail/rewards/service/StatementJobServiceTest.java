@@ -0,0 +1,172 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Workers run on their own threads and connections, so the test data is committed
+ * instead of living in the usual test transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatementJobServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 2);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private RewardsConfig config;
+    private StatementJobService statementJob;
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.setTierOneThreshold(50);
+        config.setTierTwoThreshold(100);
+        config.setTierOneMultiplier(1);
+        config.setTierTwoMultiplier(2);
+        config.setCalculationMonths(3);
+        config.setMonthFormat("yyyy-MM");
+        config.getStatements().setPartitions(2);
+        config.getStatements().setWorkers(2);
+        config.getStatements().setChunkSize(2);
+        statementJob = new StatementJobService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new RewardsCalculator(config.baseRules()), config);
+
+        customers = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            customers.add(customerRepository.save(new Customer(null, "Customer " + i, new ArrayList<>())));
+        }
+        transactionRepository.save(new Transaction(null, customers.get(0), 12000L, LocalDate.of(2024, 2, 10)));
+        transactionRepository.save(new Transaction(null, customers.get(0), 7500L, LocalDate.of(2023, 12, 5)));
+        transactionRepository.save(new Transaction(null, customers.get(0), 20000L, LocalDate.of(2023, 11, 1)));
+        transactionRepository.save(new Transaction(null, customers.get(3), 10000L, LocalDate.of(2024, 2, 29)));
+        transactionRepository.save(new Transaction(null, customers.get(4), 15000L, LocalDate.of(2024, 3, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM points_statements");
+        jdbcTemplate.update("DELETE FROM statement_partitions");
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGenerateStatementsForEveryCustomer() {
+        long written = statementJob.generate(MONTH);
+
+        assertThat(written).isEqualTo(5);
+        assertThat(statement(customers.get(0))).containsEntry("MONTH_POINTS", 90).containsEntry("WINDOW_POINTS", 115);
+        assertThat(statement(customers.get(3))).containsEntry("MONTH_POINTS", 50).containsEntry("WINDOW_POINTS", 50);
+        assertThat(statement(customers.get(4))).containsEntry("MONTH_POINTS", 0).containsEntry("WINDOW_POINTS", 0);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM statement_partitions", String.class))
+                .hasSize(2).containsOnly("COMPLETED");
+    }
+
+    @Test
+    void shouldNotRegenerateCompletedMonth() {
+        statementJob.generate(MONTH);
+
+        assertThat(statementJob.generate(MONTH)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_statements", Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldResumePartitionFromCheckpoint() {
+        statementJob.generate(MONTH);
+        // Simulate a crash of the first partition after its first chunk (customers 1 and 2)
+        long checkpoint = customers.get(1).getId();
+        jdbcTemplate.update("DELETE FROM points_statements WHERE customer_id > ?", checkpoint);
+        jdbcTemplate.update("UPDATE statement_partitions SET status = 'RUNNING', last_customer_id = ? "
+                + "WHERE partition_index = 0", checkpoint);
+        jdbcTemplate.update("UPDATE statement_partitions SET status = 'COMPLETED' WHERE partition_index = 1");
+
+        long written = statementJob.generate(MONTH);
+
+        assertThat(written).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT customer_id FROM points_statements ORDER BY customer_id", Long.class))
+                .containsExactly(customers.get(0).getId(), customers.get(1).getId(), customers.get(2).getId());
+    }
+
+    @Test
+    void shouldSkipPartitionsLeasedByAnotherWorkerUntilTheLeaseExpires() {
+        statementJob.generate(MONTH);
+        jdbcTemplate.update("DELETE FROM points_statements");
+        jdbcTemplate.update("UPDATE statement_partitions SET status = 'RUNNING', owner = 'other', lease_until = ?, "
+                + "last_customer_id = range_start - 1, processed_customers = 0", Timestamp.from(Instant.now().plusSeconds(3600)));
+
+        assertThat(statementJob.generate(MONTH)).isZero();
+
+        jdbcTemplate.update("UPDATE statement_partitions SET lease_until = ?", Timestamp.from(Instant.now().minusSeconds(1)));
+
+        assertThat(statementJob.generate(MONTH)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM statement_partitions", String.class))
+                .containsOnly("COMPLETED");
+    }
+
+    @Test
+    void shouldGenerateEachStatementOnceWhenInstancesRunConcurrently() throws Exception {
+        StatementJobService otherInstance = new StatementJobService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new RewardsCalculator(config.baseRules()), config);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = executor.submit(() -> statementJob.generate(MONTH));
+            Future<Long> second = executor.submit(() -> otherInstance.generate(MONTH));
+
+            assertThat(first.get(10, TimeUnit.SECONDS) + second.get(10, TimeUnit.SECONDS)).isEqualTo(5);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points_statements", Integer.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(processed_customers) FROM statement_partitions", Long.class))
+                .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM statement_partitions", String.class))
+                .containsOnly("COMPLETED");
+    }
+
+    private Map<String, Object> statement(Customer customer) {
+        return jdbcTemplate.queryForMap("SELECT month_points, window_points FROM points_statements "
+                + "WHERE customer_id = ? AND statement_month = ?", customer.getId(), MONTH.atDay(1));
+    }
+}
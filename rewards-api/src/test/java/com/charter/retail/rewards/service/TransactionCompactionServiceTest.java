@@ -0,0 +1,131 @@
+package com.charter.retail.rewards.service;
+
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.entity.Transaction;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import com.charter.retail.rewards.repository.TransactionRepository;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batches commit in their own transactions, so the test data is committed
+ * instead of living in the usual test transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionCompactionServiceTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private RewardsConfig config;
+    private TransactionCompactionService compaction;
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        config = new RewardsConfig();
+        config.setTierOneThreshold(50);
+        config.setTierTwoThreshold(100);
+        config.setTierOneMultiplier(1);
+        config.setTierTwoMultiplier(2);
+        config.setCalculationMonths(3);
+        config.setMonthFormat("yyyy-MM");
+        config.getCompaction().setBatchSize(2);
+        config.getCompaction().setPauseMs(0);
+        compaction = new TransactionCompactionService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new RewardsCalculator(config.baseRules()), config);
+
+        customers = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            customers.add(customerRepository.save(new Customer(null, "Customer " + i, new ArrayList<>())));
+        }
+        transactionRepository.save(new Transaction(null, customers.get(0), 12000L, LocalDate.of(2023, 11, 3)));
+        transactionRepository.save(new Transaction(null, customers.get(1), 7500L, LocalDate.of(2023, 11, 20)));
+        transactionRepository.save(new Transaction(null, customers.get(0), 6000L, LocalDate.of(2023, 11, 28)));
+        transactionRepository.save(new Transaction(null, customers.get(0), 20000L, LocalDate.of(2023, 12, 31)));
+        transactionRepository.save(new Transaction(null, customers.get(0), 15000L, LocalDate.of(2024, 1, 1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction_monthly_summaries");
+        jdbcTemplate.update("DELETE FROM transactions_archive");
+        transactionRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRollOldTransactionsIntoMonthlySummaries() {
+        long compacted = compaction.compact(CUTOFF);
+
+        assertThat(compacted).isEqualTo(4);
+        assertThat(summary(customers.get(0), LocalDate.of(2023, 11, 1)))
+                .containsEntry("TRANSACTION_COUNT", 2).containsEntry("AMOUNT_CENTS", 18000L).containsEntry("POINTS", 100L);
+        assertThat(summary(customers.get(1), LocalDate.of(2023, 11, 1)))
+                .containsEntry("TRANSACTION_COUNT", 1).containsEntry("AMOUNT_CENTS", 7500L).containsEntry("POINTS", 25L);
+        assertThat(summary(customers.get(0), LocalDate.of(2023, 12, 1)))
+                .containsEntry("TRANSACTION_COUNT", 1).containsEntry("AMOUNT_CENTS", 20000L).containsEntry("POINTS", 250L);
+        assertThat(jdbcTemplate.queryForList("SELECT transaction_date FROM transactions", LocalDate.class))
+                .containsExactly(LocalDate.of(2024, 1, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_archive", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldAddLaterTransactionsToExistingSummary() {
+        compaction.compact(CUTOFF);
+        // A back-dated transaction recorded after the month was compacted
+        transactionRepository.save(new Transaction(null, customers.get(0), 11000L, LocalDate.of(2023, 11, 15)));
+
+        assertThat(compaction.compact(CUTOFF)).isEqualTo(1);
+        assertThat(summary(customers.get(0), LocalDate.of(2023, 11, 1)))
+                .containsEntry("TRANSACTION_COUNT", 3).containsEntry("AMOUNT_CENTS", 29000L).containsEntry("POINTS", 170L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_monthly_summaries", Integer.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepCutoffBeyondCalculationWindow() {
+        config.getCompaction().setHorizonMonths(1);
+
+        assertThat(compaction.cutoff(LocalDate.of(2024, 5, 20))).isEqualTo(LocalDate.of(2024, 1, 1));
+
+        config.getCompaction().setHorizonMonths(12);
+
+        assertThat(compaction.cutoff(LocalDate.of(2024, 5, 20))).isEqualTo(LocalDate.of(2023, 5, 1));
+    }
+
+    private Map<String, Object> summary(Customer customer, LocalDate month) {
+        return jdbcTemplate.queryForMap("SELECT transaction_count, amount_cents, points FROM transaction_monthly_summaries "
+                + "WHERE customer_id = ? AND summary_month = ?", customer.getId(), month);
+    }
+}
@@ -0,0 +1,88 @@
+package com.charter.retail.rewards.tools;
+
+import com.charter.retail.rewards.config.DatasetSeedConfig;
+import com.charter.retail.rewards.config.RewardsConfig;
+import com.charter.retail.rewards.entity.Customer;
+import com.charter.retail.rewards.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private DatasetSeedConfig seedConfig;
+    private DatasetGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        seedConfig = new DatasetSeedConfig();
+        seedConfig.setCustomers(200);
+        seedConfig.setTransactionsPerCustomer(5);
+        seedConfig.setWindowDays(90);
+        seedConfig.setBatchSize(64);
+        RewardsConfig rewardsConfig = new RewardsConfig();
+        rewardsConfig.setTierOneThreshold(50);
+        rewardsConfig.setTierTwoThreshold(100);
+        generator = new DatasetGenerator(jdbcTemplate, seedConfig, rewardsConfig);
+    }
+
+    @Test
+    void shouldInsertConfiguredRowCounts() {
+        DatasetGenerator.SeedResult result = generator.generate();
+
+        assertThat(result.customers()).isEqualTo(200);
+        assertThat(result.transactions()).isEqualTo(1000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class)).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isEqualTo(1000);
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(transaction_date) FROM transactions", LocalDate.class))
+            .isAfter(LocalDate.now().minusDays(91));
+    }
+
+    @Test
+    void shouldKeepCustomerIdentityUsable() {
+        generator.generate();
+
+        Customer saved = customerRepository.saveAndFlush(new Customer(null, "After Seed", new ArrayList<>()));
+
+        assertThat(saved.getId()).isEqualTo(201L);
+    }
+
+    @Test
+    void shouldSkewActivityTowardsFewCustomers() {
+        seedConfig.setActivitySkew(1.2);
+        generator.generate();
+
+        Long busiest = jdbcTemplate.queryForObject(
+                "SELECT MAX(c) FROM (SELECT COUNT(*) AS c FROM transactions GROUP BY customer_id) counts", Long.class);
+
+        assertThat(busiest).isGreaterThan(50L);
+    }
+
+    @Test
+    void shouldClusterAmountsAroundTierThresholds() {
+        seedConfig.setTierFocus(1.0);
+        seedConfig.setTierSpread(1.0);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 1000; i++) {
+            long cents = generator.sampleAmountCents(random);
+            assertThat(Math.min(Math.abs(cents - 5000), Math.abs(cents - 10000))).isLessThan(600);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.charter.retail.rewards.tools;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyRecorderTest {
+    
+    @Test
+    void testMergeAndPercentiles() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        for (int i = 1; i <= 2000; i++) {
+            (i % 2 == 0 ? first : second).record(i);
+        }
+        second.recordError();
+        
+        LatencyRecorder.Summary summary = LatencyRecorder.merge(List.of(first, second));
+        
+        assertEquals(2000, summary.count());
+        assertEquals(1, summary.errors());
+        assertEquals(1000, summary.percentile(50));
+        assertEquals(1980, summary.percentile(99));
+        assertEquals(2000, summary.percentile(100));
+        assertEquals(1, summary.percentile(0));
+    }
+    
+    @Test
+    void testPercentileWithoutSamples() {
+        LatencyRecorder.Summary summary = LatencyRecorder.merge(List.of(new LatencyRecorder()));
+        
+        assertEquals(0, summary.count());
+        assertEquals(0, summary.percentile(99));
+    }
+}
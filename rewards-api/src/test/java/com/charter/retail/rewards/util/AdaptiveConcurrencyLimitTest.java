@@ -0,0 +1,101 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+    
+    private static final long THRESHOLD_NANOS = 100_000_000L;
+    private static final long FAST_NANOS = 1_000_000L;
+    
+    @Test
+    void testTryAcquire_RejectsAboveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD_NANOS, 0.5);
+        
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejected());
+    }
+    
+    @Test
+    void testRelease_FastResponsesUnderLoadIncreaseLimitByOnePerLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, THRESHOLD_NANOS, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+        }
+        
+        for (int i = 0; i < 3; i++) {
+            limit.release(0, FAST_NANOS, false);
+            limit.tryAcquire();
+        }
+        assertEquals(4, limit.getLimit());
+        
+        limit.release(0, FAST_NANOS, false);
+        assertEquals(5, limit.getLimit());
+        assertEquals(3, limit.getInFlight());
+    }
+    
+    @Test
+    void testRelease_IdleLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 20, THRESHOLD_NANOS, 0.5);
+        limit.tryAcquire();
+        
+        limit.release(0, FAST_NANOS, false);
+        
+        assertEquals(10, limit.getLimit());
+    }
+    
+    @Test
+    void testRelease_SlowOrFailedResponsesBackOff() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 3, 10, THRESHOLD_NANOS, 0.5);
+        
+        limit.tryAcquire();
+        limit.release(0, THRESHOLD_NANOS + 1, false);
+        assertEquals(4, limit.getLimit());
+        
+        limit.tryAcquire();
+        limit.release(THRESHOLD_NANOS + 2, THRESHOLD_NANOS + 2 + FAST_NANOS, true);
+        assertEquals(3, limit.getLimit());
+    }
+    
+    @Test
+    void testRelease_RequestsInFlightDuringOverloadBackOffOnce() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 10, THRESHOLD_NANOS, 0.5);
+        for (int i = 0; i < 6; i++) {
+            limit.tryAcquire();
+        }
+        
+        for (int i = 0; i < 6; i++) {
+            limit.release(i, 2 * THRESHOLD_NANOS + i, i % 2 == 0);
+        }
+        assertEquals(4, limit.getLimit());
+        
+        limit.tryAcquire();
+        limit.release(3 * THRESHOLD_NANOS, 5 * THRESHOLD_NANOS, false);
+        assertEquals(2, limit.getLimit());
+    }
+    
+    @Test
+    void testLimitStaysWithinBounds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 5, THRESHOLD_NANOS, 0.5);
+        
+        assertEquals(5, limit.getLimit());
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(i * FAST_NANOS, (i + 1) * FAST_NANOS, true);
+        }
+        assertEquals(1, limit.getLimit());
+    }
+    
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 0, 5, THRESHOLD_NANOS, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 1, 5, THRESHOLD_NANOS, 1.0));
+    }
+}
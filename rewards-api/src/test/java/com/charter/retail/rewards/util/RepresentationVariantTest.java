@@ -0,0 +1,43 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RepresentationVariantTest {
+    
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "application/json | JSON",
+        "*/* | JSON",
+        "application/cbor | CBOR",
+        "application/x-jackson-smile | SMILE",
+        "application/json;q=0.5, application/cbor | CBOR",
+        "application/cbor;q=0.2, application/json | JSON",
+        "application/* | JSON",
+        "text/html, application/cbor;q=0.9 | CBOR",
+        "application/*, application/cbor | CBOR",
+        "application/cbor;q=0.5, */*;q=0.8 | JSON",
+        "text/html | JSON",
+        "not a media type | JSON"
+    })
+    void testPreferredBy(String accept, RepresentationVariant expected) {
+        assertEquals(expected, RepresentationVariant.preferredBy(accept));
+    }
+    
+    @Test
+    void testPreferredByMissingHeader() {
+        assertEquals(RepresentationVariant.JSON, RepresentationVariant.preferredBy(null));
+    }
+    
+    @Test
+    void testTag() {
+        assertEquals("\"a-1\"", RepresentationVariant.JSON.tag("\"a-1\""));
+        assertEquals("\"a-1-cbor\"", RepresentationVariant.CBOR.tag("\"a-1\""));
+        assertEquals("\"a-1-smile\"", RepresentationVariant.SMILE.tag("\"a-1\""));
+        assertNull(RepresentationVariant.CBOR.tag(null));
+    }
+}
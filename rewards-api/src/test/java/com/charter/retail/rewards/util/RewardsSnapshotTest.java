@@ -0,0 +1,86 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RewardsSnapshotTest {
+
+    private static final LocalDate WINDOW_END = LocalDate.of(2024, 3, 15);
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2023, 12);
+    private static final int NONE = RewardsSnapshot.NO_TRANSACTIONS;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndMap_RoundTrip() throws IOException {
+        Path file = directory.resolve("snapshots/rewards-snapshot.bin");
+        try (RewardsSnapshot.Writer writer = RewardsSnapshot.writer(file, WINDOW_END, FIRST_MONTH, 4, 42L, 7L)) {
+            writer.add(3L, "Jessica", "default", 30L, new int[]{NONE, 90, 0, NONE});
+            writer.add(10L, "Zoë Müller", "premium", 100L, new int[]{NONE, NONE, NONE, NONE});
+            writer.add(11L, "Ann", "default", 110L, new int[]{5, 6, 7, 8});
+            writer.commit();
+        }
+
+        RewardsSnapshot snapshot = RewardsSnapshot.map(file);
+
+        assertEquals(WINDOW_END, snapshot.windowEnd());
+        assertEquals(FIRST_MONTH, snapshot.firstMonth());
+        assertEquals(4, snapshot.monthCount());
+        assertEquals(3, snapshot.customerCount());
+        assertEquals(42L, snapshot.highWaterTransactionId());
+        assertEquals(7L, snapshot.rulesFingerprint());
+        int jessica = snapshot.indexOf(3L);
+        assertEquals(NONE, snapshot.points(jessica, 0));
+        assertEquals(90, snapshot.points(jessica, 1));
+        assertEquals(0, snapshot.points(jessica, 2));
+        assertEquals("Jessica", snapshot.customerName(jessica));
+        int zoe = snapshot.indexOf(10L);
+        assertEquals("Zoë Müller", snapshot.customerName(zoe));
+        assertEquals("premium", snapshot.program(zoe));
+        assertEquals(100L, snapshot.rewardsVersion(zoe));
+        assertEquals(8, snapshot.points(snapshot.indexOf(11L), 3));
+        assertTrue(snapshot.indexOf(4L) < 0);
+        assertTrue(snapshot.indexOf(12L) < 0);
+    }
+
+    @Test
+    void testClose_WithoutCommitLeavesNoFiles() throws IOException {
+        Path file = directory.resolve("rewards-snapshot.bin");
+        try (RewardsSnapshot.Writer writer = RewardsSnapshot.writer(file, WINDOW_END, FIRST_MONTH, 1, 0L, 0L)) {
+            writer.add(1L, "Jessica", "default", 10L, new int[]{NONE});
+        }
+
+        try (var files = Files.list(directory)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void testAdd_RejectsUnorderedIds() throws IOException {
+        try (RewardsSnapshot.Writer writer = RewardsSnapshot.writer(directory.resolve("rewards-snapshot.bin"),
+                WINDOW_END, FIRST_MONTH, 1, 0L, 0L)) {
+            writer.add(5L, "Jessica", "default", 50L, new int[]{NONE});
+
+            assertThrows(IllegalArgumentException.class, () -> writer.add(5L, "Ann", "default", 50L, new int[]{NONE}));
+        }
+    }
+
+    @Test
+    void testMap_RejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("rewards-snapshot.bin");
+        Files.writeString(file, "not a snapshot");
+
+        assertThrows(IOException.class, () -> RewardsSnapshot.map(file));
+    }
+}
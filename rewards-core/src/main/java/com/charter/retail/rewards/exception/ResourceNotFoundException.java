@@ -2,10 +2,11 @@ package com.charter.retail.rewards.exception;
 
 /**
  * Custom exception thrown when a requested resource is not found.
+ * Carries no stack trace, as it signals an expected client error rather than a fault.
  */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
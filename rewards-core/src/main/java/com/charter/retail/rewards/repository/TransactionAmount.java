@@ -0,0 +1,14 @@
+package com.charter.retail.rewards.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the transaction columns needed for reward scoring.
+ * Built directly from query results, so no Transaction entity or Customer proxy is created.
+ *
+ * @param customerId customer ID
+ * @param amountCents transaction amount in cents
+ * @param transactionDate transaction date
+ */
+public record TransactionAmount(Long customerId, long amountCents, LocalDate transactionDate) {
+}
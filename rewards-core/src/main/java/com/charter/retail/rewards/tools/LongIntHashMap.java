@@ -0,0 +1,113 @@
+package com.charter.retail.rewards.tools;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-negative long keys to int sums, without boxing.
+ * Not thread-safe; each worker owns one and the maps are merged afterwards.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Adds a value to the sum of a key, inserting the key when it is absent.
+     *
+     * @param key non-negative key
+     * @param delta value to add; 0 only records the key
+     */
+    void addTo(long key, int delta) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the sum of a key.
+     *
+     * @param key key
+     * @return sum, or 0 when absent
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Adds all sums of another map to this one.
+     *
+     * @param other map to merge
+     */
+    void addAll(LongIntHashMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                addTo(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    /**Returns the keys in ascending order.*/
+    long[] sortedKeys() {
+        long[] present = new long[size];
+        int index = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                present[index++] = key;
+            }
+        }
+        Arrays.parallelSort(present);
+        return present;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                addTo(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
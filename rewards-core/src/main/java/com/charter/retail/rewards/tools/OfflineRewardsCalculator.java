@@ -0,0 +1,465 @@
+package com.charter.retail.rewards.tools;
+
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes customer rewards from a transaction extract without a database.
+ *
+ * <p>The input is a CSV file with rows {@code customer_id,amount,transaction_date}, where the amount is in
+ * dollars with at most two significant fraction digits and the date is {@code yyyy-MM-dd}. An optional
+ * header line, blank lines and CRLF line endings are accepted; quoted fields are not. The file is
+ * memory-mapped in chunks split at line boundaries. Workers of a fork-join pool take chunks in turn and
+ * parse them byte by byte into one primitive map per worker, keyed by customer and month; the maps are
+ * merged at the end.</p>
+ *
+ * <p>Transactions are scored with the same compiled rules as {@link RewardsCalculator}, over the same
+ * window as the API ({@code end-date} minus {@code calculation-months}, both ends inclusive). Each customer
+ * in the file is written as one JSON line with the fields of the rewards endpoint except the name, which
+ * extracts do not carry. Customers with no transactions in the window get empty monthly points.</p>
+ *
+ * <p>Usage: {@code java -cp rewards-core.jar com.charter.retail.rewards.tools.OfflineRewardsCalculator
+ * --input=transactions.csv --output=rewards.jsonl}</p>
+ *
+ * <p>Options (defaults in brackets): input, output [stdout], tier-one-threshold [50], tier-two-threshold [100],
+ * tier-one-multiplier [1], tier-two-multiplier [2], calculation-months [3], month-format [yyyy-MM],
+ * end-date [today], parallelism [available processors], chunk-mb [64].</p>
+ */
+public final class OfflineRewardsCalculator {
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private final RewardRuleTable evaluator;
+    private final DateTimeFormatter monthFormatter;
+    private final long startEpochDay;
+    private final long endEpochDay;
+    private final int startMonth;
+    private final int slotsPerCustomer;
+    private final int parallelism;
+    private final long chunkBytes;
+
+    /**
+     * Creates a calculator.
+     *
+     * @param rules rules to score with
+     * @param monthFormatter formatter of the month keys
+     * @param endDate last day of the window
+     * @param calculationMonths length of the window in months
+     * @param parallelism number of worker threads
+     * @param chunkBytes target size of a mapped chunk
+     */
+    OfflineRewardsCalculator(RewardRules rules, DateTimeFormatter monthFormatter, LocalDate endDate,
+                             int calculationMonths, int parallelism, long chunkBytes) {
+        LocalDate startDate = endDate.minusMonths(calculationMonths);
+        this.evaluator = RewardRuleTable.of(rules);
+        this.monthFormatter = monthFormatter;
+        this.startEpochDay = startDate.toEpochDay();
+        this.endEpochDay = endDate.toEpochDay();
+        this.startMonth = monthIndex(startDate.getYear(), startDate.getMonthValue());
+        // One slot per month of the window plus one that only records that the customer was seen
+        this.slotsPerCustomer = monthIndex(endDate.getYear(), endDate.getMonthValue()) - startMonth + 2;
+        this.parallelism = parallelism;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String input = options.get("input");
+        if (input == null) {
+            throw new IllegalArgumentException("Missing --input=<transactions.csv>");
+        }
+        RewardRules rules = RewardRules.of(RewardsCalculator.DEFAULT_PROGRAM, 0, LocalDate.MIN,
+                intOption(options, "tier-one-threshold", 50), intOption(options, "tier-two-threshold", 100),
+                intOption(options, "tier-one-multiplier", 1), intOption(options, "tier-two-multiplier", 2));
+        OfflineRewardsCalculator calculator = new OfflineRewardsCalculator(rules,
+                DateTimeFormatter.ofPattern(options.getOrDefault("month-format", "yyyy-MM"), Locale.ROOT),
+                options.containsKey("end-date") ? LocalDate.parse(options.get("end-date")) : LocalDate.now(),
+                intOption(options, "calculation-months", 3),
+                intOption(options, "parallelism", Runtime.getRuntime().availableProcessors()),
+                intOption(options, "chunk-mb", 64) * 1024L * 1024L);
+
+        long started = System.nanoTime();
+        String output = options.get("output");
+        try (Writer writer = output == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            Summary summary = calculator.calculate(Path.of(input), writer);
+            System.err.printf(Locale.ROOT, "Scored %d rows for %d customers in %d ms%n", summary.rows(),
+                    summary.customers(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Counts of a run.
+     *
+     * @param rows rows parsed
+     * @param customers customers written
+     */
+    record Summary(long rows, long customers) {
+    }
+
+    /**
+     * Scores an extract and writes the rewards of each customer, ordered by customer ID.
+     *
+     * @param input transaction extract
+     * @param output destination of the JSON lines
+     * @return counts of the run
+     * @throws IOException if the input cannot be read or the output written
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    Summary calculate(Path input, Writer output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel);
+            AtomicInteger nextChunk = new AtomicInteger();
+            List<Worker> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(parallelism, Math.max(1, chunks.size())); i++) {
+                workers.add(new Worker(channel, chunks, nextChunk));
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(workers)).join();
+            } catch (RuntimeException ex) {
+                throw unwrap(ex);
+            } finally {
+                pool.shutdown();
+            }
+
+            LongIntHashMap totals = workers.get(0).join();
+            long rows = workers.get(0).rows;
+            for (Worker worker : workers.subList(1, workers.size())) {
+                totals.addAll(worker.join());
+                rows += worker.rows;
+            }
+            return new Summary(rows, write(totals, output));
+        }
+    }
+
+    /**
+     * Splits the file into chunks of about {@link #chunkBytes} that start at the beginning of a line.
+     *
+     * @return start and end offsets of each chunk
+     */
+    private List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkBytes);
+            if (end < size) {
+                MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, end - 1, Math.min(size - end + 1, 64 * 1024));
+                int newline = 0;
+                while (newline < tail.limit() && tail.get(newline) != '\n') {
+                    newline++;
+                }
+                if (newline == tail.limit()) {
+                    throw new IllegalArgumentException("No line break within 64 KiB after byte offset " + end);
+                }
+                end = end + newline;
+            }
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Writes the merged totals; keys sort by customer and then by month, so each customer is contiguous.
+     *
+     * @return number of customers written
+     */
+    private long write(LongIntHashMap totals, Writer output) throws IOException {
+        String[] monthKeys = new String[slotsPerCustomer - 1];
+        for (int slot = 0; slot < monthKeys.length; slot++) {
+            int month = startMonth + slot;
+            monthKeys[slot] = LocalDate.of(month / 12, month % 12 + 1, 1).format(monthFormatter);
+        }
+        long customers = 0;
+        long[] keys = totals.sortedKeys();
+        StringBuilder line = new StringBuilder(256);
+        int index = 0;
+        while (index < keys.length) {
+            long customerId = keys[index] / slotsPerCustomer;
+            line.setLength(0);
+            line.append("{\"customerId\":").append(customerId).append(",\"monthlyPoints\":{");
+            int total = 0;
+            boolean first = true;
+            for (; index < keys.length && keys[index] / slotsPerCustomer == customerId; index++) {
+                int slot = (int) (keys[index] % slotsPerCustomer);
+                if (slot < monthKeys.length) {
+                    int points = totals.get(keys[index]);
+                    line.append(first ? "" : ",").append('"').append(monthKeys[slot]).append("\":").append(points);
+                    total += points;
+                    first = false;
+                }
+            }
+            line.append("},\"totalPoints\":").append(total).append("}\n");
+            output.append(line);
+            customers++;
+        }
+        output.flush();
+        return customers;
+    }
+
+    /**
+     * Fork-join task that parses chunks until none are left, accumulating into its own map.
+     */
+    private final class Worker extends RecursiveTask<LongIntHashMap> {
+
+        private final FileChannel channel;
+        private final List<long[]> chunks;
+        private final AtomicInteger nextChunk;
+        private long rows;
+
+        Worker(FileChannel channel, List<long[]> chunks, AtomicInteger nextChunk) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.nextChunk = nextChunk;
+        }
+
+        @Override
+        protected LongIntHashMap compute() {
+            LongIntHashMap points = new LongIntHashMap(1 << 16);
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks.size()) {
+                long[] range = chunks.get(chunk);
+                try {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+                    rows += new ChunkParser(buffer, range[0]).parseInto(points);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return points;
+        }
+    }
+
+    /**
+     * Parses one mapped chunk. Fields are decoded straight from the bytes into primitives.
+     */
+    private final class ChunkParser {
+
+        private final MappedByteBuffer buffer;
+        private final long offset;
+        private final int limit;
+        private int position;
+        private int lineStart;
+        private int dateMonth;
+
+        ChunkParser(MappedByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.limit = buffer.limit();
+        }
+
+        long parseInto(LongIntHashMap points) {
+            long rows = 0;
+            if (offset == 0 && limit > 0 && !isDigit(buffer.get(0))) {
+                skipLine();
+            }
+            while (position < limit) {
+                lineStart = position;
+                byte first = buffer.get(position);
+                if (first == '\n' || first == '\r') {
+                    position++;
+                    continue;
+                }
+                long customerId = parseCustomerId();
+                expect(',');
+                long amountCents = parseCents();
+                expect(',');
+                long epochDay = parseEpochDay();
+                endLine();
+
+                long customerKey = customerId * slotsPerCustomer;
+                if (epochDay >= startEpochDay && epochDay <= endEpochDay) {
+                    points.addTo(customerKey + dateMonth - startMonth,
+                            evaluator.rulesFor(epochDay).calculatePoints(amountCents));
+                } else {
+                    points.addTo(customerKey + slotsPerCustomer - 1, 0);
+                }
+                rows++;
+            }
+            return rows;
+        }
+
+        private long parseCustomerId() {
+            long value = 0;
+            int digits = 0;
+            while (position < limit && isDigit(buffer.get(position))) {
+                value = value * 10 + (buffer.get(position++) - '0');
+                if (++digits > 15) {
+                    throw malformed("customer ID is too large");
+                }
+            }
+            if (digits == 0) {
+                throw malformed("expected a customer ID");
+            }
+            return value;
+        }
+
+        private long parseCents() {
+            boolean negative = position < limit && buffer.get(position) == '-';
+            if (negative) {
+                position++;
+            }
+            long cents = 0;
+            int digits = 0;
+            while (position < limit && isDigit(buffer.get(position))) {
+                cents = cents * 10 + (buffer.get(position++) - '0');
+                if (++digits > 15) {
+                    throw malformed("amount is too large");
+                }
+            }
+            int fraction = 0;
+            if (position < limit && buffer.get(position) == '.') {
+                position++;
+                while (position < limit && isDigit(buffer.get(position))) {
+                    int digit = buffer.get(position++) - '0';
+                    if (fraction < 2) {
+                        cents = cents * 10 + digit;
+                    } else if (digit != 0) {
+                        throw malformed("amount has sub-cent precision");
+                    }
+                    fraction++;
+                }
+            }
+            if (digits == 0 && fraction == 0) {
+                throw malformed("expected an amount");
+            }
+            for (; fraction < 2; fraction++) {
+                cents *= 10;
+            }
+            return negative ? -cents : cents;
+        }
+
+        private long parseEpochDay() {
+            int year = fixedDigits(4);
+            expect('-');
+            int month = fixedDigits(2);
+            expect('-');
+            int day = fixedDigits(2);
+            if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+                throw malformed("invalid date");
+            }
+            dateMonth = monthIndex(year, month);
+            return epochDay(year, month, day);
+        }
+
+        private int fixedDigits(int count) {
+            int value = 0;
+            for (int i = 0; i < count; i++) {
+                if (position >= limit || !isDigit(buffer.get(position))) {
+                    throw malformed("expected a date as yyyy-MM-dd");
+                }
+                value = value * 10 + (buffer.get(position++) - '0');
+            }
+            return value;
+        }
+
+        private void expect(char separator) {
+            if (position >= limit || buffer.get(position) != separator) {
+                throw malformed("expected '" + separator + "'");
+            }
+            position++;
+        }
+
+        private void endLine() {
+            if (position < limit && buffer.get(position) == '\r') {
+                position++;
+            }
+            if (position < limit && buffer.get(position) != '\n') {
+                throw malformed("unexpected data after the transaction date");
+            }
+            position++;
+        }
+
+        private void skipLine() {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        private IllegalArgumentException malformed(String reason) {
+            return new IllegalArgumentException("Malformed row at byte offset " + (offset + lineStart) + ": " + reason);
+        }
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**Same arithmetic as {@link LocalDate#toEpochDay()} for years 0-9999, without creating the date.*/
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static RuntimeException unwrap(RuntimeException ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null && !(cause instanceof IllegalArgumentException)
+                && !(cause instanceof UncheckedIOException)) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : ex;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.charter.retail.rewards.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts between API amounts in dollars and stored amounts in cents.
+ * Amounts are stored and scored as whole cents; BigDecimal is only used at the API edge.
+ */
+public final class AmountConverter {
+
+    private AmountConverter() {
+    }
+
+    /**
+     * Converts a dollar amount to cents.
+     *
+     * @param amount amount with at most two fraction digits
+     * @return amount in cents
+     * @throws ArithmeticException if the amount has sub-cent precision or does not fit in a long
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Converts cents to a dollar amount with two fraction digits.
+     *
+     * @param cents amount in cents
+     * @return dollar amount
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
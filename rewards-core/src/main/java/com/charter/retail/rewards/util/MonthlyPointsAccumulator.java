@@ -0,0 +1,55 @@
+package com.charter.retail.rewards.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable accumulator of reward points per month for one customer.
+ * Transactions are scored one at a time, so it works for lists as well as for streamed rows;
+ * it is not thread-safe and is meant to be created per customer.
+ */
+public final class MonthlyPointsAccumulator {
+
+    private final RewardRuleTable evaluator;
+    private final DateTimeFormatter monthFormatter;
+    private final Map<String, Integer> monthlyPoints = new TreeMap<>();
+    private int totalPoints;
+
+    /**
+     * Creates an empty accumulator.
+     *
+     * @param evaluator compiled rules of the customer's program
+     * @param monthFormatter formatter of the month keys
+     */
+    public MonthlyPointsAccumulator(RewardRuleTable evaluator, DateTimeFormatter monthFormatter) {
+        this.evaluator = evaluator;
+        this.monthFormatter = monthFormatter;
+    }
+
+    /**
+     * Scores a transaction with the rules in effect on its date and adds it to its month.
+     *
+     * @param amountCents transaction amount in cents
+     * @param transactionDate transaction date
+     * @return this accumulator
+     */
+    public MonthlyPointsAccumulator add(long amountCents, LocalDate transactionDate) {
+        int points = evaluator.rulesFor(transactionDate).calculatePoints(amountCents);
+        monthlyPoints.merge(transactionDate.format(monthFormatter), points, Integer::sum);
+        totalPoints += points;
+        return this;
+    }
+
+    /**Returns the points per month, ordered by month key.*/
+    public Map<String, Integer> getMonthlyPoints() {
+        return Collections.unmodifiableMap(monthlyPoints);
+    }
+
+    /**Returns the points over all months.*/
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+}
@@ -0,0 +1,103 @@
+package com.charter.retail.rewards.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable table of rule versions ordered by effective date.
+ * Lookups are a binary search over a primitive array; changes produce a new table.
+ */
+public final class RewardRuleTable {
+
+    private final long[] effectiveEpochDays;
+    private final RewardRules[] rules;
+
+    private RewardRuleTable(long[] effectiveEpochDays, RewardRules[] rules) {
+        this.effectiveEpochDays = effectiveEpochDays;
+        this.rules = rules;
+    }
+
+    /**
+     * Creates a table holding only the base rules, effective for all dates.
+     *
+     * @param base base rules
+     * @return rule table
+     */
+    public static RewardRuleTable of(RewardRules base) {
+        return new RewardRuleTable(new long[] {LocalDate.MIN.toEpochDay()}, new RewardRules[] {base});
+    }
+
+    /**
+     * Finds the rules in effect on a date.
+     * When several versions share an effective date, the latest version wins.
+     *
+     * @param date transaction date
+     * @return rules in effect
+     */
+    public RewardRules rulesFor(LocalDate date) {
+        return rulesFor(date.toEpochDay());
+    }
+
+    /**
+     * Finds the rules in effect on a day, for callers that parse dates without creating {@link LocalDate}s.
+     *
+     * @param epochDay transaction date as days since 1970-01-01
+     * @return rules in effect
+     */
+    public RewardRules rulesFor(long epochDay) {
+        int low = 0;
+        int high = effectiveEpochDays.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (effectiveEpochDays[mid] <= epochDay) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return rules[low];
+    }
+
+    /**
+     * Returns a new table with an additional version.
+     *
+     * @param version rules to add
+     * @return new rule table
+     */
+    public RewardRuleTable withVersion(RewardRules version) {
+        long epochDay = version.effectiveFrom().toEpochDay();
+        int index = rules.length;
+        while (index > 0 && effectiveEpochDays[index - 1] > epochDay) {
+            index--;
+        }
+        long[] days = new long[rules.length + 1];
+        RewardRules[] versions = new RewardRules[rules.length + 1];
+        System.arraycopy(effectiveEpochDays, 0, days, 0, index);
+        System.arraycopy(rules, 0, versions, 0, index);
+        days[index] = epochDay;
+        versions[index] = version;
+        System.arraycopy(effectiveEpochDays, index, days, index + 1, rules.length - index);
+        System.arraycopy(rules, index, versions, index + 1, rules.length - index);
+        return new RewardRuleTable(days, versions);
+    }
+
+    /**
+     * Indicates whether a version is part of this table.
+     *
+     * @param version rule version
+     * @return true when present
+     */
+    public boolean contains(long version) {
+        return Arrays.stream(rules).anyMatch(rule -> rule.version() == version);
+    }
+
+    /**
+     * Lists all versions in effective date order.
+     *
+     * @return rule versions
+     */
+    public List<RewardRules> versions() {
+        return List.of(rules);
+    }
+}
@@ -0,0 +1,53 @@
+package com.charter.retail.rewards.util;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable, compiled version of the tiered reward rules.
+ * Thresholds are pre-converted to cents so scoring is pure long arithmetic.
+ *
+ * @param program loyalty program the rules belong to
+ * @param version rule version; 0 is the base version from application properties
+ * @param effectiveFrom first transaction date the version applies to
+ * @param tierOneCents tier one threshold in cents
+ * @param tierTwoCents tier two threshold in cents
+ * @param tierOneMultiplier points per dollar between the thresholds
+ * @param tierTwoMultiplier points per dollar above the tier two threshold
+ */
+public record RewardRules(String program, long version, LocalDate effectiveFrom, long tierOneCents, long tierTwoCents,
+                          int tierOneMultiplier, int tierTwoMultiplier) {
+
+    /**
+     * Compiles rules from dollar thresholds.
+     *
+     * @return compiled rules
+     */
+    public static RewardRules of(String program, long version, LocalDate effectiveFrom, int tierOneThreshold,
+                                 int tierTwoThreshold, int tierOneMultiplier, int tierTwoMultiplier) {
+        return new RewardRules(program, version, effectiveFrom, tierOneThreshold * 100L, tierTwoThreshold * 100L,
+                tierOneMultiplier, tierTwoMultiplier);
+    }
+
+    /**
+     * Calculates reward points for an amount in cents.
+     * Partial dollars within a tier earn no points.
+     *
+     * @param amountCents transaction amount in cents
+     * @return reward points
+     */
+    public int calculatePoints(long amountCents) {
+        int points = 0;
+        
+        // Calculate points for amount over tier two threshold ($100)
+        if (amountCents > tierTwoCents) {
+            points += (int) ((amountCents - tierTwoCents) / 100) * tierTwoMultiplier;
+        }
+        
+        // Calculate points for amount between tier one and tier two ($50-$100)
+        if (amountCents > tierOneCents) {
+            points += (int) ((Math.min(amountCents, tierTwoCents) - tierOneCents) / 100) * tierOneMultiplier;
+        }
+        
+        return points;
+    }
+}
@@ -0,0 +1,145 @@
+package com.charter.retail.rewards.util;
+
+import java.lang.System.Logger.Level;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Utility class for calculating customer reward points based on transaction amounts.
+ * Implements the tiered reward calculation logic.
+ * Acts as the registry of compiled evaluators: each loyalty program has an immutable
+ * {@link RewardRuleTable}, and the whole program map is swapped atomically when a new rule
+ * version is installed, so scoring never takes a lock.
+ * Has no framework dependencies, so batch jobs score exactly like the API.
+ */
+public class RewardsCalculator {
+    
+    /**Program of customers without an explicit assignment.*/
+    public static final String DEFAULT_PROGRAM = "default";
+    
+    private static final System.Logger log = System.getLogger(RewardsCalculator.class.getName());
+    
+    private final AtomicReference<Map<String, RewardRuleTable>> evaluators;
+    
+    /**
+     * Creates a calculator from the base rules of each program.
+     *
+     * @param baseRules base rules, one per program; must include the default program
+     * @throws IllegalArgumentException if the default program has no rules
+     */
+    public RewardsCalculator(Collection<RewardRules> baseRules) {
+        Map<String, RewardRuleTable> tables = new HashMap<>();
+        baseRules.forEach(rules -> tables.put(rules.program(), RewardRuleTable.of(rules)));
+        if (!tables.containsKey(DEFAULT_PROGRAM)) {
+            throw new IllegalArgumentException("Base rules of program '" + DEFAULT_PROGRAM + "' are required");
+        }
+        this.evaluators = new AtomicReference<>(Map.copyOf(tables));
+    }
+    
+    /**
+     * Calculates reward points based on transaction amount using a tiered system.
+     * Points are awarded in tiers:
+     * - 2x points for every dollar above the tier two threshold
+     * - 1x point for every dollar between tier one and tier two thresholds
+     * - No points for amounts at or below tier one threshold
+     */
+    public int calculatePoints(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return 0;
+        }
+        return calculatePoints(amount.movePointRight(2).longValue());
+    }
+    
+    /**
+     * Calculates reward points for an amount in cents using the default program's rules in effect today.
+     *
+     * @param amountCents transaction amount in cents
+     * @return reward points
+     */
+    public int calculatePoints(long amountCents) {
+        return calculatePoints(amountCents, LocalDate.now());
+    }
+    
+    /**
+     * Calculates reward points for an amount in cents using the default program's rules
+     * in effect on the transaction date.
+     *
+     * @param amountCents transaction amount in cents
+     * @param transactionDate transaction date
+     * @return reward points
+     */
+    public int calculatePoints(long amountCents, LocalDate transactionDate) {
+        return calculatePoints(DEFAULT_PROGRAM, amountCents, transactionDate);
+    }
+    
+    /**
+     * Calculates reward points for an amount in cents using a program's rules in effect on the transaction date.
+     *
+     * @param program loyalty program
+     * @param amountCents transaction amount in cents
+     * @param transactionDate transaction date
+     * @return reward points
+     */
+    public int calculatePoints(String program, long amountCents, LocalDate transactionDate) {
+        return evaluatorFor(program).rulesFor(transactionDate).calculatePoints(amountCents);
+    }
+    
+    /**
+     * Resolves the compiled rules of a program with a single map lookup.
+     * Programs that are no longer configured fall back to the default program.
+     *
+     * @param program loyalty program
+     * @return compiled rule table
+     */
+    public RewardRuleTable evaluatorFor(String program) {
+        Map<String, RewardRuleTable> tables = evaluators.get();
+        RewardRuleTable table = program == null ? null : tables.get(program);
+        return table != null ? table : tables.get(DEFAULT_PROGRAM);
+    }
+    
+    /**
+     * Indicates whether a program is configured.
+     *
+     * @param program loyalty program
+     * @return true when the program has rules
+     */
+    public boolean hasProgram(String program) {
+        return program != null && evaluators.get().containsKey(program);
+    }
+    
+    /**Returns the compiled rule tables by program.*/
+    public Map<String, RewardRuleTable> getRuleTables() {
+        return evaluators.get();
+    }
+    
+    /**
+     * Installs a rule version into its program. Versions that are already installed are ignored,
+     * as are versions of programs that are not configured.
+     *
+     * @param rules compiled rules
+     * @return true if the version was added
+     */
+    public boolean install(RewardRules rules) {
+        Map<String, RewardRuleTable> current;
+        Map<String, RewardRuleTable> updated;
+        do {
+            current = evaluators.get();
+            RewardRuleTable table = current.get(rules.program());
+            if (table == null) {
+                log.log(Level.WARNING, "Ignoring rule version {0} of unknown program ''{1}''", rules.version(), rules.program());
+                return false;
+            }
+            if (table.contains(rules.version())) {
+                return false;
+            }
+            Map<String, RewardRuleTable> copy = new HashMap<>(current);
+            copy.put(rules.program(), table.withVersion(rules));
+            updated = Map.copyOf(copy);
+        } while (!evaluators.compareAndSet(current, updated));
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package com.charter.retail.rewards.tools;
+
+import com.charter.retail.rewards.util.MonthlyPointsAccumulator;
+import com.charter.retail.rewards.util.RewardRuleTable;
+import com.charter.retail.rewards.util.RewardRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflineRewardsCalculatorTest {
+
+    private static final RewardRules RULES = RewardRules.of("default", 0, LocalDate.MIN, 50, 100, 1, 2);
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM", Locale.ROOT);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 3, 15);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCalculateMatchesMonthlyAccumulatorAcrossChunks() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        StringBuilder csv = new StringBuilder("customer_id,amount,transaction_date\n");
+        Map<Long, MonthlyPointsAccumulator> expected = new TreeMap<>();
+        RewardRuleTable evaluator = RewardRuleTable.of(RULES);
+        for (int i = 0; i < 5_000; i++) {
+            long customerId = 1 + random.nextInt(300);
+            long cents = random.nextLong(25_000);
+            LocalDate date = END_DATE.minusDays(random.nextInt(150));
+            csv.append(customerId).append(',').append(cents / 100).append('.')
+                    .append(String.format(Locale.ROOT, "%02d", cents % 100)).append(',').append(date)
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+            MonthlyPointsAccumulator points = expected.computeIfAbsent(customerId,
+                    id -> new MonthlyPointsAccumulator(evaluator, MONTH_FORMAT));
+            if (!date.isBefore(END_DATE.minusMonths(3))) {
+                points.add(cents, date);
+            }
+        }
+
+        StringWriter output = new StringWriter();
+        OfflineRewardsCalculator.Summary summary = calculator(4, 4096).calculate(write(csv), output);
+
+        String expectedLines = expected.entrySet().stream()
+                .map(entry -> "{\"customerId\":" + entry.getKey() + ",\"monthlyPoints\":{"
+                        + entry.getValue().getMonthlyPoints().entrySet().stream()
+                                .map(month -> "\"" + month.getKey() + "\":" + month.getValue())
+                                .collect(Collectors.joining(","))
+                        + "},\"totalPoints\":" + entry.getValue().getTotalPoints() + "}\n")
+                .collect(Collectors.joining());
+        assertEquals(5_000, summary.rows());
+        assertEquals(expected.size(), summary.customers());
+        assertEquals(expectedLines, output.toString());
+    }
+
+    @Test
+    void testCalculateKeepsCustomersWithoutTransactionsInWindow() throws IOException {
+        StringWriter output = new StringWriter();
+        calculator(1, 1024).calculate(write(new StringBuilder("""
+                2,120.00,2024-03-01
+                1,120.00,2023-01-01
+
+                2,75.5,2024-01-10
+                """)), output);
+
+        assertEquals("""
+                {"customerId":1,"monthlyPoints":{},"totalPoints":0}
+                {"customerId":2,"monthlyPoints":{"2024-01":25,"2024-03":90},"totalPoints":115}
+                """, output.toString());
+    }
+
+    @Test
+    void testCalculateRejectsSubCentAmount() throws IOException {
+        Path input = write(new StringBuilder("1,120.00,2024-03-01\n1,12.345,2024-03-01\n"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> calculator(2, 1024).calculate(input, new StringWriter()));
+        assertTrue(ex.getMessage().contains("byte offset 20"));
+    }
+
+    @Test
+    void testCalculateRejectsInvalidDate() throws IOException {
+        Path input = write(new StringBuilder("1,120.00,2023-02-29\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> calculator(1, 1024).calculate(input, new StringWriter()));
+    }
+
+    private OfflineRewardsCalculator calculator(int parallelism, long chunkBytes) {
+        return new OfflineRewardsCalculator(RULES, MONTH_FORMAT, END_DATE, 3, parallelism, chunkBytes);
+    }
+
+    private Path write(StringBuilder csv) throws IOException {
+        return Files.writeString(directory.resolve("transactions.csv"), csv, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AmountConverterTest {
+    
+    @ParameterizedTest
+    @CsvSource({
+        "120.00, 12000",
+        "75.5, 7550",
+        "0.01, 1",
+        "100, 10000"
+    })
+    void testToCents(String amount, long expectedCents) {
+        assertEquals(expectedCents, AmountConverter.toCents(new BigDecimal(amount)));
+    }
+    
+    @Test
+    void testToCentsRejectsSubCentAmount() {
+        assertThrows(ArithmeticException.class, () -> AmountConverter.toCents(new BigDecimal("10.005")));
+    }
+    
+    @Test
+    void testFromCents() {
+        assertEquals(new BigDecimal("75.50"), AmountConverter.fromCents(7550));
+    }
+}
@@ -0,0 +1,50 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonthlyPointsAccumulatorTest {
+    
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    
+    private final RewardRuleTable rules = RewardRuleTable.of(RewardRules.of("default", 0, LocalDate.MIN, 50, 100, 1, 2));
+    
+    @Test
+    void testAddGroupsPointsByMonth() {
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator(rules, MONTH_FORMAT)
+                .add(12000L, LocalDate.of(2024, 2, 10))
+                .add(7500L, LocalDate.of(2024, 1, 5))
+                .add(10000L, LocalDate.of(2024, 2, 20));
+        
+        assertEquals(List.of("2024-01", "2024-02"), List.copyOf(accumulator.getMonthlyPoints().keySet()));
+        assertEquals(Map.of("2024-01", 25, "2024-02", 140), accumulator.getMonthlyPoints());
+        assertEquals(165, accumulator.getTotalPoints());
+    }
+    
+    @Test
+    void testAddUsesRulesEffectiveOnTransactionDate() {
+        RewardRuleTable versioned = rules.withVersion(RewardRules.of("default", 1, LocalDate.of(2024, 2, 1), 25, 75, 1, 3));
+        
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator(versioned, MONTH_FORMAT)
+                .add(12000L, LocalDate.of(2024, 1, 31))
+                .add(12000L, LocalDate.of(2024, 2, 1));
+        
+        assertEquals(Map.of("2024-01", 90, "2024-02", 185), accumulator.getMonthlyPoints());
+    }
+    
+    @Test
+    void testEmptyAccumulator() {
+        MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator(rules, MONTH_FORMAT);
+        
+        assertTrue(accumulator.getMonthlyPoints().isEmpty());
+        assertEquals(0, accumulator.getTotalPoints());
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.getMonthlyPoints().put("2024-01", 1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.charter.retail.rewards.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RewardsCalculatorTest {
+    
+    private RewardsCalculator calculator;
+    
+    @BeforeEach
+    void setUp() {
+        calculator = new RewardsCalculator(List.of(
+                RewardRules.of("default", 0, LocalDate.MIN, 50, 100, 1, 2),
+                RewardRules.of("premium", 0, LocalDate.MIN, 25, 75, 1, 3)));
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+        "120.00, 90",
+        "100.00, 50",
+        "75.00, 25",
+        "50.00, 0",
+        "49.99, 0",
+        "150.00, 150",
+        "200.00, 250",
+        "50.01, 0",
+        "100.01, 50",
+        "25.00, 0"
+    })
+    void testCalculatePoints(String amount, int expectedPoints) {
+        BigDecimal transactionAmount = new BigDecimal(amount);
+        int actualPoints = calculator.calculatePoints(transactionAmount);
+        assertEquals(expectedPoints, actualPoints);
+    }
+    
+    @Test
+    void testCalculatePointsWithNullAmount() {
+        int points = calculator.calculatePoints(null);
+        assertEquals(0, points);
+    }
+    
+    @Test
+    void testCalculatePointsWithZeroAmount() {
+        int points = calculator.calculatePoints(BigDecimal.ZERO);
+        assertEquals(0, points);
+    }
+    
+    @Test
+    void testCalculatePointsWithNegativeAmount() {
+        int points = calculator.calculatePoints(new BigDecimal("-10.00"));
+        assertEquals(0, points);
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+        "12000, 90",
+        "10000, 50",
+        "5001, 0",
+        "10001, 50",
+        "10099, 50",
+        "10100, 52",
+        "0, 0",
+        "-1000, 0"
+    })
+    void testCalculatePointsInCents(long amountCents, int expectedPoints) {
+        assertEquals(expectedPoints, calculator.calculatePoints(amountCents));
+    }
+    
+    @Test
+    void testCalculatePointsUsesRulesEffectiveOnTransactionDate() {
+        LocalDate effectiveFrom = LocalDate.of(2024, 6, 1);
+        calculator.install(RewardRules.of("default", 1, effectiveFrom, 25, 75, 1, 3));
+        
+        assertEquals(90, calculator.calculatePoints(12000L, effectiveFrom.minusDays(1)));
+        assertEquals(185, calculator.calculatePoints(12000L, effectiveFrom));
+    }
+    
+    @Test
+    void testInstallKeepsVersionsOrderedByEffectiveDate() {
+        calculator.install(RewardRules.of("default", 1, LocalDate.of(2024, 9, 1), 50, 100, 1, 3));
+        calculator.install(RewardRules.of("default", 2, LocalDate.of(2024, 3, 1), 50, 100, 2, 2));
+        
+        assertEquals(List.of(0L, 2L, 1L), calculator.evaluatorFor("default").versions().stream().map(RewardRules::version).toList());
+        assertEquals(140, calculator.calculatePoints(12000L, LocalDate.of(2024, 5, 1)));
+        assertEquals(110, calculator.calculatePoints(12000L, LocalDate.of(2024, 9, 1)));
+    }
+    
+    @Test
+    void testInstallIgnoresKnownVersion() {
+        assertTrue(calculator.install(RewardRules.of("default", 1, LocalDate.of(2024, 6, 1), 25, 75, 1, 3)));
+        assertFalse(calculator.install(RewardRules.of("default", 1, LocalDate.of(2024, 6, 1), 25, 75, 1, 3)));
+        assertEquals(2, calculator.evaluatorFor("default").versions().size());
+    }
+    
+    @Test
+    void testCalculatePointsUsesProgramRules() {
+        LocalDate today = LocalDate.now();
+        
+        assertEquals(90, calculator.calculatePoints("default", 12000L, today));
+        assertEquals(185, calculator.calculatePoints("premium", 12000L, today));
+    }
+    
+    @Test
+    void testEvaluatorForUnknownProgramFallsBackToDefault() {
+        assertSame(calculator.evaluatorFor("default"), calculator.evaluatorFor("gold"));
+        assertSame(calculator.evaluatorFor("default"), calculator.evaluatorFor(null));
+        assertFalse(calculator.hasProgram("gold"));
+        assertTrue(calculator.hasProgram("premium"));
+    }
+    
+    @Test
+    void testInstallAffectsOnlyItsProgram() {
+        assertTrue(calculator.install(RewardRules.of("premium", 1, LocalDate.of(2024, 6, 1), 50, 100, 2, 4)));
+        assertFalse(calculator.install(RewardRules.of("gold", 2, LocalDate.of(2024, 6, 1), 50, 100, 2, 4)));
+        
+        assertEquals(1, calculator.evaluatorFor("default").versions().size());
+        assertEquals(2, calculator.evaluatorFor("premium").versions().size());
+        assertEquals(180, calculator.calculatePoints("premium", 12000L, LocalDate.of(2024, 6, 1)));
+    }
+    
+    @Test
+    void testConstructorRequiresDefaultProgram() {
+        List<RewardRules> premiumOnly = List.of(RewardRules.of("premium", 0, LocalDate.MIN, 25, 75, 1, 3));
+        
+        assertThrows(IllegalArgumentException.class, () -> new RewardsCalculator(premiumOnly));
+    }
+}
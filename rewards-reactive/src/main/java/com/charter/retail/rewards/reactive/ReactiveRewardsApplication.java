@@ -0,0 +1,19 @@
+package com.charter.retail.rewards.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Reactive variant of the Customer Reward Points API, served by WebFlux on R2DBC.
+ * Scores with the calculator of rewards-core and the rule versions stored by rewards-api,
+ * so both stacks score identically.
+ */
+@SpringBootApplication
+@EnableScheduling
+public class ReactiveRewardsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveRewardsApplication.class, args);
+    }
+}
@@ -0,0 +1,59 @@
+package com.charter.retail.rewards.reactive.config;
+
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reward settings of the reactive application.
+ * Binds the scoring subset of the 'rewards' properties used by rewards-api, so both stacks
+ * can share one configuration.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rewards")
+@Data
+public class ReactiveRewardsConfig {
+
+    private int tierOneThreshold;
+    private int tierTwoThreshold;
+    private int tierOneMultiplier;
+    private int tierTwoMultiplier;
+    private int calculationMonths;
+    private String monthFormat;
+    private Map<String, Program> programs = new LinkedHashMap<>();
+
+    /**
+     * Compiles the configured tier values into base rules (version 0) of every program.
+     *
+     * @return base rules, starting with the default program
+     */
+    public List<RewardRules> baseRules() {
+        List<RewardRules> rules = new ArrayList<>();
+        rules.add(RewardRules.of(RewardsCalculator.DEFAULT_PROGRAM, 0, LocalDate.MIN, tierOneThreshold,
+                tierTwoThreshold, tierOneMultiplier, tierTwoMultiplier));
+        programs.forEach((program, tiers) -> rules.add(RewardRules.of(program, 0, LocalDate.MIN,
+                tiers.getTierOneThreshold(), tiers.getTierTwoThreshold(),
+                tiers.getTierOneMultiplier(), tiers.getTierTwoMultiplier())));
+        return rules;
+    }
+
+    /**
+     * Base tier values of an additional loyalty program.
+     * Bound from 'rewards.programs.{name}.*'.
+     */
+    @Data
+    public static class Program {
+
+        private int tierOneThreshold;
+        private int tierTwoThreshold;
+        private int tierOneMultiplier;
+        private int tierTwoMultiplier;
+    }
+}
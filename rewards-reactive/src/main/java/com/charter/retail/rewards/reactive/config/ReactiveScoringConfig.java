@@ -0,0 +1,19 @@
+package com.charter.retail.rewards.reactive.config;
+
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the framework-free {@link RewardsCalculator} from rewards-core as a bean,
+ * built from the tier values in {@link ReactiveRewardsConfig}.
+ */
+@Configuration
+public class ReactiveScoringConfig {
+
+    /**Configures the calculator with the base rules of every program.*/
+    @Bean
+    public RewardsCalculator rewardsCalculator(ReactiveRewardsConfig config) {
+        return new RewardsCalculator(config.baseRules());
+    }
+}
@@ -0,0 +1,63 @@
+package com.charter.retail.rewards.reactive.controller;
+
+import com.charter.retail.rewards.reactive.dto.CustomerProgramDto;
+import com.charter.retail.rewards.reactive.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.reactive.service.ReactiveRewardsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for customer reward points, mirroring CustomerRewardsController.
+ */
+@RestController
+@RequestMapping("/api/rewards")
+@RequiredArgsConstructor
+public class ReactiveRewardsController {
+
+    private final ReactiveRewardsService rewardsService;
+
+    /**
+     * Retrieves reward points for a specific customer over the configured time period.
+     *
+     * @param customerId the ID of the customer
+     * @return customer rewards with monthly breakdown and total points
+     */
+    @GetMapping("/customer/{customerId}")
+    public Mono<CustomerRewardsDto> getCustomerRewards(@PathVariable Long customerId) {
+        return rewardsService.getRewardsForCustomer(customerId);
+    }
+
+    /**
+     * Retrieves reward points for all customers with pagination support.
+     * Customers can be sorted by id, name and program; without a sort they are ordered by ID.
+     *
+     * @param pageable pagination and sorting parameters
+     * @return paginated list of customer rewards
+     */
+    @GetMapping("/customers")
+    public Mono<Page<CustomerRewardsDto>> getAllCustomersRewards(Pageable pageable) {
+        return rewardsService.getRewardsForAllCustomers(pageable);
+    }
+
+    /**
+     * Assigns a customer to a loyalty program.
+     *
+     * @param customerId the ID of the customer
+     * @param programDto program to assign
+     * @return customer program assignment
+     */
+    @PutMapping("/customer/{customerId}/program")
+    public Mono<CustomerProgramDto> assignProgram(@PathVariable Long customerId,
+                                                  @Valid @RequestBody CustomerProgramDto programDto) {
+        return rewardsService.assignProgram(customerId, programDto.getProgram());
+    }
+}
@@ -0,0 +1,36 @@
+package com.charter.retail.rewards.reactive.controller;
+
+import com.charter.retail.rewards.reactive.dto.TransactionDto;
+import com.charter.retail.rewards.reactive.service.ReactiveRewardsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for customer transactions, mirroring TransactionController.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+
+    private final ReactiveRewardsService rewardsService;
+
+    /**
+     * Creates a new transaction.
+     *
+     * @param transactionDto transaction data
+     * @return created transaction
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TransactionDto> createTransaction(@Valid @RequestBody TransactionDto transactionDto) {
+        return rewardsService.createTransaction(transactionDto);
+    }
+}
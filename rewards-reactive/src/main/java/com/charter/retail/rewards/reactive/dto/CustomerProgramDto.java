@@ -0,0 +1,20 @@
+package com.charter.retail.rewards.reactive.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Loyalty program assignment of a customer; same JSON shape and validation as the servlet API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerProgramDto {
+    
+    private Long customerId;
+    
+    @NotBlank(message = "Program is required")
+    private String program;
+}
@@ -0,0 +1,20 @@
+package com.charter.retail.rewards.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+/**
+ * Reward points of a customer; same JSON shape as the servlet API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRewardsDto {
+    
+    private Long customerId;
+    private String customerName;
+    private Map<String, Integer> monthlyPoints;
+    private Integer totalPoints;
+}
@@ -0,0 +1,32 @@
+package com.charter.retail.rewards.reactive.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transaction request and response body; same JSON shape and validation as the servlet API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDto {
+    
+    private Long id;
+    
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+    
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimal places")
+    private BigDecimal amount;
+    
+    @NotNull(message = "Transaction date is required")
+    private LocalDate transactionDate;
+}
@@ -0,0 +1,229 @@
+package com.charter.retail.rewards.reactive.repository;
+
+import com.charter.retail.rewards.repository.TransactionAmount;
+import com.charter.retail.rewards.util.RewardRules;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking data access for customers and transactions over R2DBC.
+ * Transaction rows are streamed with a bounded fetch size, so demand from the subscriber
+ * controls how many rows the driver pulls from the database.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRewardsRepository {
+
+    static final int FETCH_SIZE = 256;
+
+    /**Sortable customer properties and their columns.*/
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "name", "name", "program", "program");
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds a customer by ID.
+     *
+     * @param customerId customer ID
+     * @return customer, or empty if unknown
+     */
+    public Mono<CustomerRow> findCustomer(Long customerId) {
+        return databaseClient.sql("SELECT id, name, program FROM customers WHERE id = :id")
+                .bind("id", customerId)
+                .map((row, metadata) -> new CustomerRow(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("program", String.class)))
+                .one();
+    }
+
+    /**
+     * Finds a page of customers.
+     * Sorting is supported on id, name and program; id is always the last sort key, so pages are stable.
+     *
+     * @param sort requested order
+     * @param offset rows to skip
+     * @param limit page size
+     * @return customers of the page, or an IllegalArgumentException error for a sort property that is not a customer column
+     */
+    public Flux<CustomerRow> findCustomers(Sort sort, long offset, int limit) {
+        return Flux.defer(() -> databaseClient.sql("SELECT id, name, program FROM customers ORDER BY " + orderBy(sort)
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> new CustomerRow(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("program", String.class)))
+                .all());
+    }
+
+    /**Counts all customers.*/
+    public Mono<Long> countCustomers() {
+        return databaseClient.sql("SELECT COUNT(*) FROM customers")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Streams the transaction amounts of a customer within a date range.
+     *
+     * @param customerId customer ID
+     * @param startDate first date, inclusive
+     * @param endDate last date, inclusive
+     * @return transaction amounts
+     */
+    public Flux<TransactionAmount> findAmounts(Long customerId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("SELECT customer_id, amount_cents, transaction_date FROM transactions"
+                        + " WHERE customer_id = :customerId AND transaction_date BETWEEN :startDate AND :endDate")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .bind("customerId", customerId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> toAmount(row))
+                .all();
+    }
+
+    /**
+     * Streams the transaction amounts of several customers within a date range.
+     *
+     * @param customerIds customer IDs
+     * @param startDate first date, inclusive
+     * @param endDate last date, inclusive
+     * @return transaction amounts
+     */
+    public Flux<TransactionAmount> findAmounts(Collection<Long> customerIds, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("SELECT customer_id, amount_cents, transaction_date FROM transactions"
+                        + " WHERE customer_id IN (:customerIds) AND transaction_date BETWEEN :startDate AND :endDate")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .bind("customerIds", customerIds)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> toAmount(row))
+                .all();
+    }
+
+    /**
+     * Inserts a transaction.
+     *
+     * @param customerId customer ID
+     * @param amountCents amount in cents
+     * @param transactionDate transaction date
+     * @return generated transaction ID
+     */
+    public Mono<Long> insertTransaction(Long customerId, long amountCents, LocalDate transactionDate) {
+        return databaseClient.sql("INSERT INTO transactions (customer_id, amount_cents, transaction_date)"
+                        + " VALUES (:customerId, :amountCents, :transactionDate)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("customerId", customerId)
+                .bind("amountCents", amountCents)
+                .bind("transactionDate", transactionDate)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Records a change of a customer's points in the rewards outbox, for the relay of rewards-api.
+     *
+     * @param customerId customer ID
+     * @param transactionId transaction that caused the change, or null for a program change
+     * @param pointsMonth first day of the month whose points changed
+     * @param pointsDelta points added or removed
+     * @return completion
+     */
+    public Mono<Void> insertOutboxEvent(Long customerId, Long transactionId, LocalDate pointsMonth, int pointsDelta) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO rewards_outbox (customer_id,"
+                        + " transaction_id, points_month, points_delta, created_at)"
+                        + " VALUES (:customerId, :transactionId, :pointsMonth, :pointsDelta, :createdAt)")
+                .bind("customerId", customerId)
+                .bind("pointsMonth", pointsMonth)
+                .bind("pointsDelta", pointsDelta)
+                .bind("createdAt", OffsetDateTime.now(ZoneOffset.UTC));
+        return (transactionId == null ? insert.bindNull("transactionId", Long.class)
+                : insert.bind("transactionId", transactionId)).then();
+    }
+
+    /**
+     * Advances the rewards version of a customer, which the ETags of rewards-api are built from.
+     *
+     * @param customerId customer ID
+     * @return number of updated rows
+     */
+    public Mono<Long> advanceRewardsVersion(Long customerId) {
+        return databaseClient.sql("UPDATE customers SET rewards_version = rewards_version + 1 WHERE id = :id")
+                .bind("id", customerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Streams the reward rule versions stored after an ID, in ID order.
+     *
+     * @param afterId exclusive lower bound of the version ID
+     * @return compiled rule versions
+     */
+    public Flux<RewardRules> findRuleVersionsAfter(long afterId) {
+        return databaseClient.sql("SELECT id, program, effective_from, tier_one_threshold, tier_two_threshold,"
+                        + " tier_one_multiplier, tier_two_multiplier FROM reward_rule_versions WHERE id > :afterId ORDER BY id")
+                .bind("afterId", afterId)
+                .map((row, metadata) -> RewardRules.of(row.get("program", String.class), row.get("id", Long.class),
+                        row.get("effective_from", LocalDate.class),
+                        row.get("tier_one_threshold", Integer.class), row.get("tier_two_threshold", Integer.class),
+                        row.get("tier_one_multiplier", Integer.class), row.get("tier_two_multiplier", Integer.class)))
+                .all();
+    }
+
+    /**
+     * Updates the loyalty program of a customer and advances its rewards version.
+     *
+     * @param customerId customer ID
+     * @param program loyalty program
+     * @return number of updated rows
+     */
+    public Mono<Long> updateProgram(Long customerId, String program) {
+        return databaseClient.sql("UPDATE customers SET program = :program, rewards_version = rewards_version + 1"
+                        + " WHERE id = :id")
+                .bind("program", program)
+                .bind("id", customerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> keys = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Customers cannot be sorted by: " + order.getProperty());
+            }
+            keys.add((order.isIgnoreCase() ? "LOWER(" + column + ")" : column) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            keys.add("id ASC");
+        }
+        return String.join(", ", keys);
+    }
+
+    private static TransactionAmount toAmount(Row row) {
+        return new TransactionAmount(row.get("customer_id", Long.class), row.get("amount_cents", Long.class),
+                row.get("transaction_date", LocalDate.class));
+    }
+
+    /**
+     * Customer columns needed to build rewards.
+     *
+     * @param id customer ID
+     * @param name customer name
+     * @param program loyalty program
+     */
+    public record CustomerRow(Long id, String name, String program) {
+    }
+}
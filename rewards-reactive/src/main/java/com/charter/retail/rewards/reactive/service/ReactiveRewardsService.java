@@ -0,0 +1,186 @@
+package com.charter.retail.rewards.reactive.service;
+
+import com.charter.retail.rewards.reactive.dto.CustomerProgramDto;
+import com.charter.retail.rewards.reactive.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.reactive.dto.TransactionDto;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.reactive.config.ReactiveRewardsConfig;
+import com.charter.retail.rewards.reactive.repository.ReactiveRewardsRepository;
+import com.charter.retail.rewards.reactive.repository.ReactiveRewardsRepository.CustomerRow;
+import com.charter.retail.rewards.repository.TransactionAmount;
+import com.charter.retail.rewards.util.AmountConverter;
+import com.charter.retail.rewards.util.MonthlyPointsAccumulator;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of RewardsService.
+ * Transactions are streamed from the database and folded into a {@link MonthlyPointsAccumulator}
+ * as they arrive, so no request holds a thread while waiting for rows and no customer's window
+ * is materialised as a list.
+ * Writes behave like rewards-api: a new transaction or program change records its points in the rewards outbox
+ * and advances the customer's rewards version in the same database transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveRewardsService {
+
+    private final ReactiveRewardsRepository repository;
+    private final RewardsCalculator rewardsCalculator;
+    private final ReactiveRewardsConfig config;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Retrieves reward points for a specific customer over the configured time period.
+     *
+     * @param customerId customer ID
+     * @return customer rewards, or a ResourceNotFoundException error
+     */
+    public Mono<CustomerRewardsDto> getRewardsForCustomer(Long customerId) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        return repository.findCustomer(customerId)
+                .switchIfEmpty(Mono.error(() -> customerNotFound(customerId)))
+                .flatMap(customer -> accumulate(customer, repository.findAmounts(customerId, startDate, endDate))
+                        .map(points -> toRewards(customer, points)));
+    }
+
+    /**
+     * Gets reward points for a page of customers.
+     * The transactions of the whole page are streamed by one query and folded per customer
+     * as the rows arrive.
+     *
+     * @param pageable pagination and sorting parameters; customers can be sorted by id, name and program
+     * @return paginated customer rewards
+     */
+    public Mono<Page<CustomerRewardsDto>> getRewardsForAllCustomers(Pageable pageable) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        Mono<List<CustomerRow>> customers = repository.findCustomers(pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                .collectList();
+        return Mono.zip(customers, repository.countCustomers())
+                .flatMap(pageAndTotal -> {
+                    List<CustomerRow> page = pageAndTotal.getT1();
+                    if (page.isEmpty()) {
+                        return Mono.just(new PageImpl<>(List.<CustomerRewardsDto>of(), pageable, pageAndTotal.getT2()));
+                    }
+                    Map<Long, CustomerRow> customersById = page.stream()
+                            .collect(Collectors.toMap(CustomerRow::id, Function.identity()));
+                    return repository.findAmounts(customersById.keySet(), startDate, endDate)
+                            .groupBy(TransactionAmount::customerId)
+                            .flatMap(transactions -> accumulate(customersById.get(transactions.key()), transactions)
+                                    .map(points -> Map.entry(transactions.key(), points)), page.size())
+                            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                            .map(pointsById -> new PageImpl<>(page.stream()
+                                    .map(customer -> toRewards(customer, pointsById.getOrDefault(customer.id(),
+                                            newAccumulator(customer))))
+                                    .toList(), pageable, pageAndTotal.getT2()));
+                });
+    }
+
+    /**
+     * Assigns a customer to a loyalty program.
+     *
+     * @param customerId customer ID
+     * @param program loyalty program
+     * @return customer program assignment
+     */
+    public Mono<CustomerProgramDto> assignProgram(Long customerId, String program) {
+        if (!rewardsCalculator.hasProgram(program)) {
+            return Mono.error(new ResourceNotFoundException("Reward program not found: " + program));
+        }
+        return repository.findCustomer(customerId)
+                .switchIfEmpty(Mono.error(() -> customerNotFound(customerId)))
+                .flatMap(customer -> repository.updateProgram(customerId, program)
+                        .then(recordProgramChange(customer, program)))
+                .as(transactionalOperator::transactional)
+                .thenReturn(new CustomerProgramDto(customerId, program));
+    }
+
+    /**
+     * Creates a new transaction.
+     *
+     * @param transactionDto transaction data
+     * @return created transaction
+     */
+    public Mono<TransactionDto> createTransaction(TransactionDto transactionDto) {
+        Long customerId = transactionDto.getCustomerId();
+        long amountCents = AmountConverter.toCents(transactionDto.getAmount());
+        LocalDate transactionDate = transactionDto.getTransactionDate();
+        return repository.findCustomer(customerId)
+                .switchIfEmpty(Mono.error(() -> customerNotFound(customerId)))
+                .flatMap(customer -> repository.insertTransaction(customerId, amountCents, transactionDate)
+                        .flatMap(id -> recordPointsChange(customer, id, amountCents, transactionDate)
+                                .then(repository.advanceRewardsVersion(customerId))
+                                .thenReturn(id)))
+                .as(transactionalOperator::transactional)
+                .map(id -> new TransactionDto(id, customerId, AmountConverter.fromCents(amountCents), transactionDate));
+    }
+
+    /**
+     * Records the points a new transaction earns in the outbox, within the caller's transaction.
+     * Transactions that earn no points change nothing downstream and are not recorded.
+     */
+    private Mono<Void> recordPointsChange(CustomerRow customer, Long transactionId, long amountCents,
+                                          LocalDate transactionDate) {
+        int points = rewardsCalculator.calculatePoints(customer.program(), amountCents, transactionDate);
+        if (points == 0) {
+            return Mono.empty();
+        }
+        return repository.insertOutboxEvent(customer.id(), transactionId, transactionDate.withDayOfMonth(1), points);
+    }
+
+    /**
+     * Records the points a program change adds or removes in each month of the calculation window in the outbox,
+     * within the caller's transaction. Months whose points stay the same are not recorded.
+     */
+    private Mono<Void> recordProgramChange(CustomerRow customer, String program) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(config.getCalculationMonths());
+        return repository.findAmounts(customer.id(), startDate, endDate)
+                .collect(TreeMap<LocalDate, Integer>::new, (deltas, transaction) -> {
+                    LocalDate date = transaction.transactionDate();
+                    int delta = rewardsCalculator.calculatePoints(program, transaction.amountCents(), date)
+                            - rewardsCalculator.calculatePoints(customer.program(), transaction.amountCents(), date);
+                    deltas.merge(date.withDayOfMonth(1), delta, Integer::sum);
+                })
+                .flatMapMany(deltas -> Flux.fromIterable(deltas.entrySet()))
+                .filter(delta -> delta.getValue() != 0)
+                .concatMap(delta -> repository.insertOutboxEvent(customer.id(), null, delta.getKey(), delta.getValue()))
+                .then();
+    }
+
+    private Mono<MonthlyPointsAccumulator> accumulate(CustomerRow customer, Flux<TransactionAmount> transactions) {
+        return transactions.reduceWith(() -> newAccumulator(customer),
+                (points, transaction) -> points.add(transaction.amountCents(), transaction.transactionDate()));
+    }
+
+    private MonthlyPointsAccumulator newAccumulator(CustomerRow customer) {
+        // Using Locale.ROOT for consistent internal date formatting across all locales
+        return new MonthlyPointsAccumulator(rewardsCalculator.evaluatorFor(customer.program()),
+                DateTimeFormatter.ofPattern(config.getMonthFormat(), Locale.ROOT));
+    }
+
+    private static CustomerRewardsDto toRewards(CustomerRow customer, MonthlyPointsAccumulator points) {
+        return new CustomerRewardsDto(customer.id(), customer.name(), points.getMonthlyPoints(), points.getTotalPoints());
+    }
+
+    private static ResourceNotFoundException customerNotFound(Long customerId) {
+        return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+    }
+}
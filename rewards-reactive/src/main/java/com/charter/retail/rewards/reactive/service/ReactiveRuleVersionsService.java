@@ -0,0 +1,61 @@
+package com.charter.retail.rewards.reactive.service;
+
+import com.charter.retail.rewards.reactive.repository.ReactiveRewardsRepository;
+import com.charter.retail.rewards.util.RewardRules;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Installs the reward rule versions that rewards-api stores in {@code reward_rule_versions}.
+ * All versions are installed before the application serves requests, and versions added later
+ * are picked up by a periodic refresh, so both stacks score with the same rules.
+ */
+@Slf4j
+@Service
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class ReactiveRuleVersionsService {
+
+    private final ReactiveRewardsRepository repository;
+    private final RewardsCalculator rewardsCalculator;
+
+    private volatile long highestInstalledVersion;
+
+    /**Installs all stored rule versions. Runs on the startup thread, before requests are served.*/
+    @PostConstruct
+    public void load() {
+        log.info("Installed {} reward rule versions", installAfter(0).block());
+    }
+
+    /**Installs rule versions stored since the last load.*/
+    @Scheduled(fixedDelayString = "${rewards.rule-versions.refresh-interval-ms:60000}")
+    public void refresh() {
+        installAfter(highestInstalledVersion).block();
+    }
+
+    /**
+     * Installs the rule versions after an ID.
+     *
+     * @param afterId exclusive lower bound of the version ID
+     * @return number of versions read
+     */
+    Mono<Long> installAfter(long afterId) {
+        return repository.findRuleVersionsAfter(afterId)
+                .doOnNext(this::install)
+                .count();
+    }
+
+    private synchronized void install(RewardRules rules) {
+        if (rewardsCalculator.install(rules)) {
+            log.info("Installed reward rule version {} of program '{}' effective from {}",
+                    rules.version(), rules.program(), rules.effectiveFrom());
+        }
+        highestInstalledVersion = Math.max(highestInstalledVersion, rules.version());
+    }
+}
@@ -0,0 +1,105 @@
+package com.charter.retail.rewards.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import java.time.LocalDate;
+
+/**
+ * End-to-end tests of the reactive rewards endpoints.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveRewardsIntegrationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM transactions").then().block();
+        databaseClient.sql("DELETE FROM customers").then().block();
+        databaseClient.sql("INSERT INTO customers (id, name) VALUES (1, 'Jessica'), (2, 'Alice')").then().block();
+        databaseClient.sql("INSERT INTO transactions (customer_id, amount_cents, transaction_date) VALUES (1, 12000, '"
+                + LocalDate.now() + "')").then().block();
+    }
+
+    @Test
+    void testGetCustomerRewards_Success() {
+        webTestClient.get().uri("/api/rewards/customer/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.customerId").isEqualTo(1)
+                .jsonPath("$.customerName").isEqualTo("Jessica")
+                .jsonPath("$.totalPoints").isEqualTo(90);
+    }
+
+    @Test
+    void testGetCustomerRewards_NotFound() {
+        webTestClient.get().uri("/api/rewards/customer/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Customer not found with ID: 99");
+    }
+
+    @Test
+    void testGetAllCustomersRewards_Paged() {
+        webTestClient.get().uri("/api/rewards/customers?page=0&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].customerId").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(2);
+    }
+
+    @Test
+    void testGetAllCustomersRewards_Sorted() {
+        webTestClient.get().uri("/api/rewards/customers?sort=name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].customerName").isEqualTo("Alice");
+        webTestClient.get().uri("/api/rewards/customers?sort=secret")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Customers cannot be sorted by: secret");
+    }
+
+    @Test
+    void testCreateTransaction_Success() {
+        webTestClient.post().uri("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerId\":2,\"amount\":75.00,\"transactionDate\":\"" + LocalDate.now() + "\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.customerId").isEqualTo(2)
+                .jsonPath("$.amount").isEqualTo(75.0);
+    }
+
+    @Test
+    void testCreateTransaction_ValidationError() {
+        webTestClient.post().uri("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerId\":2,\"amount\":-5}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.errors.amount").isEqualTo("Amount must be positive")
+                .jsonPath("$.errors.transactionDate").isEqualTo("Transaction date is required");
+    }
+}
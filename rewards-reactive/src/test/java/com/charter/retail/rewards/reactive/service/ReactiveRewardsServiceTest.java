@@ -0,0 +1,216 @@
+package com.charter.retail.rewards.reactive.service;
+
+import com.charter.retail.rewards.reactive.dto.CustomerRewardsDto;
+import com.charter.retail.rewards.reactive.dto.TransactionDto;
+import com.charter.retail.rewards.exception.ResourceNotFoundException;
+import com.charter.retail.rewards.reactive.config.ReactiveRewardsConfig;
+import com.charter.retail.rewards.reactive.repository.ReactiveRewardsRepository;
+import com.charter.retail.rewards.util.RewardsCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataR2dbcTest
+class ReactiveRewardsServiceTest {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    private RewardsCalculator rewardsCalculator;
+    private ReactiveRewardsRepository repository;
+    private ReactiveRewardsService rewardsService;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReactiveRewardsConfig config = new ReactiveRewardsConfig();
+        config.setTierOneThreshold(50);
+        config.setTierTwoThreshold(100);
+        config.setTierOneMultiplier(1);
+        config.setTierTwoMultiplier(2);
+        config.setCalculationMonths(3);
+        config.setMonthFormat("yyyy-MM");
+        ReactiveRewardsConfig.Program premium = new ReactiveRewardsConfig.Program();
+        premium.setTierOneThreshold(25);
+        premium.setTierTwoThreshold(75);
+        premium.setTierOneMultiplier(1);
+        premium.setTierTwoMultiplier(3);
+        config.getPrograms().put("premium", premium);
+        rewardsCalculator = new RewardsCalculator(config.baseRules());
+        repository = new ReactiveRewardsRepository(databaseClient);
+        rewardsService = new ReactiveRewardsService(repository, rewardsCalculator, config,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)));
+
+        execute("DELETE FROM rewards_outbox");
+        execute("DELETE FROM reward_rule_versions");
+        execute("DELETE FROM transactions");
+        execute("DELETE FROM customers");
+        execute("INSERT INTO customers (id, name, program) VALUES (1, 'Jessica', 'default'), (2, 'Alice', 'premium'),"
+                + " (3, 'Willow', 'default')");
+        execute("INSERT INTO transactions (customer_id, amount_cents, transaction_date) VALUES"
+                + " (1, 12000, '" + today + "'), (1, 7500, '" + today.minusMonths(1) + "'),"
+                + " (1, 20000, '" + today.minusMonths(6) + "'), (2, 12000, '" + today + "')");
+    }
+
+    @Test
+    void shouldAggregateStreamedTransactionsByMonth() {
+        StepVerifier.create(rewardsService.getRewardsForCustomer(1L))
+                .assertNext(rewards -> {
+                    assertThat(rewards.getCustomerName()).isEqualTo("Jessica");
+                    assertThat(rewards.getMonthlyPoints()).isEqualTo(Map.of(
+                            today.format(MONTH), 90, today.minusMonths(1).format(MONTH), 25));
+                    assertThat(rewards.getTotalPoints()).isEqualTo(115);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldScoreWithCustomersProgram() {
+        StepVerifier.create(rewardsService.getRewardsForCustomer(2L))
+                .assertNext(rewards -> assertThat(rewards.getTotalPoints()).isEqualTo(185))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailForUnknownCustomer() {
+        StepVerifier.create(rewardsService.getRewardsForCustomer(99L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldReturnPageInCustomerOrderIncludingCustomersWithoutTransactions() {
+        StepVerifier.create(rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 10)))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(3);
+                    assertThat(page.getContent()).extracting(CustomerRewardsDto::getCustomerId).containsExactly(1L, 2L, 3L);
+                    assertThat(page.getContent()).extracting(CustomerRewardsDto::getTotalPoints).containsExactly(115, 185, 0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnPageInRequestedOrder() {
+        StepVerifier.create(rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 2, Sort.by("name"))))
+                .assertNext(page -> assertThat(page.getContent()).extracting(CustomerRewardsDto::getCustomerName)
+                        .containsExactly("Alice", "Jessica"))
+                .verifyComplete();
+        StepVerifier.create(rewardsService.getRewardsForAllCustomers(
+                        PageRequest.of(0, 10, Sort.by(Sort.Order.asc("program"), Sort.Order.desc("id")))))
+                .assertNext(page -> assertThat(page.getContent()).extracting(CustomerRewardsDto::getCustomerId)
+                        .containsExactly(3L, 1L, 2L))
+                .verifyComplete();
+        StepVerifier.create(rewardsService.getRewardsForAllCustomers(PageRequest.of(0, 10, Sort.by("secret"))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldReturnEmptyPageBeyondLastCustomer() {
+        StepVerifier.create(rewardsService.getRewardsForAllCustomers(PageRequest.of(1, 10)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).isEmpty();
+                    assertThat(page.getTotalElements()).isEqualTo(3);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCreateTransaction() {
+        TransactionDto request = new TransactionDto(null, 3L, new BigDecimal("120.00"), today);
+
+        StepVerifier.create(rewardsService.createTransaction(request)
+                        .then(rewardsService.getRewardsForCustomer(3L)))
+                .assertNext(rewards -> assertThat(rewards.getTotalPoints()).isEqualTo(90))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRecordOutboxEventAndAdvanceVersionWithTransaction() {
+        TransactionDto request = new TransactionDto(null, 3L, new BigDecimal("120.00"), today);
+
+        TransactionDto created = rewardsService.createTransaction(request).block();
+
+        assertThat(databaseClient.sql("SELECT customer_id, transaction_id, points_month, points_delta FROM rewards_outbox")
+                .fetch().all().collectList().block())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(((Number) event.get("CUSTOMER_ID")).longValue()).isEqualTo(3L);
+                    assertThat(((Number) event.get("TRANSACTION_ID")).longValue()).isEqualTo(created.getId());
+                    assertThat(event.get("POINTS_MONTH")).isEqualTo(today.withDayOfMonth(1));
+                    assertThat(event.get("POINTS_DELTA")).isEqualTo(90);
+                });
+        assertThat(databaseClient.sql("SELECT rewards_version FROM customers WHERE id = 3")
+                .map((row, metadata) -> row.get(0, Long.class)).one().block()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldScoreWithStoredRuleVersions() {
+        execute("INSERT INTO reward_rule_versions (program, effective_from, tier_one_threshold, tier_two_threshold,"
+                + " tier_one_multiplier, tier_two_multiplier, created_at) VALUES ('default', '" + today.minusYears(1)
+                + "', 50, 100, 2, 4, CURRENT_TIMESTAMP)");
+
+        ReactiveRuleVersionsService ruleVersions = new ReactiveRuleVersionsService(repository, rewardsCalculator);
+        ruleVersions.load();
+
+        StepVerifier.create(rewardsService.getRewardsForCustomer(1L))
+                .assertNext(rewards -> assertThat(rewards.getTotalPoints()).isEqualTo(230))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectTransactionForUnknownCustomer() {
+        TransactionDto request = new TransactionDto(null, 99L, new BigDecimal("120.00"), today);
+
+        StepVerifier.create(rewardsService.createTransaction(request))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldAssignProgram() {
+        StepVerifier.create(rewardsService.assignProgram(1L, "premium")
+                        .then(rewardsService.getRewardsForCustomer(1L)))
+                .assertNext(rewards -> assertThat(rewards.getMonthlyPoints().get(today.format(MONTH))).isEqualTo(185))
+                .verifyComplete();
+        assertThat(databaseClient.sql("SELECT transaction_id, points_month, points_delta FROM rewards_outbox"
+                        + " WHERE customer_id = 1 ORDER BY points_month")
+                .fetch().all().collectList().block())
+                .extracting(event -> event.get("TRANSACTION_ID"), event -> event.get("POINTS_MONTH"),
+                        event -> event.get("POINTS_DELTA"))
+                .containsExactly(
+                        tuple(null, today.minusMonths(1).withDayOfMonth(1), 25),
+                        tuple(null, today.withDayOfMonth(1), 95));
+        StepVerifier.create(rewardsService.assignProgram(1L, "gold"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        StepVerifier.create(rewardsService.assignProgram(99L, "premium"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,33 @@
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    program VARCHAR(50) DEFAULT 'default' NOT NULL,
+    rewards_version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT NOT NULL REFERENCES customers (id),
+    amount_cents BIGINT NOT NULL,
+    transaction_date DATE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS rewards_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    transaction_id BIGINT,
+    points_month DATE NOT NULL,
+    points_delta INTEGER NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reward_rule_versions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    program VARCHAR(50) DEFAULT 'default' NOT NULL,
+    effective_from DATE NOT NULL,
+    tier_one_threshold INTEGER NOT NULL,
+    tier_two_threshold INTEGER NOT NULL,
+    tier_one_multiplier INTEGER NOT NULL,
+    tier_two_multiplier INTEGER NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
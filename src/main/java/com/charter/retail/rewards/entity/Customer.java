@@ -1,34 +0,0 @@
-package com.charter.retail.rewards.entity;
-
-import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * JPA entity representing a customer in the rewards system.
- * Maintains a one-to-many relationship with transactions.
- */
-@Entity
-@Table(name = "customers")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class Customer {
-    
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-    
-    @NotBlank(message = "Customer name cannot be blank")
-    @Size(min = 2, max = 100, message = "Customer name must be between 2 and 100 characters")
-    @Column(nullable = false)
-    private String name;
-    
-    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<Transaction> transactions = new ArrayList<>();
-}